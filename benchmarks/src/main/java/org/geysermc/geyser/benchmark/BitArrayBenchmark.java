@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.bitarray.BitArray;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
+import org.geysermc.geyser.util.ChunkUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes a whole section worth of entries, for the bit widths that chunk sections commonly use.
+ * Padded versions (3, 5 and 6 bits) are included as they take a different code path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BitArrayBenchmark {
+    @Param({"V1", "V2", "V3", "V4", "V5", "V8", "V16"})
+    public BitArrayVersion version;
+
+    private int[] values;
+    private BitArray source;
+    private BitArray target;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        values = new int[BlockStorage.SIZE];
+        source = version.createArray(BlockStorage.SIZE);
+        target = version.createArray(BlockStorage.SIZE);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(version.getMaxEntryValue() + 1);
+            source.set(i, values[i]);
+        }
+    }
+
+    @Benchmark
+    public BitArray set() {
+        for (int i = 0; i < BlockStorage.SIZE; i++) {
+            target.set(i, values[i]);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public int get() {
+        int sum = 0;
+        for (int i = 0; i < BlockStorage.SIZE; i++) {
+            sum += source.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Converts from the YZX order of Java sections to the XZY order of Bedrock sections, like the chunk translator does.
+     */
+    @Benchmark
+    public BitArray transpose() {
+        for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+            target.set(ChunkUtils.indexYZXtoXZY(yzx), source.get(yzx));
+        }
+        return target;
+    }
+}
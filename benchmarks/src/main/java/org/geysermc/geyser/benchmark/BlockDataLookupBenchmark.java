@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import org.bukkit.block.data.BlockData;
+import org.geysermc.geyser.level.block.BlockStateValues;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.type.BlockMapping;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Resolves Bukkit block data to Java block state IDs, as the Spigot world manager does for every block it reads
+ * from the server: once through the string form of the block data, and once through the map keyed by the block data
+ * itself that the world manager now uses.
+ * <p>
+ * The block data is stubbed, as there is no server here. Like CraftBlockData, every lookup uses a different block
+ * data instance than the one stored in the map, equality comes from the block state behind it, and the string form
+ * is built on every call. The real string form goes through every property of the state, so the string lookup
+ * is cheaper here than it is on a server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockDataLookupBenchmark {
+    private final Map<BlockData, Integer> blockDataToJavaId = new ConcurrentHashMap<>();
+    private BlockData[] blockData;
+    private int index;
+
+    @Setup
+    public void setUp() throws Exception {
+        GeyserFixture.get();
+
+        BlockMapping[] javaBlocks = BlockRegistries.JAVA_BLOCKS.get();
+        StubBlockState[] states = new StubBlockState[javaBlocks.length];
+        for (int i = 0; i < javaBlocks.length; i++) {
+            states[i] = new StubBlockState(javaBlocks[i].getJavaIdentifier());
+            blockDataToJavaId.put(states[i].createBlockData(), i);
+        }
+
+        // Blocks are not read in registry order
+        List<Integer> order = IntStream.range(0, states.length).boxed().collect(Collectors.toList());
+        Collections.shuffle(order, new Random(0));
+        blockData = new BlockData[states.length];
+        for (int i = 0; i < states.length; i++) {
+            blockData[i] = states[order.get(i)].createBlockData();
+        }
+    }
+
+    @Benchmark
+    public int stringLookup() {
+        return BlockRegistries.JAVA_IDENTIFIERS.getOrDefault(next().getAsString(), BlockStateValues.JAVA_AIR_ID);
+    }
+
+    @Benchmark
+    public int blockDataLookup() {
+        BlockData blockData = next();
+        Integer javaId = blockDataToJavaId.get(blockData);
+        if (javaId == null) {
+            javaId = BlockRegistries.JAVA_IDENTIFIERS.getOrDefault(blockData.getAsString(), BlockStateValues.JAVA_AIR_ID);
+            blockDataToJavaId.put(blockData, javaId);
+        }
+        return javaId;
+    }
+
+    private BlockData next() {
+        BlockData next = blockData[index];
+        index = (index + 1) % blockData.length;
+        return next;
+    }
+
+    /**
+     * Stands in for the server block state that CraftBlockData wraps.
+     */
+    private static final class StubBlockState implements InvocationHandler {
+        private final String name;
+        private final String[] properties;
+
+        StubBlockState(String javaIdentifier) {
+            int bracket = javaIdentifier.indexOf('[');
+            if (bracket == -1) {
+                this.name = javaIdentifier;
+                this.properties = new String[0];
+            } else {
+                this.name = javaIdentifier.substring(0, bracket);
+                this.properties = javaIdentifier.substring(bracket + 1, javaIdentifier.length() - 1).split(",");
+            }
+        }
+
+        BlockData createBlockData() {
+            return (BlockData) Proxy.newProxyInstance(BlockData.class.getClassLoader(), new Class<?>[] {BlockData.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "getAsString", "toString" -> getAsString();
+                case "hashCode" -> System.identityHashCode(this);
+                case "equals" -> args[0] != null && Proxy.isProxyClass(args[0].getClass()) && Proxy.getInvocationHandler(args[0]) == this;
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }
+
+        private String getAsString() {
+            StringBuilder builder = new StringBuilder(name);
+            if (properties.length != 0) {
+                builder.append('[');
+                for (int i = 0; i < properties.length; i++) {
+                    if (i != 0) {
+                        builder.append(',');
+                    }
+                    builder.append(properties[i]);
+                }
+                builder.append(']');
+            }
+            return builder.toString();
+        }
+    }
+}
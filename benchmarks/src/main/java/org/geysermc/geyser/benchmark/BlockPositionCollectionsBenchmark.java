@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import com.nukkitx.math.vector.Vector3i;
+import org.geysermc.geyser.util.collection.BlockPosSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed block position set used by the session caches with a set of {@link Vector3i}, for the
+ * amounts of positions that lectern and skull heavy servers produce. Run with {@code -prof gc} to compare
+ * allocations as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockPositionCollectionsBenchmark {
+    @Param({"1000", "50000"})
+    public int positions;
+
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private BlockPosSet packedSet;
+    private Set<Vector3i> vectorSet;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        xs = new int[positions];
+        ys = new int[positions];
+        zs = new int[positions];
+        for (int i = 0; i < positions; i++) {
+            // Within 32 chunks of spawn, over the whole height of the world
+            xs[i] = random.nextInt(1024) - 512;
+            ys[i] = random.nextInt(384) - 64;
+            zs[i] = random.nextInt(1024) - 512;
+        }
+        packedSet = fillPacked();
+        vectorSet = fillVectors();
+    }
+
+    @Benchmark
+    public BlockPosSet fillPacked() {
+        BlockPosSet set = new BlockPosSet();
+        for (int i = 0; i < positions; i++) {
+            set.add(xs[i], ys[i], zs[i]);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Set<Vector3i> fillVectors() {
+        Set<Vector3i> set = new HashSet<>();
+        for (int i = 0; i < positions; i++) {
+            set.add(Vector3i.from(xs[i], ys[i], zs[i]));
+        }
+        return set;
+    }
+
+    @Benchmark
+    public void containsPacked(Blackhole blackhole) {
+        for (int i = 0; i < positions; i++) {
+            blackhole.consume(packedSet.contains(xs[i], ys[i] + 1, zs[i]));
+        }
+    }
+
+    @Benchmark
+    public void containsVectors(Blackhole blackhole) {
+        for (int i = 0; i < positions; i++) {
+            blackhole.consume(vectorSet.contains(Vector3i.from(xs[i], ys[i] + 1, zs[i])));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills block storages through {@link BlockStorage#setFullBlock(int, int)}, as block updates and item frames do,
+ * and through {@link BlockStorage#fromBlocks(int[])}, as global palette chunk sections do, and serializes them
+ * for the network.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockStorageBenchmark {
+    private static final int AIR = 134;
+
+    /**
+     * The amount of different blocks in the storage.
+     */
+    @Param({"2", "16", "64", "256"})
+    public int paletteSize;
+
+    /**
+     * How the blocks are placed. {@code uniform} picks a random block for every position; {@code mixed} resembles
+     * a built-up area, where a few blocks make up most of the section and the same block often continues.
+     */
+    @Param({"uniform", "mixed"})
+    public String layout;
+
+    private int[] runtimeIds;
+    private int[] blocks;
+    private BlockStorage storage;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        int[] palette = new int[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            // Spread out like real runtime ids, which run into the thousands
+            palette[i] = i == 0 ? AIR : AIR + i * (12000 / paletteSize);
+        }
+        runtimeIds = new int[BlockStorage.SIZE];
+        boolean mixed = layout.equals("mixed");
+        for (int i = 0; i < runtimeIds.length; i++) {
+            if (!mixed) {
+                runtimeIds[i] = palette[random.nextInt(paletteSize)];
+            } else if (i > 0 && random.nextInt(4) != 0) {
+                runtimeIds[i] = runtimeIds[i - 1];
+            } else {
+                // Squaring skews the choice towards the start of the palette, like stone and air in real sections
+                double skewed = random.nextDouble();
+                runtimeIds[i] = palette[(int) (skewed * skewed * paletteSize)];
+            }
+        }
+        // Make sure every block is in the section, so the palette has the expected size
+        for (int i = 0; i < paletteSize; i++) {
+            runtimeIds[i * (BlockStorage.SIZE / paletteSize)] = palette[i];
+        }
+        blocks = new int[BlockStorage.SIZE];
+
+        storage = fill();
+        buffer = ByteBufAllocator.DEFAULT.buffer(storage.estimateNetworkSize());
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public BlockStorage setFullBlock() {
+        return fill();
+    }
+
+    @Benchmark
+    public BlockStorage fromBlocks() {
+        System.arraycopy(runtimeIds, 0, blocks, 0, blocks.length);
+        return BlockStorage.fromBlocks(blocks);
+    }
+
+    @Benchmark
+    public ByteBuf writeToNetwork() {
+        buffer.clear();
+        storage.writeToNetwork(buffer);
+        return buffer;
+    }
+
+    private BlockStorage fill() {
+        BlockStorage storage = new BlockStorage(AIR);
+        for (int i = 0; i < BlockStorage.SIZE; i++) {
+            storage.setFullBlock(i, runtimeIds[i]);
+        }
+        return storage;
+    }
+}
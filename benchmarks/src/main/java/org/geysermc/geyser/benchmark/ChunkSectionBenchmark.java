@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.BitStorage;
+import com.github.steveice10.mc.protocol.data.game.chunk.ChunkSection;
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.GlobalPalette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.Palette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.SingletonPalette;
+import com.github.steveice10.packetlib.io.stream.StreamNetInput;
+import com.github.steveice10.packetlib.io.stream.StreamNetOutput;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.GeyserChunkSection;
+import org.geysermc.geyser.level.chunk.bitarray.BitArray;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
+import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.util.ChunkUtils;
+import org.geysermc.geyser.util.MathUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a single Java chunk section into a Bedrock section and serializes it, following the steps of
+ * {@code JavaLevelChunkWithLightTranslator} for singleton, indirect and global palettes. Bedrock-only block
+ * entities are left out, as they depend on the position of the chunk and are rare.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkSectionBenchmark {
+    private static final int BIOME_PALETTE_BITS = MathUtils.getGlobalPaletteForSize(64);
+
+    /**
+     * The amount of different block states in the section. More than 256 makes the section use the global palette.
+     */
+    @Param({"1", "4", "16", "256", "1024"})
+    public int blockStates;
+
+    /**
+     * How the block states are placed. {@code uniform} picks a random state for every block; {@code mixed} resembles
+     * a built-up area, where every layer is mostly one block with runs of the other states along the x axis.
+     */
+    @Param({"uniform", "mixed"})
+    public String layout;
+
+    private BlockMappings mappings;
+    private IntSet waterlogged;
+    private byte[] javaSection;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setUp() throws Exception {
+        GeyserFixture fixture = GeyserFixture.get();
+        mappings = fixture.getSession().getBlockMappings();
+        waterlogged = BlockRegistries.WATERLOGGED.get();
+
+        Random random = new Random(0);
+        int stateCount = BlockRegistries.JAVA_BLOCKS.get().length;
+        int[] states = new int[blockStates];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = 1 + random.nextInt(stateCount - 1);
+        }
+
+        DataPalette blocks = DataPalette.createForChunk();
+        boolean mixed = layout.equals("mixed");
+        for (int y = 0; y < 16; y++) {
+            int layerState = states[random.nextInt(states.length)];
+            for (int z = 0; z < 16; z++) {
+                int state = layerState;
+                for (int x = 0; x < 16; x++) {
+                    if (!mixed) {
+                        state = states[random.nextInt(states.length)];
+                    } else if (random.nextInt(4) == 0) {
+                        // Start a new run, going back to the block of the layer half of the time
+                        state = random.nextBoolean() ? layerState : states[random.nextInt(states.length)];
+                    }
+                    blocks.set(x, y, z, state);
+                }
+            }
+        }
+        if (mixed) {
+            // Make sure every state is in the section, so the palette type matches the parameter
+            for (int i = 0; i < states.length; i++) {
+                blocks.set(i & 0xF, (i >> 8) & 0xF, (i >> 4) & 0xF, states[i]);
+            }
+        }
+        DataPalette biomes = DataPalette.createForBiome(BIOME_PALETTE_BITS);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ChunkSection.write(new StreamNetOutput(stream), new ChunkSection(BlockStorage.SIZE, blocks, biomes), BIOME_PALETTE_BITS);
+        javaSection = stream.toByteArray();
+
+        buffer = ByteBufAllocator.DEFAULT.buffer(translate().estimateNetworkSize());
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public ByteBuf translateAndWrite() throws IOException {
+        buffer.clear();
+        translate().writeToNetwork(buffer);
+        return buffer;
+    }
+
+    private GeyserChunkSection translate() throws IOException {
+        ChunkSection javaSection = ChunkSection.read(new StreamNetInput(new ByteArrayInputStream(this.javaSection)), BIOME_PALETTE_BITS);
+        Palette javaPalette = javaSection.getChunkData().getPalette();
+        BitStorage javaData = javaSection.getChunkData().getStorage();
+
+        if (javaPalette instanceof GlobalPalette) {
+            int[] layer0Data = new int[BlockStorage.SIZE];
+            int[] layer1Data = null;
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int javaId = javaData.get(yzx);
+                int xzy = ChunkUtils.indexYZXtoXZY(yzx);
+                layer0Data[xzy] = mappings.getBedrockBlockId(javaId);
+                if (waterlogged.contains(javaId)) {
+                    if (layer1Data == null) {
+                        layer1Data = new int[BlockStorage.SIZE >> 5];
+                    }
+                    layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
+                }
+            }
+            BlockStorage layer0 = BlockStorage.fromBlocks(layer0Data);
+            if (layer1Data == null) {
+                return new GeyserChunkSection(new BlockStorage[] {layer0});
+            }
+            return new GeyserChunkSection(new BlockStorage[] {layer0, createWaterLayer(layer1Data)});
+        }
+
+        if (javaPalette instanceof SingletonPalette) {
+            int javaId = javaPalette.idToState(0);
+            BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(mappings.getBedrockBlockId(javaId)));
+            if (waterlogged.contains(javaId)) {
+                BlockStorage water = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(mappings.getBedrockWaterId()));
+                return new GeyserChunkSection(new BlockStorage[] {blockStorage, water});
+            }
+            return new GeyserChunkSection(new BlockStorage[] {blockStorage});
+        }
+
+        IntList bedrockPalette = new IntArrayList(javaPalette.size());
+        BitSet waterloggedPaletteIds = new BitSet();
+        for (int i = 0; i < javaPalette.size(); i++) {
+            int javaId = javaPalette.idToState(i);
+            bedrockPalette.add(mappings.getBedrockBlockId(javaId));
+            if (waterlogged.contains(javaId)) {
+                waterloggedPaletteIds.set(i);
+            }
+        }
+
+        BitArray bedrockData = BitArrayVersion.forBitsCeil(javaData.getBitsPerEntry()).createArray(BlockStorage.SIZE);
+        BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
+        if (waterloggedPaletteIds.isEmpty()) {
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                bedrockData.set(ChunkUtils.indexYZXtoXZY(yzx), javaData.get(yzx));
+            }
+            return new GeyserChunkSection(new BlockStorage[] {layer0});
+        }
+
+        int[] layer1Data = new int[BlockStorage.SIZE >> 5];
+        for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+            int paletteId = javaData.get(yzx);
+            int xzy = ChunkUtils.indexYZXtoXZY(yzx);
+            bedrockData.set(xzy, paletteId);
+            if (waterloggedPaletteIds.get(paletteId)) {
+                layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
+            }
+        }
+        return new GeyserChunkSection(new BlockStorage[] {layer0, createWaterLayer(layer1Data)});
+    }
+
+    private BlockStorage createWaterLayer(int[] layer1Data) {
+        IntList layer1Palette = new IntArrayList(2);
+        layer1Palette.add(mappings.getBedrockAirId());
+        layer1Palette.add(mappings.getBedrockWaterId());
+        return new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import com.nukkitx.math.vector.Vector3d;
+import org.geysermc.geyser.level.physics.BoundingBox;
+import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.platform.loadtest.server.FlatWorld;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrects player movement against the blocks of the flat world the benchmark session is standing in,
+ * as is done for every movement packet when the server is not authoritative over movement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final double STEP_UP = 0.6;
+    /**
+     * The downwards movement caused by gravity in a tick, which a player standing on the ground always sends.
+     */
+    private static final double GRAVITY = -0.0784;
+
+    @Param({"standing", "walking", "sprintJumping"})
+    public String movement;
+
+    /**
+     * Whether to fetch blocks from the chunk cache. Without it, only pistons are checked.
+     */
+    @Param({"true", "false"})
+    public boolean checkWorld;
+
+    private CollisionManager collisionManager;
+    private BoundingBox boundingBox;
+    private Vector3d playerMovement;
+
+    @Setup
+    public void setUp() throws Exception {
+        collisionManager = GeyserFixture.get().getSession().getCollisionManager();
+        // Standing on top of the grass
+        boundingBox = new BoundingBox(0.5, FlatWorld.SURFACE_Y + 0.9, 0.5, 0.6, 1.8, 0.6);
+        playerMovement = switch (movement) {
+            case "standing" -> Vector3d.from(0, GRAVITY, 0);
+            case "walking" -> Vector3d.from(0.2, GRAVITY, 0.1);
+            case "sprintJumping" -> Vector3d.from(0.4, 0.42, -0.3);
+            default -> throw new IllegalArgumentException("Unknown movement " + movement);
+        };
+    }
+
+    @Benchmark
+    public Vector3d correctMovement() {
+        // The bounding box is moved back afterwards, so it can be reused
+        return collisionManager.correctMovement(playerMovement, boundingBox, true, STEP_UP, checkWorld);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.Getter;
+import org.geysermc.geyser.platform.loadtest.LoadTestBootstrap;
+import org.geysermc.geyser.platform.loadtest.bot.BedrockBot;
+import org.geysermc.geyser.platform.loadtest.metrics.BotMetrics;
+import org.geysermc.geyser.platform.loadtest.server.FakeJavaServer;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.text.GeyserLocale;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A running Geyser instance with one Bedrock bot that has joined the stand-in Java server of the load test.
+ * Benchmarks that need a {@link GeyserSession} use this session, so they run against fully loaded registries
+ * and a chunk cache filled with a real world.
+ * <p>
+ * The fixture is started once per benchmark fork and stays up until the fork exits.
+ */
+public final class GeyserFixture {
+    private static final int BEDROCK_PORT = 19242;
+    private static final int JAVA_PORT = 25595;
+    private static final int VIEW_DISTANCE = 4;
+    private static final long SPAWN_TIMEOUT_SECONDS = 30;
+
+    private static GeyserFixture instance;
+
+    private final LoadTestBootstrap bootstrap;
+    private final FakeJavaServer server;
+    private final EventLoopGroup botEventLoops = new NioEventLoopGroup(1, new DefaultThreadFactory("Benchmark Bot", true));
+    private final BedrockBot bot;
+    @Getter
+    private final GeyserSession session;
+
+    private GeyserFixture() throws Exception {
+        Path configFolder = Files.createTempDirectory("geyser-benchmark");
+        bootstrap = new LoadTestBootstrap(configFolder, BEDROCK_PORT, JAVA_PORT, false);
+        GeyserLocale.init(bootstrap);
+        bootstrap.onEnable();
+
+        // No mobs, so the session stays idle while it is benchmarked
+        server = new FakeJavaServer(JAVA_PORT, VIEW_DISTANCE, 0);
+        server.start();
+
+        BotMetrics metrics = new BotMetrics();
+        bot = new BedrockBot(0, metrics);
+        bot.connect(new InetSocketAddress("127.0.0.1", BEDROCK_PORT), botEventLoops).get(SPAWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SPAWN_TIMEOUT_SECONDS);
+        while (metrics.getSpawned().get() == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The benchmark bot did not spawn in time");
+            }
+            Thread.sleep(50);
+        }
+        session = bootstrap.getGeyser().getSessionManager().getAllSessions().get(0);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "Benchmark Fixture Shutdown"));
+    }
+
+    /**
+     * Starts Geyser and joins it with a bot, if that has not happened in this fork yet.
+     */
+    public static synchronized GeyserFixture get() throws Exception {
+        if (instance == null) {
+            instance = new GeyserFixture();
+        }
+        return instance;
+    }
+
+    private void close() {
+        bot.disconnect();
+        server.stop();
+        bootstrap.onDisable();
+        botEventLoops.shutdownGracefully();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
+import com.github.steveice10.opennbt.tag.builtin.*;
+import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.registry.type.ItemMappings;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.inventory.item.ItemTranslator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translates the kinds of items found in a typical inventory: plain blocks, and items with enchantments,
+ * custom names and lore, dye colors and potion effects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemTranslatorBenchmark {
+    @Param({"plain", "enchanted", "dyed", "potion"})
+    public String item;
+
+    private GeyserSession session;
+    private ItemStack stack;
+
+    @Setup
+    public void setUp() throws Exception {
+        session = GeyserFixture.get().getSession();
+        ItemMappings mappings = session.getItemMappings();
+
+        stack = switch (item) {
+            case "plain" -> new ItemStack(mappings.getMapping("minecraft:stone").getJavaId(), 64, null);
+            case "enchanted" -> {
+                CompoundTag nbt = new CompoundTag("");
+                ListTag enchantments = new ListTag("Enchantments");
+                enchantments.add(enchantment("minecraft:sharpness", 5));
+                enchantments.add(enchantment("minecraft:unbreaking", 3));
+                enchantments.add(enchantment("minecraft:mending", 1));
+                nbt.put(enchantments);
+                nbt.put(new IntTag("Damage", 120));
+
+                CompoundTag display = new CompoundTag("display");
+                display.put(new StringTag("Name", "{\"text\":\"Sword of Benchmarking\",\"color\":\"gold\",\"italic\":false}"));
+                ListTag lore = new ListTag("Lore");
+                lore.add(new StringTag("", "{\"text\":\"Forged in a loop\",\"color\":\"gray\"}"));
+                lore.add(new StringTag("", "{\"text\":\"\",\"extra\":[{\"text\":\"Rarity: \",\"color\":\"gray\"},{\"text\":\"Legendary\",\"color\":\"#ffaa00\",\"bold\":true}]}"));
+                display.put(lore);
+                nbt.put(display);
+                yield new ItemStack(mappings.getMapping("minecraft:diamond_sword").getJavaId(), 1, nbt);
+            }
+            case "dyed" -> {
+                CompoundTag nbt = new CompoundTag("");
+                CompoundTag display = new CompoundTag("display");
+                display.put(new IntTag("color", 0x3AA9FF));
+                nbt.put(display);
+                yield new ItemStack(mappings.getMapping("minecraft:leather_chestplate").getJavaId(), 1, nbt);
+            }
+            case "potion" -> {
+                CompoundTag nbt = new CompoundTag("");
+                nbt.put(new StringTag("Potion", "minecraft:strong_healing"));
+                yield new ItemStack(mappings.getMapping("minecraft:potion").getJavaId(), 1, nbt);
+            }
+            default -> throw new IllegalArgumentException("Unknown item " + item);
+        };
+    }
+
+    @Benchmark
+    public ItemData translateToBedrock() {
+        return ItemTranslator.translateToBedrock(session, stack);
+    }
+
+    private static CompoundTag enchantment(String id, int level) {
+        CompoundTag tag = new CompoundTag("");
+        tag.put(new StringTag("id", id));
+        tag.put(new ShortTag("lvl", (short) level));
+        return tag;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.benchmark;
+
+import com.github.steveice10.mc.auth.data.GameProfile;
+import com.nukkitx.math.vector.Vector3f;
+import com.nukkitx.math.vector.Vector3i;
+import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.session.cache.SkullCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walks the benchmark session through an area full of custom skulls and updates which skulls are visible,
+ * as is done whenever the player moved more than two blocks. Skulls without textures are used, so no skins
+ * are downloaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkullCacheBenchmark {
+    /**
+     * The skulls are spread over a square of this size, centered on the origin.
+     */
+    private static final int AREA_SIZE = 256;
+    /**
+     * The number of positions the player walks through, three blocks apart.
+     */
+    private static final int PATH_LENGTH = 64;
+
+    @Param({"1000", "50000"})
+    public int skulls;
+
+    private SessionPlayerEntity player;
+    private Vector3f originalPosition;
+    private SkullCache skullCache;
+    private Vector3f[] path;
+    private int step;
+
+    @Setup
+    public void setUp() throws Exception {
+        player = GeyserFixture.get().getSession().getPlayerEntity();
+        originalPosition = player.getPosition();
+        skullCache = new SkullCache(GeyserFixture.get().getSession());
+
+        int skullBlockState = BlockRegistries.JAVA_IDENTIFIERS.get("minecraft:player_head[rotation=0]");
+        GameProfile profile = new GameProfile(UUID.randomUUID(), "Skull");
+        Random random = new Random(0);
+        for (int i = 0; i < skulls; i++) {
+            Vector3i position = Vector3i.from(random.nextInt(AREA_SIZE) - AREA_SIZE / 2, 60 + random.nextInt(16),
+                    random.nextInt(AREA_SIZE) - AREA_SIZE / 2);
+            skullCache.putSkull(position, profile, skullBlockState);
+        }
+
+        // Back and forth through the middle of the area
+        path = new Vector3f[PATH_LENGTH];
+        for (int i = 0; i < PATH_LENGTH; i++) {
+            int offset = (i < PATH_LENGTH / 2 ? i : PATH_LENGTH - i) * 3 - PATH_LENGTH * 3 / 4;
+            path[i] = Vector3f.from(offset, 68, offset / 2f);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        skullCache.clear();
+        player.setPosition(originalPosition);
+    }
+
+    @Benchmark
+    public void updateVisibleSkulls() {
+        player.setPosition(path[step]);
+        step = (step + 1) % PATH_LENGTH;
+        skullCache.updateVisibleSkulls();
+    }
+}
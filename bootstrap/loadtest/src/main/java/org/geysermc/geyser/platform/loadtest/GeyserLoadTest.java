@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.platform.loadtest.bot.BedrockBot;
+import org.geysermc.geyser.platform.loadtest.metrics.BotMetrics;
+import org.geysermc.geyser.platform.loadtest.metrics.ResourceMonitor;
+import org.geysermc.geyser.platform.loadtest.server.FakeJavaServer;
+import org.geysermc.geyser.text.GeyserLocale;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs Geyser against a stand-in Java server with a number of headless Bedrock bots, and reports how much CPU time,
+ * memory and latency every session costs. Everything runs in this process and only uses the loopback interface.
+ * <p>
+ * Usage: {@code java -jar GeyserLoadTest.jar --bots 100 --duration 120}
+ * <p>
+ * Pass {@code --affinity} to run every Java connection on the event loop of its Bedrock connection, and compare the
+ * round trip latency against a run without it.
+ */
+public final class GeyserLoadTest {
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+    private static final long BOT_TICK_MILLIS = 50;
+    /**
+     * Samples taken before every bot has joined, and for this long afterwards, are discarded.
+     */
+    private static final long WARMUP_SECONDS = 10;
+
+    private int bots = 50;
+    private int durationSeconds = 120;
+    private int rampMillis = 100;
+    private int bedrockPort = 19232;
+    private int javaPort = 25585;
+    private int viewDistance = 8;
+    private int mobsPerPlayer = 10;
+    private boolean debug;
+    private boolean eventLoopAffinity;
+
+    public static void main(String[] args) throws Exception {
+        GeyserLoadTest loadTest = new GeyserLoadTest();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--debug")) {
+                loadTest.debug = true;
+                continue;
+            }
+            if (arg.equals("--affinity")) {
+                loadTest.eventLoopAffinity = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                System.err.println("Missing value for " + arg);
+                return;
+            }
+            int value = Integer.parseInt(args[++i]);
+            switch (arg) {
+                case "--bots" -> loadTest.bots = value;
+                case "--duration" -> loadTest.durationSeconds = value;
+                case "--ramp" -> loadTest.rampMillis = value;
+                case "--bedrock-port" -> loadTest.bedrockPort = value;
+                case "--java-port" -> loadTest.javaPort = value;
+                case "--view-distance" -> loadTest.viewDistance = value;
+                case "--mobs" -> loadTest.mobsPerPlayer = value;
+                default -> {
+                    System.err.println("Unknown argument " + arg);
+                    return;
+                }
+            }
+        }
+        loadTest.run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        Path configFolder = Files.createTempDirectory("geyser-loadtest");
+        LoadTestBootstrap bootstrap = new LoadTestBootstrap(configFolder, bedrockPort, javaPort, debug, eventLoopAffinity);
+        GeyserLocale.init(bootstrap);
+        // Geyser has to start first; the stand-in server needs its block registries to build the world
+        bootstrap.onEnable();
+        GeyserImpl geyser = bootstrap.getGeyser();
+        LoadTestLogger logger = bootstrap.getGeyserLogger();
+
+        FakeJavaServer server = new FakeJavaServer(javaPort, viewDistance, mobsPerPlayer);
+        server.start();
+
+        ResourceMonitor monitor = new ResourceMonitor(geyser);
+        monitor.captureBaseline();
+
+        BotMetrics metrics = new BotMetrics();
+        EventLoopGroup botEventLoops = new NioEventLoopGroup(0, new DefaultThreadFactory("LoadTest Bot", true));
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, new DefaultThreadFactory("LoadTest Scheduler", true));
+        List<BedrockBot> connectedBots = new ArrayList<>();
+
+        scheduler.scheduleAtFixedRate(monitor::probeEventLoops, PROBE_INTERVAL_MILLIS, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(() -> {
+            synchronized (connectedBots) {
+                for (BedrockBot bot : connectedBots) {
+                    bot.tick();
+                }
+            }
+        }, BOT_TICK_MILLIS, BOT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        logger.info("Connecting " + bots + " bots");
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", bedrockPort);
+        for (int i = 0; i < bots; i++) {
+            BedrockBot bot = new BedrockBot(i, metrics);
+            bot.connect(address, botEventLoops).whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    logger.error("Bot could not connect", throwable);
+                }
+            });
+            synchronized (connectedBots) {
+                connectedBots.add(bot);
+            }
+            Thread.sleep(rampMillis);
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS));
+        logger.info("Warmed up: " + metrics);
+        monitor.getEventLoopLag().reset();
+        metrics.getChatLatency().reset();
+        metrics.getRoundTripLatency().reset();
+        monitor.report(geyser.getSessionManager().size(), true); // Start the measured interval
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(TimeUnit.SECONDS.toMillis(REPORT_INTERVAL_SECONDS),
+                    Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+            logger.info(metrics + "\n" + monitor.report(geyser.getSessionManager().size(), false)
+                    + "\nChat latency: " + metrics.getChatLatency().summarize()
+                    + "\nRound trip: " + metrics.getRoundTripLatency().summarize());
+        }
+
+        logger.info("Final results with " + bots + " bots over " + durationSeconds + " seconds, event loop affinity "
+                + (eventLoopAffinity ? "on" : "off") + ":\n"
+                + metrics + "\n"
+                + monitor.report(geyser.getSessionManager().size(), true)
+                + "\nJoin time: " + metrics.getJoinLatency().summarize()
+                + "\nChat latency: " + metrics.getChatLatency().summarize()
+                + "\nRound trip: " + metrics.getRoundTripLatency().summarize());
+
+        scheduler.shutdownNow();
+        synchronized (connectedBots) {
+            for (BedrockBot bot : connectedBots) {
+                bot.disconnect();
+            }
+        }
+        server.stop();
+        bootstrap.onDisable();
+        botEventLoops.shutdownGracefully();
+    }
+}
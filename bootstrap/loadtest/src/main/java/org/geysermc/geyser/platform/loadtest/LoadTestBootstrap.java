@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import lombok.Getter;
+import org.geysermc.common.PlatformType;
+import org.geysermc.geyser.GeyserBootstrap;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.command.CommandManager;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.dump.BootstrapDumpInfo;
+import org.geysermc.geyser.ping.IGeyserPingPassthrough;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Runs Geyser without a console, configured to accept the load test bots and to connect to the stand-in Java server.
+ */
+public class LoadTestBootstrap implements GeyserBootstrap {
+    private final Path configFolder;
+    private final int bedrockPort;
+    private final int javaPort;
+    private final boolean debug;
+    private final boolean eventLoopAffinity;
+
+    private LoadTestConfiguration geyserConfig;
+    private final LoadTestLogger geyserLogger = new LoadTestLogger();
+    private LoadTestCommandManager geyserCommandManager;
+
+    @Getter
+    private GeyserImpl geyser;
+
+    public LoadTestBootstrap(Path configFolder, int bedrockPort, int javaPort, boolean debug) {
+        this(configFolder, bedrockPort, javaPort, debug, false);
+    }
+
+    public LoadTestBootstrap(Path configFolder, int bedrockPort, int javaPort, boolean debug, boolean eventLoopAffinity) {
+        this.configFolder = configFolder;
+        this.bedrockPort = bedrockPort;
+        this.javaPort = javaPort;
+        this.debug = debug;
+        this.eventLoopAffinity = eventLoopAffinity;
+    }
+
+    @Override
+    public void onEnable() {
+        try {
+            geyserConfig = loadConfig();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load the default config", e);
+        }
+        geyserLogger.setDebug(geyserConfig.isDebugMode());
+
+        geyser = GeyserImpl.start(PlatformType.STANDALONE, this);
+        geyserCommandManager = new LoadTestCommandManager(geyser);
+    }
+
+    /**
+     * Starts from the default config, so the load test covers what most servers run.
+     */
+    private LoadTestConfiguration loadConfig() throws IOException {
+        ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+        ObjectNode root;
+        try (InputStream stream = getResource("config.yml")) {
+            root = (ObjectNode) mapper.readTree(stream);
+        }
+
+        ObjectNode bedrock = (ObjectNode) root.get("bedrock");
+        bedrock.put("address", "127.0.0.1");
+        bedrock.put("port", bedrockPort);
+        // Every bot connects from the same address
+        bedrock.put("connection-rate-limit", 0);
+        bedrock.put("subnet-connection-rate-limit", 0);
+
+        ObjectNode remote = (ObjectNode) root.get("remote");
+        remote.put("address", "127.0.0.1");
+        remote.put("port", javaPort);
+        remote.put("auth-type", "offline");
+
+        // The bots sign their own login chain, like a Bedrock proxy does
+        root.put("enable-proxy-connections", true);
+        root.put("debug-mode", debug);
+        root.put("event-loop-affinity", eventLoopAffinity);
+        ((ObjectNode) root.get("metrics")).put("enabled", false);
+
+        return mapper.treeToValue(root, LoadTestConfiguration.class);
+    }
+
+    @Override
+    public void onDisable() {
+        if (geyser != null) {
+            geyser.shutdown();
+        }
+    }
+
+    @Override
+    public GeyserConfiguration getGeyserConfig() {
+        return geyserConfig;
+    }
+
+    @Override
+    public LoadTestLogger getGeyserLogger() {
+        return geyserLogger;
+    }
+
+    @Override
+    public CommandManager getGeyserCommandManager() {
+        return geyserCommandManager;
+    }
+
+    @Override
+    public IGeyserPingPassthrough getGeyserPingPassthrough() {
+        // Ping passthrough is disabled in the config
+        return null;
+    }
+
+    @Override
+    public Path getConfigFolder() {
+        return configFolder;
+    }
+
+    @Override
+    public BootstrapDumpInfo getDumpInfo() {
+        return new BootstrapDumpInfo();
+    }
+}
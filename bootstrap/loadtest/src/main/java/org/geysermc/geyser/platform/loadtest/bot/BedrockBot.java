@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest.bot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nukkitx.math.vector.Vector3f;
+import com.nukkitx.protocol.bedrock.BedrockClient;
+import com.nukkitx.protocol.bedrock.BedrockClientSession;
+import com.nukkitx.protocol.bedrock.data.inventory.ContainerId;
+import com.nukkitx.protocol.bedrock.data.inventory.ItemData;
+import com.nukkitx.protocol.bedrock.handler.BedrockPacketHandler;
+import com.nukkitx.protocol.bedrock.packet.*;
+import com.nukkitx.protocol.bedrock.util.EncryptionUtils;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.AsciiString;
+import org.geysermc.geyser.network.MinecraftProtocol;
+import org.geysermc.geyser.platform.loadtest.metrics.BotMetrics;
+import org.geysermc.geyser.platform.loadtest.server.FakeJavaServer;
+
+import javax.crypto.SecretKey;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless Bedrock client. It logs in the way a real client does, and once spawned it walks in circles,
+ * switches its held item and opens its inventory, so Geyser has to translate traffic in both directions.
+ * <p>
+ * The login chain is self-signed, so Geyser must accept proxy connections.
+ */
+public final class BedrockBot implements BedrockPacketHandler {
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final String GEOMETRY_NAME = "{\"geometry\":{\"default\":\"geometry.humanoid.custom\"}}";
+    private static final int SKIN_SIZE = 64;
+    private static final int CHUNK_RADIUS = 8;
+
+    private static final int HOTBAR_INTERVAL_TICKS = 40;
+    private static final int INVENTORY_INTERVAL_TICKS = 200;
+    private static final int ECHO_INTERVAL_TICKS = 20;
+    private static final float CIRCLE_RADIUS = 3f;
+
+    private final int index;
+    private final String name;
+    private final BotMetrics metrics;
+    private final KeyPair keyPair = EncryptionUtils.createKeyPair();
+
+    private BedrockClient client;
+    private volatile BedrockClientSession session;
+    private long connectTime;
+
+    private long runtimeEntityId;
+    private Vector3f center = Vector3f.ZERO;
+    private volatile boolean spawned;
+    private int ticks;
+    private int hotbarSlot;
+    /**
+     * The inventory the server opened for us that still has to be closed, or -1.
+     */
+    private volatile int openContainerId = -1;
+
+    public BedrockBot(int index, BotMetrics metrics) {
+        this.index = index;
+        this.name = "Bot" + index;
+        this.metrics = metrics;
+    }
+
+    public CompletableFuture<Void> connect(InetSocketAddress address, EventLoopGroup eventLoopGroup) {
+        connectTime = System.nanoTime();
+        client = new BedrockClient(new InetSocketAddress("127.0.0.1", 0), eventLoopGroup);
+        return client.bind()
+                .thenCompose(ignored -> client.connect(address))
+                .thenAccept(session -> {
+                    this.session = session;
+                    session.setPacketCodec(MinecraftProtocol.DEFAULT_BEDROCK_CODEC);
+                    session.setPacketHandler(this);
+                    session.setLogging(false);
+                    session.addDisconnectHandler(reason -> {
+                        spawned = false;
+                        metrics.getDisconnected().incrementAndGet();
+                    });
+                    metrics.getConnected().incrementAndGet();
+
+                    try {
+                        session.sendPacketImmediately(createLoginPacket());
+                    } catch (Exception e) {
+                        throw new RuntimeException("Unable to create the login of " + name, e);
+                    }
+                })
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        metrics.getFailed().incrementAndGet();
+                    }
+                });
+    }
+
+    /**
+     * Runs the scripted behaviour of this bot. Called every 50 milliseconds.
+     */
+    public void tick() {
+        BedrockClientSession session = this.session;
+        if (!spawned || session == null || session.isClosed()) {
+            return;
+        }
+        ticks++;
+
+        double angle = Math.toRadians((ticks * 6) % 360);
+        MovePlayerPacket movePacket = new MovePlayerPacket();
+        movePacket.setRuntimeEntityId(runtimeEntityId);
+        movePacket.setPosition(center.add((float) Math.cos(angle) * CIRCLE_RADIUS, 0, (float) Math.sin(angle) * CIRCLE_RADIUS));
+        float yaw = (float) (Math.toDegrees(angle) + 90);
+        movePacket.setRotation(Vector3f.from(0, yaw, yaw));
+        movePacket.setMode(MovePlayerPacket.Mode.NORMAL);
+        movePacket.setOnGround(true);
+        session.sendPacket(movePacket);
+
+        if (ticks % HOTBAR_INTERVAL_TICKS == 0) {
+            hotbarSlot = (hotbarSlot + 1) % 9;
+            MobEquipmentPacket equipmentPacket = new MobEquipmentPacket();
+            equipmentPacket.setRuntimeEntityId(runtimeEntityId);
+            equipmentPacket.setItem(ItemData.AIR);
+            equipmentPacket.setInventorySlot(hotbarSlot);
+            equipmentPacket.setHotbarSlot(hotbarSlot);
+            equipmentPacket.setContainerId(ContainerId.INVENTORY);
+            session.sendPacket(equipmentPacket);
+        }
+
+        if (ticks % ECHO_INTERVAL_TICKS == 0) {
+            // Echoed back by the stand-in server, so this crosses Geyser in both directions
+            TextPacket textPacket = new TextPacket();
+            textPacket.setType(TextPacket.Type.CHAT);
+            textPacket.setNeedsTranslation(false);
+            textPacket.setSourceName(name);
+            textPacket.setMessage(FakeJavaServer.ECHO_MARKER + System.nanoTime());
+            textPacket.setXuid("");
+            textPacket.setPlatformChatId("");
+            session.sendPacket(textPacket);
+        }
+
+        int containerId = openContainerId;
+        if (containerId != -1) {
+            openContainerId = -1;
+            ContainerClosePacket closePacket = new ContainerClosePacket();
+            closePacket.setId((byte) containerId);
+            session.sendPacket(closePacket);
+        } else if (ticks % INVENTORY_INTERVAL_TICKS == 0) {
+            InteractPacket interactPacket = new InteractPacket();
+            interactPacket.setRuntimeEntityId(runtimeEntityId);
+            interactPacket.setAction(InteractPacket.Action.OPEN_INVENTORY);
+            session.sendPacket(interactPacket);
+        }
+    }
+
+    public void disconnect() {
+        BedrockClientSession session = this.session;
+        if (session != null && !session.isClosed()) {
+            session.disconnect();
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Override
+    public boolean handle(ServerToClientHandshakePacket packet) {
+        try {
+            JWSObject jwt = JWSObject.parse(packet.getJwt());
+            ECPublicKey serverKey = EncryptionUtils.generateKey(jwt.getHeader().getX509CertURL().toString());
+            JsonNode payload = JSON_MAPPER.readTree(jwt.getPayload().toBytes());
+            byte[] salt = Base64.getDecoder().decode(payload.get("salt").asText());
+            SecretKey key = EncryptionUtils.getSecretKey(keyPair.getPrivate(), serverKey, salt);
+            session.enableEncryption(key);
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to complete the handshake of " + name, e);
+        }
+        session.sendPacketImmediately(new ClientToServerHandshakePacket());
+        return true;
+    }
+
+    @Override
+    public boolean handle(ResourcePacksInfoPacket packet) {
+        ResourcePackClientResponsePacket response = new ResourcePackClientResponsePacket();
+        response.setStatus(ResourcePackClientResponsePacket.Status.HAVE_ALL_PACKS);
+        session.sendPacket(response);
+        return true;
+    }
+
+    @Override
+    public boolean handle(ResourcePackStackPacket packet) {
+        ResourcePackClientResponsePacket response = new ResourcePackClientResponsePacket();
+        response.setStatus(ResourcePackClientResponsePacket.Status.COMPLETED);
+        session.sendPacket(response);
+        return true;
+    }
+
+    @Override
+    public boolean handle(StartGamePacket packet) {
+        runtimeEntityId = packet.getRuntimeEntityId();
+        center = packet.getPlayerPosition();
+
+        RequestChunkRadiusPacket radiusPacket = new RequestChunkRadiusPacket();
+        radiusPacket.setRadius(CHUNK_RADIUS);
+        session.sendPacket(radiusPacket);
+        return true;
+    }
+
+    @Override
+    public boolean handle(PlayStatusPacket packet) {
+        if (packet.getStatus() == PlayStatusPacket.Status.PLAYER_SPAWN && !spawned) {
+            SetLocalPlayerAsInitializedPacket initializedPacket = new SetLocalPlayerAsInitializedPacket();
+            initializedPacket.setRuntimeEntityId(runtimeEntityId);
+            session.sendPacket(initializedPacket);
+
+            spawned = true;
+            metrics.getSpawned().incrementAndGet();
+            metrics.getJoinLatency().record(System.nanoTime() - connectTime);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handle(MovePlayerPacket packet) {
+        if (packet.getRuntimeEntityId() == runtimeEntityId && packet.getMode() == MovePlayerPacket.Mode.TELEPORT) {
+            // The server moved us; walk around the new position instead
+            center = packet.getPosition();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handle(TextPacket packet) {
+        String message = packet.getMessage();
+        long sent = parseTimestamp(message, FakeJavaServer.ECHO_MARKER);
+        if (sent != -1) {
+            metrics.getRoundTripLatency().record(System.nanoTime() - sent);
+            return true;
+        }
+        sent = parseTimestamp(message, FakeJavaServer.LATENCY_MARKER);
+        if (sent != -1) {
+            metrics.getChatLatency().record(System.nanoTime() - sent);
+        }
+        return true;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} that follows the marker in the message, or -1 if there is none
+     */
+    private static long parseTimestamp(String message, String marker) {
+        int start = message.indexOf(marker);
+        if (start == -1) {
+            return -1;
+        }
+        start += marker.length();
+        int end = start;
+        while (end < message.length() && (Character.isDigit(message.charAt(end)) || message.charAt(end) == '-')) {
+            end++;
+        }
+        try {
+            return Long.parseLong(message.substring(start, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean handle(ContainerOpenPacket packet) {
+        openContainerId = packet.getId();
+        return true;
+    }
+
+    @Override
+    public boolean handle(NetworkStackLatencyPacket packet) {
+        if (packet.isFromServer()) {
+            NetworkStackLatencyPacket response = new NetworkStackLatencyPacket();
+            response.setTimestamp(packet.getTimestamp());
+            session.sendPacket(response);
+        }
+        return true;
+    }
+
+    private LoginPacket createLoginPacket() throws Exception {
+        String publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+        long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+
+        ObjectNode chainPayload = JSON_MAPPER.createObjectNode();
+        chainPayload.put("nbf", now - 60);
+        chainPayload.put("exp", now + TimeUnit.DAYS.toSeconds(1));
+        chainPayload.put("certificateAuthority", true);
+        chainPayload.put("identityPublicKey", publicKey);
+        ObjectNode extraData = chainPayload.putObject("extraData");
+        extraData.put("displayName", name);
+        extraData.put("identity", UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString());
+        extraData.put("XUID", Long.toString(2535400000000000L + index));
+
+        ObjectNode chainData = JSON_MAPPER.createObjectNode();
+        ArrayNode chain = chainData.putArray("chain");
+        chain.add(signJwt(chainPayload, publicKey));
+
+        LoginPacket loginPacket = new LoginPacket();
+        loginPacket.setProtocolVersion(MinecraftProtocol.DEFAULT_BEDROCK_CODEC.getProtocolVersion());
+        loginPacket.setChainData(new AsciiString(JSON_MAPPER.writeValueAsBytes(chainData)));
+        loginPacket.setSkinData(new AsciiString(signJwt(createClientData(), publicKey)));
+        return loginPacket;
+    }
+
+    private ObjectNode createClientData() {
+        Base64.Encoder encoder = Base64.getEncoder();
+
+        // A plain skin with a different color for every bot
+        byte[] skin = new byte[SKIN_SIZE * SKIN_SIZE * 4];
+        for (int i = 0; i < skin.length; i += 4) {
+            skin[i] = (byte) (index * 37);
+            skin[i + 1] = (byte) (index * 71);
+            skin[i + 2] = (byte) (index * 113);
+            skin[i + 3] = (byte) 0xFF;
+        }
+
+        ObjectNode clientData = JSON_MAPPER.createObjectNode();
+        clientData.put("GameVersion", MinecraftProtocol.DEFAULT_BEDROCK_CODEC.getMinecraftVersion());
+        clientData.put("ServerAddress", "127.0.0.1");
+        clientData.put("ThirdPartyName", name);
+        clientData.put("LanguageCode", "en_US");
+        clientData.put("DeviceId", UUID.randomUUID().toString());
+        clientData.put("DeviceModel", "Load Test");
+        clientData.put("ClientRandomId", index);
+        clientData.put("SelfSignedId", UUID.randomUUID().toString());
+        clientData.put("SkinId", "loadtest-" + index);
+        clientData.put("SkinData", encoder.encodeToString(skin));
+        clientData.put("SkinImageWidth", SKIN_SIZE);
+        clientData.put("SkinImageHeight", SKIN_SIZE);
+        clientData.put("SkinResourcePatch", encoder.encodeToString(GEOMETRY_NAME.getBytes(StandardCharsets.UTF_8)));
+        clientData.put("SkinGeometryData", "");
+        clientData.put("CapeId", "");
+        clientData.put("CapeData", "");
+        clientData.put("ArmSize", "wide");
+        clientData.put("SkinColor", "#0");
+        clientData.put("PersonaSkin", false);
+        clientData.put("PremiumSkin", false);
+        return clientData;
+    }
+
+    private String signJwt(ObjectNode payload, String publicKey) throws Exception {
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.ES384)
+                .x509CertURL(URI.create(publicKey))
+                .build();
+        JWSObject jwt = new JWSObject(header, new Payload(JSON_MAPPER.writeValueAsString(payload)));
+        EncryptionUtils.signJwt(jwt, (ECPrivateKey) keyPair.getPrivate());
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counters and latencies shared by all bots of a load test.
+ */
+@Getter
+public final class BotMetrics {
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger spawned = new AtomicInteger();
+    private final AtomicInteger disconnected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    /**
+     * The time between a bot connecting and it being spawned in the world.
+     */
+    private final LatencyRecorder joinLatency = new LatencyRecorder();
+    /**
+     * The time between the stand-in server sending a chat message and a bot receiving it from Geyser.
+     */
+    private final LatencyRecorder chatLatency = new LatencyRecorder();
+    /**
+     * The time between a bot sending a chat message and receiving it back from the stand-in server through Geyser.
+     */
+    private final LatencyRecorder roundTripLatency = new LatencyRecorder();
+
+    @Override
+    public String toString() {
+        return String.format("%d connected, %d spawned, %d disconnected, %d failed to connect",
+                connected.get(), spawned.get(), disconnected.get(), failed.get());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records durations and reports their percentiles. Keeps every sample, which is fine for the length of a load test.
+ */
+public final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int size;
+
+    public synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    /**
+     * Forgets all samples; for example, the ones taken while the bots were still connecting.
+     */
+    public synchronized void reset() {
+        size = 0;
+    }
+
+    public synchronized Summary summarize() {
+        if (size == 0) {
+            return new Summary(0, 0, 0, 0, 0);
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(size, percentile(sorted, 0.5), percentile(sorted, 0.95), percentile(sorted, 0.99), sorted[size - 1]);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    public record Summary(int count, long p50, long p95, long p99, long max) {
+        @Override
+        public String toString() {
+            if (count == 0) {
+                return "no samples";
+            }
+            return String.format("p50 %s, p95 %s, p99 %s, max %s (%d samples)",
+                    millis(p50), millis(p95), millis(p99), millis(max), count);
+        }
+
+        private static String millis(long nanos) {
+            return String.format("%.2fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
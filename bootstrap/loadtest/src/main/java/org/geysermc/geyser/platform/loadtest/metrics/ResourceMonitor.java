@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest.metrics;
+
+import io.netty.channel.EventLoop;
+import lombok.Getter;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures what the sessions cost: CPU time, heap, and how long tasks wait for a session's event loop.
+ * <p>
+ * The bots and the Java server run in the same process as Geyser, so process-wide numbers include them. The CPU
+ * breakdown by thread pool shows how much of it is Geyser.
+ */
+public final class ResourceMonitor {
+    /**
+     * Strips the thread number from a thread name, so threads of one pool are grouped together.
+     */
+    private static final Pattern THREAD_NUMBER = Pattern.compile("[-#\\s]?\\d+$");
+    private static final int SHOWN_THREAD_POOLS = 8;
+
+    private final GeyserImpl geyser;
+    private final com.sun.management.OperatingSystemMXBean operatingSystem =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Getter
+    private final LatencyRecorder eventLoopLag = new LatencyRecorder();
+
+    private long baselineHeap;
+    private long lastProcessCpuTime;
+    private long lastWallTime;
+    private final Map<Long, Long> lastThreadCpuTimes = new HashMap<>();
+
+    public ResourceMonitor(GeyserImpl geyser) {
+        this.geyser = geyser;
+        if (threads.isThreadCpuTimeSupported()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    /**
+     * Measures the heap before any bot connects. Everything added afterwards is attributed to the sessions.
+     */
+    public void captureBaseline() {
+        baselineHeap = usedHeapAfterGc(true);
+        lastProcessCpuTime = operatingSystem.getProcessCpuTime();
+        lastWallTime = System.nanoTime();
+        threadCpuTimes(); // Initialize the thread times
+    }
+
+    /**
+     * Queues a task on the event loop of every session and records how long it waited.
+     */
+    public void probeEventLoops() {
+        Set<EventLoop> eventLoops = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+            eventLoops.add(session.getEventLoop());
+        }
+        for (EventLoop eventLoop : eventLoops) {
+            long queuedAt = System.nanoTime();
+            eventLoop.execute(() -> eventLoopLag.record(System.nanoTime() - queuedAt));
+        }
+    }
+
+    /**
+     * @param forceGc whether to run a full garbage collection before measuring the heap. More accurate, but the
+     *                pause shows up in the latency numbers.
+     */
+    public String report(int sessions, boolean forceGc) {
+        StringBuilder builder = new StringBuilder();
+
+        long processCpuTime = operatingSystem.getProcessCpuTime();
+        long wallTime = System.nanoTime();
+        double cores = (processCpuTime - lastProcessCpuTime) / (double) Math.max(1, wallTime - lastWallTime);
+        lastProcessCpuTime = processCpuTime;
+        lastWallTime = wallTime;
+
+        builder.append(String.format("CPU: %.2f cores for the whole process", cores));
+        if (sessions > 0) {
+            builder.append(String.format(", %.2f ms of CPU per session per second", cores * 1000 / sessions));
+        }
+        builder.append('\n');
+
+        Map<String, Long> pools = threadCpuTimes();
+        if (!pools.isEmpty()) {
+            builder.append("  by thread pool:");
+            pools.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(SHOWN_THREAD_POOLS)
+                    .forEach(entry -> builder.append(String.format(" %s %dms;", entry.getKey(),
+                            TimeUnit.NANOSECONDS.toMillis(entry.getValue()))));
+            builder.append('\n');
+        }
+
+        long heap = usedHeapAfterGc(forceGc);
+        builder.append(String.format("Heap: %d MB above baseline", (heap - baselineHeap) / (1024 * 1024)));
+        if (sessions > 0) {
+            long chunkStorage = 0;
+            for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+                if (session.hasGameCaches()) {
+                    // The chunk cache is modified by the session's event loop, so it can only be read there
+                    Long storageSize = session.supplyInEventLoop(() -> session.getChunkCache().getStorageSize(), 1, TimeUnit.SECONDS);
+                    if (storageSize != null) {
+                        chunkStorage += storageSize;
+                    }
+                }
+            }
+            builder.append(String.format(", %d KB per session (%d KB of it chunk storage)",
+                    (heap - baselineHeap) / sessions / 1024, chunkStorage / sessions / 1024));
+        }
+        builder.append('\n');
+
+        builder.append("Event loop lag: ").append(eventLoopLag.summarize());
+        return builder.toString();
+    }
+
+    /**
+     * @return the CPU time used by each thread pool since the last call
+     */
+    private Map<String, Long> threadCpuTimes() {
+        Map<String, Long> pools = new HashMap<>();
+        if (!threads.isThreadCpuTimeEnabled()) {
+            return pools;
+        }
+        Map<Long, Long> currentTimes = new HashMap<>();
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info == null) {
+                // Thread has died
+                continue;
+            }
+            long cpuTime = threads.getThreadCpuTime(info.getThreadId());
+            if (cpuTime < 0) {
+                continue;
+            }
+            currentTimes.put(info.getThreadId(), cpuTime);
+            long used = cpuTime - lastThreadCpuTimes.getOrDefault(info.getThreadId(), 0L);
+            String pool = THREAD_NUMBER.matcher(info.getThreadName()).replaceAll("");
+            pools.merge(pool, used, Long::sum);
+        }
+        lastThreadCpuTimes.clear();
+        lastThreadCpuTimes.putAll(currentTimes);
+        return pools;
+    }
+
+    /**
+     * @return the heap in use after the last garbage collection, which leaves out garbage that is yet to be collected
+     */
+    private static long usedHeapAfterGc(boolean forceGc) {
+        if (forceGc) {
+            System.gc();
+        }
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            MemoryUsage usage = pool.getCollectionUsage();
+            used += usage != null ? usage.getUsed() : pool.getUsage().getUsed();
+        }
+        return used;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest.server;
+
+import com.github.steveice10.mc.protocol.MinecraftConstants;
+import com.github.steveice10.mc.protocol.MinecraftProtocol;
+import com.github.steveice10.mc.protocol.ServerLoginHandler;
+import com.github.steveice10.mc.protocol.data.game.MessageType;
+import com.github.steveice10.mc.protocol.data.game.entity.player.GameMode;
+import com.github.steveice10.mc.protocol.data.game.entity.type.EntityType;
+import com.github.steveice10.mc.protocol.data.game.level.LightUpdateData;
+import com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityInfo;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.ClientboundChatPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.ClientboundLoginPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.entity.ClientboundMoveEntityPosPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.entity.player.ClientboundPlayerPositionPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.entity.spawn.ClientboundAddMobPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.clientbound.level.ClientboundSetChunkCacheCenterPacket;
+import com.github.steveice10.mc.protocol.packet.ingame.serverbound.ServerboundChatPacket;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.packetlib.Session;
+import com.github.steveice10.packetlib.event.server.ServerAdapter;
+import com.github.steveice10.packetlib.event.server.SessionRemovedEvent;
+import com.github.steveice10.packetlib.event.session.SessionAdapter;
+import com.github.steveice10.packetlib.packet.Packet;
+import com.github.steveice10.packetlib.tcp.TcpServer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import net.kyori.adventure.text.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A stand-in Java server. Every player joins a flat world and is sent a steady stream of the traffic a busy server
+ * produces: chunks on join, then mobs wandering around them and chat messages.
+ * <p>
+ * Chat messages carry the time they were sent, so the bots can measure how long Geyser took to deliver them.
+ * Chat messages from the bots that start with {@link #ECHO_MARKER} are sent straight back, so the bots can also
+ * measure a full round trip through Geyser.
+ */
+public final class FakeJavaServer {
+    /**
+     * Chat messages that start with this are followed by {@link System#nanoTime()} at the time they were sent.
+     */
+    public static final String LATENCY_MARKER = "loadtest:";
+    /**
+     * Chat messages from a bot that start with this are echoed back to it unchanged.
+     */
+    public static final String ECHO_MARKER = "loadtest-echo:";
+
+    private static final int CHAT_INTERVAL_TICKS = 20;
+
+    private final TcpServer server;
+    private final FlatWorld world = new FlatWorld();
+    private final int viewDistance;
+    private final int mobsPerPlayer;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new DefaultThreadFactory("LoadTest Java Server Tick", true));
+    private final Map<Session, ConnectedPlayer> players = new ConcurrentHashMap<>();
+
+    public FakeJavaServer(int port, int viewDistance, int mobsPerPlayer) {
+        this.viewDistance = viewDistance;
+        this.mobsPerPlayer = mobsPerPlayer;
+
+        this.server = new TcpServer("127.0.0.1", port, MinecraftProtocol::new);
+        server.setGlobalFlag(MinecraftConstants.VERIFY_USERS_KEY, false);
+        server.setGlobalFlag(MinecraftConstants.SERVER_COMPRESSION_THRESHOLD, 256);
+        server.setGlobalFlag(MinecraftConstants.SERVER_LOGIN_HANDLER_KEY, (ServerLoginHandler) this::onLogin);
+        server.addListener(new ServerAdapter() {
+            @Override
+            public void sessionRemoved(SessionRemovedEvent event) {
+                players.remove(event.getSession());
+            }
+        });
+    }
+
+    public void start() {
+        server.bind();
+        scheduler.scheduleAtFixedRate(this::tick, 50, 50, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+        server.close();
+    }
+
+    private void onLogin(Session session) {
+        session.send(new ClientboundLoginPacket(0, false, GameMode.SURVIVAL, GameMode.SURVIVAL, 1,
+                new String[] {FlatWorld.WORLD_NAME}, world.getDimensionCodec(), world.getDimension(), FlatWorld.WORLD_NAME,
+                0, 100, viewDistance, viewDistance, false, true, false, true));
+
+        session.send(new ClientboundSetChunkCacheCenterPacket(0, 0));
+        for (int x = -viewDistance; x <= viewDistance; x++) {
+            for (int z = -viewDistance; z <= viewDistance; z++) {
+                session.send(new ClientboundLevelChunkWithLightPacket(x, z, world.getChunkData(x, z), new CompoundTag(""),
+                        new BlockEntityInfo[0], new LightUpdateData(new BitSet(), new BitSet(), new BitSet(), new BitSet(),
+                        Collections.emptyList(), Collections.emptyList(), true)));
+            }
+        }
+
+        session.send(new ClientboundPlayerPositionPacket(0.5, FlatWorld.SURFACE_Y, 0.5, 0, 0, 1, false));
+
+        ConnectedPlayer player = new ConnectedPlayer(session, mobsPerPlayer);
+        for (int i = 0; i < mobsPerPlayer; i++) {
+            double angle = 2 * Math.PI * i / mobsPerPlayer;
+            session.send(new ClientboundAddMobPacket(player.mobIds[i], UUID.randomUUID(), EntityType.PIG,
+                    8 * Math.cos(angle), FlatWorld.SURFACE_Y, 8 * Math.sin(angle), 0, 0, 0, 0, 0, 0));
+        }
+        players.put(session, player);
+
+        session.addListener(new SessionAdapter() {
+            @Override
+            public void packetReceived(Session session, Packet packet) {
+                if (packet instanceof ServerboundChatPacket chatPacket && chatPacket.getMessage().startsWith(ECHO_MARKER)) {
+                    session.send(new ClientboundChatPacket(Component.text(chatPacket.getMessage()),
+                            MessageType.SYSTEM, new UUID(0, 0)));
+                }
+            }
+        });
+    }
+
+    private void tick() {
+        for (ConnectedPlayer player : players.values()) {
+            player.tick();
+        }
+    }
+
+    private static final class ConnectedPlayer {
+        private final Session session;
+        private final int[] mobIds;
+        private int ticks;
+
+        ConnectedPlayer(Session session, int mobs) {
+            this.session = session;
+            this.mobIds = new int[mobs];
+            for (int i = 0; i < mobs; i++) {
+                // The player itself is entity 0
+                mobIds[i] = i + 1;
+            }
+        }
+
+        void tick() {
+            if (!session.isConnected()) {
+                return;
+            }
+            ticks++;
+
+            // Walk every mob around in a small square
+            int side = (ticks / 20) & 3;
+            double dx = side == 0 ? 0.1 : side == 2 ? -0.1 : 0;
+            double dz = side == 1 ? 0.1 : side == 3 ? -0.1 : 0;
+            for (int mobId : mobIds) {
+                session.send(new ClientboundMoveEntityPosPacket(mobId, dx, 0, dz, true));
+            }
+
+            if (ticks % CHAT_INTERVAL_TICKS == 0) {
+                session.send(new ClientboundChatPacket(Component.text(LATENCY_MARKER + System.nanoTime()),
+                        MessageType.SYSTEM, new UUID(0, 0)));
+            }
+        }
+    }
+}
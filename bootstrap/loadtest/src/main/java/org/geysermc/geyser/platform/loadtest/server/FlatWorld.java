@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.platform.loadtest.server;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.ChunkSection;
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.github.steveice10.opennbt.tag.builtin.*;
+import com.github.steveice10.packetlib.io.stream.StreamNetOutput;
+import lombok.Getter;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The world sent by the stand-in Java server: a superflat overworld with the 1.18 height limits.
+ */
+public final class FlatWorld {
+    public static final String WORLD_NAME = "minecraft:overworld";
+    public static final int MIN_Y = -64;
+    public static final int HEIGHT = 384;
+    /**
+     * The height players spawn at, right above the grass.
+     */
+    public static final int SURFACE_Y = 65;
+
+    private static final String[] BIOMES = {"minecraft:plains", "minecraft:forest", "minecraft:river"};
+
+    @Getter
+    private final CompoundTag dimensionCodec;
+    @Getter
+    private final CompoundTag dimension;
+    /**
+     * Every chunk has the same blocks, apart from the biomes, so the encoded chunks are built once.
+     */
+    private final byte[][] chunkData = new byte[BIOMES.length][];
+
+    public FlatWorld() {
+        this.dimension = createDimension("");
+        this.dimensionCodec = createDimensionCodec();
+
+        int bedrock = javaBlockId("minecraft:bedrock");
+        int stone = javaBlockId("minecraft:stone");
+        int dirt = javaBlockId("minecraft:dirt");
+        int grass = javaBlockId("minecraft:grass_block[snowy=false]");
+        for (int biome = 0; biome < BIOMES.length; biome++) {
+            chunkData[biome] = encodeChunk(bedrock, stone, dirt, grass, biome);
+        }
+    }
+
+    /**
+     * @return the encoded sections of a chunk. Neighbouring chunks get different biomes, so biome translation is
+     * exercised as well.
+     */
+    public byte[] getChunkData(int chunkX, int chunkZ) {
+        return chunkData[Math.floorMod(chunkX + chunkZ, chunkData.length)];
+    }
+
+    private static byte[] encodeChunk(int bedrock, int stone, int dirt, int grass, int biome) {
+        int biomePaletteBits = MathUtils.getGlobalPaletteForSize(BIOMES.length);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StreamNetOutput out = new StreamNetOutput(stream);
+        try {
+            for (int sectionY = 0; sectionY < HEIGHT >> 4; sectionY++) {
+                DataPalette blocks = DataPalette.createForChunk();
+                int blockCount = 0;
+                for (int y = 0; y < 16; y++) {
+                    int blockY = MIN_Y + (sectionY << 4) + y;
+                    int block;
+                    if (blockY == MIN_Y) {
+                        block = bedrock;
+                    } else if (blockY < SURFACE_Y - 4) {
+                        block = stone;
+                    } else if (blockY < SURFACE_Y - 1) {
+                        block = dirt;
+                    } else if (blockY == SURFACE_Y - 1) {
+                        block = grass;
+                    } else {
+                        continue;
+                    }
+                    for (int x = 0; x < 16; x++) {
+                        for (int z = 0; z < 16; z++) {
+                            blocks.set(x, y, z, block);
+                            blockCount++;
+                        }
+                    }
+                }
+
+                DataPalette biomes = DataPalette.createForBiome(biomePaletteBits);
+                if (biome != 0) {
+                    // Only the bottom layer, so sections have both a singleton and a small palette
+                    for (int x = 0; x < 4; x++) {
+                        for (int z = 0; z < 4; z++) {
+                            biomes.set(x, 0, z, biome);
+                        }
+                    }
+                }
+
+                ChunkSection.write(out, new ChunkSection(blockCount, blocks, biomes), biomePaletteBits);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stream.toByteArray();
+    }
+
+    private static int javaBlockId(String identifier) {
+        Integer id = BlockRegistries.JAVA_IDENTIFIERS.get(identifier);
+        if (id == null) {
+            throw new IllegalStateException("Unknown block " + identifier);
+        }
+        return id;
+    }
+
+    /**
+     * Only contains what Geyser reads.
+     */
+    private static CompoundTag createDimension(String tagName) {
+        CompoundTag dimension = new CompoundTag(tagName);
+        dimension.put(new StringTag("effects", WORLD_NAME));
+        dimension.put(new IntTag("min_y", MIN_Y));
+        dimension.put(new IntTag("height", HEIGHT));
+        dimension.put(new IntTag("logical_height", HEIGHT));
+        dimension.put(new ByteTag("natural", (byte) 1));
+        dimension.put(new FloatTag("coordinate_scale", 1f));
+        return dimension;
+    }
+
+    private static CompoundTag createDimensionCodec() {
+        CompoundTag overworld = new CompoundTag("");
+        overworld.put(new StringTag("name", WORLD_NAME));
+        overworld.put(new IntTag("id", 0));
+        overworld.put(createDimension("element"));
+
+        CompoundTag dimensionTypes = new CompoundTag("minecraft:dimension_type");
+        dimensionTypes.put(new StringTag("type", "minecraft:dimension_type"));
+        ListTag dimensionList = new ListTag("value");
+        dimensionList.add(overworld);
+        dimensionTypes.put(dimensionList);
+
+        CompoundTag biomes = new CompoundTag("minecraft:worldgen/biome");
+        biomes.put(new StringTag("type", "minecraft:worldgen/biome"));
+        ListTag biomeList = new ListTag("value");
+        for (int i = 0; i < BIOMES.length; i++) {
+            CompoundTag biome = new CompoundTag("");
+            biome.put(new StringTag("name", BIOMES[i]));
+            biome.put(new IntTag("id", i));
+            CompoundTag biomeElement = new CompoundTag("element");
+            biomeElement.put(new StringTag("category", BIOMES[i].substring("minecraft:".length())));
+            biome.put(biomeElement);
+            biomeList.add(biome);
+        }
+        biomes.put(biomeList);
+
+        CompoundTag codec = new CompoundTag("");
+        codec.put(dimensionTypes);
+        codec.put(biomes);
+        return codec;
+    }
+}
@@ -51,6 +51,7 @@ import org.geysermc.geyser.platform.spigot.command.GeyserSpigotCommandManager;
 import org.geysermc.geyser.platform.spigot.command.SpigotCommandSender;
 import org.geysermc.geyser.platform.spigot.world.GeyserPistonListener;
 import org.geysermc.geyser.platform.spigot.world.GeyserSpigotBlockPlaceListener;
+import org.geysermc.geyser.platform.spigot.world.GeyserSpigotPlayerListener;
 import org.geysermc.geyser.platform.spigot.world.manager.*;
 import org.geysermc.geyser.session.auth.AuthType;
 import org.geysermc.geyser.text.GeyserLocale;
@@ -236,6 +237,7 @@ public class GeyserSpigotPlugin extends JavaPlugin implements GeyserBootstrap {
         Bukkit.getServer().getPluginManager().registerEvents(blockPlaceListener, this);
 
         Bukkit.getServer().getPluginManager().registerEvents(new GeyserPistonListener(geyser, this.geyserWorldManager), this);
+        Bukkit.getServer().getPluginManager().registerEvents(new GeyserSpigotPlayerListener(this.geyserWorldManager), this);
 
         PluginCommand pluginCommand = this.getCommand("geyser");
         pluginCommand.setExecutor(new GeyserSpigotCommandExecutor(geyser));
@@ -27,8 +27,6 @@ package org.geysermc.geyser.platform.spigot.world;
 
 import com.github.steveice10.mc.protocol.data.game.level.block.value.PistonValueType;
 import com.nukkitx.math.vector.Vector3i;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -45,6 +43,7 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
+import org.geysermc.geyser.util.collection.BlockPos2IntMap;
 import org.geysermc.geyser.level.physics.Direction;
 import org.geysermc.geyser.platform.spigot.world.manager.GeyserSpigotWorldManager;
 
@@ -85,7 +84,7 @@ public class GeyserPistonListener implements Listener {
         PistonValueType type = isExtend ? PistonValueType.PUSHING : PistonValueType.PULLING;
         boolean sticky = event.isSticky();
 
-        Object2IntMap<Vector3i> attachedBlocks = new Object2IntOpenHashMap<>();
+        BlockPos2IntMap attachedBlocks = new BlockPos2IntMap();
         boolean blocksFilled = false;
 
         for (Map.Entry<UUID, GeyserSession> entry : geyser.getSessionManager().getSessions().entrySet()) {
@@ -114,7 +113,7 @@ public class GeyserPistonListener implements Listener {
                             attachedLocation.getBlockX(), attachedLocation.getBlockY(), attachedLocation.getBlockZ());
                     // Ignore blocks that will be destroyed
                     if (BlockStateValues.canPistonMoveBlock(blockId, isExtend)) {
-                        attachedBlocks.put(getVector(attachedLocation), blockId);
+                        attachedBlocks.put(attachedLocation.getBlockX(), attachedLocation.getBlockY(), attachedLocation.getBlockZ(), blockId);
                     }
                 }
                 blocksFilled = true;
@@ -27,7 +27,7 @@ package org.geysermc.geyser.platform.spigot.world.manager;
 
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.protocols.protocol1_13to1_12_2.storage.BlockStorage;
-import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.geysermc.geyser.session.GeyserSession;
@@ -35,6 +35,8 @@ import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.adapters.spigot.SpigotAdapters;
 import org.geysermc.geyser.adapters.spigot.SpigotWorldAdapter;
 
+import java.util.Arrays;
+
 /**
  * Used with ViaVersion and pre-1.13.
  */
@@ -49,7 +51,7 @@ public class GeyserSpigot1_12NativeWorldManager extends GeyserSpigot1_12WorldMan
 
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
-        Player player = Bukkit.getPlayer(session.getPlayerEntity().getUsername());
+        Player player = getPlayer(session);
         if (player == null) {
             return BlockStateValues.JAVA_AIR_ID;
         }
@@ -58,4 +60,24 @@ public class GeyserSpigot1_12NativeWorldManager extends GeyserSpigot1_12WorldMan
         int blockId = adapter.getBlockAt(player.getWorld(), x, y, z);
         return getLegacyBlock(storage, blockId, x, y, z);
     }
+
+    @Override
+    public void getBlocksInBox(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        Player player = getPlayer(session);
+        if (player == null) {
+            Arrays.fill(blocks, BlockStateValues.JAVA_AIR_ID);
+            return;
+        }
+
+        BlockStorage storage = Via.getManager().getConnectionManager().getConnectedClient(player.getUniqueId()).get(BlockStorage.class);
+        World world = player.getWorld();
+        int i = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    blocks[i++] = getLegacyBlock(storage, adapter.getBlockAt(world, x, y, z), x, y, z);
+                }
+            }
+        }
+    }
 }
@@ -29,6 +29,8 @@ import org.bukkit.plugin.Plugin;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.level.block.BlockStateValues;
 
+import java.util.Arrays;
+
 /**
  * Should only be used when we know {@link GeyserSpigotWorldManager#getBlockAt(GeyserSession, int, int, int)}
  * cannot be accurate. Typically, this is when ViaVersion is not installed but a client still manages to connect.
@@ -44,6 +46,11 @@ public class GeyserSpigotFallbackWorldManager extends GeyserSpigotWorldManager {
         return BlockStateValues.JAVA_AIR_ID;
     }
 
+    @Override
+    public void getBlocksInBox(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        Arrays.fill(blocks, BlockStateValues.JAVA_AIR_ID);
+    }
+
     @Override
     public boolean hasOwnChunkCache() {
         return false;
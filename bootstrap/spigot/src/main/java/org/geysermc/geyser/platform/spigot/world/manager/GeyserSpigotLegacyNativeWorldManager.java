@@ -71,6 +71,15 @@ public class GeyserSpigotLegacyNativeWorldManager extends GeyserSpigotNativeWorl
         return oldToNewBlockId.getOrDefault(nativeBlockId, nativeBlockId);
     }
 
+    @Override
+    public void getBlocksInBox(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        super.getBlocksInBox(session, minX, minY, minZ, maxX, maxY, maxZ, blocks);
+        int size = (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        for (int i = 0; i < size; i++) {
+            blocks[i] = oldToNewBlockId.getOrDefault(blocks[i], blocks[i]);
+        }
+    }
+
     @Override
     public boolean isLegacy() {
         return true;
@@ -25,7 +25,7 @@
 
 package org.geysermc.geyser.platform.spigot.world.manager;
 
-import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.geysermc.geyser.session.GeyserSession;
@@ -33,6 +33,8 @@ import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.adapters.spigot.SpigotAdapters;
 import org.geysermc.geyser.adapters.spigot.SpigotWorldAdapter;
 
+import java.util.Arrays;
+
 public class GeyserSpigotNativeWorldManager extends GeyserSpigotWorldManager {
     protected final SpigotWorldAdapter adapter;
 
@@ -43,10 +45,29 @@ public class GeyserSpigotNativeWorldManager extends GeyserSpigotWorldManager {
 
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
-        Player player = Bukkit.getPlayer(session.getPlayerEntity().getUsername());
+        Player player = getPlayer(session);
         if (player == null) {
             return BlockStateValues.JAVA_AIR_ID;
         }
         return adapter.getBlockAt(player.getWorld(), x, y, z);
     }
+
+    @Override
+    public void getBlocksInBox(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        Player player = getPlayer(session);
+        if (player == null) {
+            Arrays.fill(blocks, BlockStateValues.JAVA_AIR_ID);
+            return;
+        }
+
+        World world = player.getWorld();
+        int i = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    blocks[i++] = adapter.getBlockAt(world, x, y, z);
+                }
+            }
+        }
+    }
 }
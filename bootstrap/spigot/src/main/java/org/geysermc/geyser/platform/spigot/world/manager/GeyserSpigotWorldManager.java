@@ -25,6 +25,8 @@
 
 package org.geysermc.geyser.platform.spigot.world.manager;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.nbt.NbtMap;
 import com.nukkitx.nbt.NbtMapBuilder;
@@ -48,7 +50,10 @@ import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.geyser.level.GameRule;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The base world manager to use when there is no supported NMS revision
@@ -61,14 +66,51 @@ public class GeyserSpigotWorldManager extends GeyserWorldManager {
 
     private final Plugin plugin;
 
+    /**
+     * The Bukkit player of each session, so block lookups don't have to search every online player by name.
+     * Entries are removed by {@link org.geysermc.geyser.platform.spigot.world.GeyserSpigotPlayerListener}.
+     */
+    private final Cache<GeyserSession, Player> players = CacheBuilder.newBuilder()
+            .weakKeys()
+            .weakValues()
+            .build();
+
+    /**
+     * Java block state IDs by Bukkit block data. Block data equality is backed by the server's own block state
+     * instances, so this is effectively an identity lookup and saves building and hashing the string form of the state.
+     * There are only as many entries as there are block states.
+     */
+    private final Map<BlockData, Integer> blockDataToJavaId = new ConcurrentHashMap<>();
+
     public GeyserSpigotWorldManager(Plugin plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * @return the Bukkit player of this session, or null if they are not online
+     */
+    protected Player getPlayer(GeyserSession session) {
+        Player player = players.getIfPresent(session);
+        if (player == null) {
+            player = Bukkit.getPlayer(session.getPlayerEntity().getUsername());
+            if (player != null) {
+                players.put(session, player);
+            }
+        }
+        return player;
+    }
+
+    /**
+     * Forgets the cached session of this player. Should be called when they leave.
+     */
+    public void invalidatePlayer(Player player) {
+        players.asMap().values().remove(player);
+    }
+
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return BlockStateValues.JAVA_AIR_ID;
         }
         World world = bukkitPlayer.getWorld();
@@ -80,8 +122,43 @@ public class GeyserSpigotWorldManager extends GeyserWorldManager {
         return getBlockNetworkId(bukkitPlayer, world.getBlockAt(x, y, z), x, y, z);
     }
 
+    @Override
+    public void getBlocksInBox(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        Player bukkitPlayer;
+        if ((bukkitPlayer = getPlayer(session)) == null) {
+            Arrays.fill(blocks, BlockStateValues.JAVA_AIR_ID);
+            return;
+        }
+
+        World world = bukkitPlayer.getWorld();
+        int i = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    if (world.isChunkLoaded(x >> 4, z >> 4)) {
+                        blocks[i++] = getBlockNetworkId(bukkitPlayer, world.getBlockAt(x, y, z), x, y, z);
+                    } else {
+                        blocks[i++] = BlockStateValues.JAVA_AIR_ID;
+                    }
+                }
+            }
+        }
+    }
+
     public int getBlockNetworkId(Player player, Block block, int x, int y, int z) {
-        return BlockRegistries.JAVA_IDENTIFIERS.getOrDefault(block.getBlockData().getAsString(), BlockStateValues.JAVA_AIR_ID);
+        return getBlockNetworkId(block.getBlockData());
+    }
+
+    /**
+     * @return the Java block state ID of this block data
+     */
+    public int getBlockNetworkId(BlockData blockData) {
+        Integer javaId = blockDataToJavaId.get(blockData);
+        if (javaId == null) {
+            javaId = BlockRegistries.JAVA_IDENTIFIERS.getOrDefault(blockData.getAsString(), BlockStateValues.JAVA_AIR_ID);
+            blockDataToJavaId.put(blockData, javaId);
+        }
+        return javaId;
     }
 
     @Override
@@ -94,7 +171,7 @@ public class GeyserSpigotWorldManager extends GeyserWorldManager {
         // Run as a task to prevent async issues
         Runnable lecternInfoGet = () -> {
             Player bukkitPlayer;
-            if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+            if ((bukkitPlayer = getPlayer(session)) == null) {
                 return;
             }
 
@@ -159,7 +236,7 @@ public class GeyserSpigotWorldManager extends GeyserWorldManager {
     }
 
     public Boolean getGameRuleBool(GeyserSession session, GameRule gameRule) {
-        String value = Bukkit.getPlayer(session.getPlayerEntity().getUsername()).getWorld().getGameRuleValue(gameRule.getJavaID());
+        String value = getPlayer(session).getWorld().getGameRuleValue(gameRule.getJavaID());
         if (!value.isEmpty()) {
             return Boolean.parseBoolean(value);
         }
@@ -168,7 +245,7 @@ public class GeyserSpigotWorldManager extends GeyserWorldManager {
 
     @Override
     public int getGameRuleInt(GeyserSession session, GameRule gameRule) {
-        String value = Bukkit.getPlayer(session.getPlayerEntity().getUsername()).getWorld().getGameRuleValue(gameRule.getJavaID());
+        String value = getPlayer(session).getWorld().getGameRuleValue(gameRule.getJavaID());
         if (!value.isEmpty()) {
             return Integer.parseInt(value);
         }
@@ -177,7 +254,7 @@ public class GeyserSpigotWorldManager extends GeyserWorldManager {
 
     @Override
     public boolean hasPermission(GeyserSession session, String permission) {
-        return Bukkit.getPlayer(session.getPlayerEntity().getUsername()).hasPermission(permission);
+        return getPlayer(session).hasPermission(permission);
     }
 
     /**
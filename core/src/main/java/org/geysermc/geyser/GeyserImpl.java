@@ -29,7 +29,10 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.steveice10.mc.auth.data.GameProfile;
 import com.github.steveice10.packetlib.tcp.TcpSession;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.nukkitx.network.raknet.RakNetConstants;
 import com.nukkitx.network.util.EventLoops;
 import com.nukkitx.protocol.bedrock.BedrockServer;
@@ -55,7 +58,9 @@ import org.geysermc.geyser.command.CommandManager;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.entity.EntityDefinitions;
 import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.network.AdaptiveCompression;
 import org.geysermc.geyser.network.ConnectorServerEventHandler;
+import org.geysermc.geyser.network.EventLoopLagMonitor;
 import org.geysermc.geyser.pack.ResourcePack;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
@@ -64,6 +69,8 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.session.SessionManager;
 import org.geysermc.geyser.session.auth.AuthType;
+import org.geysermc.geyser.session.auth.AuthenticationExecutor;
+import org.geysermc.geyser.session.auth.CachedJavaLogin;
 import org.geysermc.geyser.skin.FloodgateSkinUploader;
 import org.geysermc.geyser.skin.SkinProvider;
 import org.geysermc.geyser.text.GeyserLocale;
@@ -87,6 +94,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -107,6 +115,14 @@ public class GeyserImpl implements GeyserApi {
      * Oauth client ID for Microsoft authentication
      */
     public static final String OAUTH_CLIENT_ID = "204cefd1-4818-4de1-b98d-513fae875d88";
+    /**
+     * The amount of authentication requests that can run at the same time.
+     */
+    private static final int AUTHENTICATION_THREADS = 4;
+    /**
+     * How long a Java access token obtained from a saved login is reused. Minecraft access tokens are valid for a day.
+     */
+    private static final long CACHED_LOGIN_LIFETIME_HOURS = 20;
 
     private static final String IP_REGEX = "\\b\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\b";
 
@@ -125,6 +141,8 @@ public class GeyserImpl implements GeyserApi {
     private volatile boolean shuttingDown = false;
 
     private ScheduledExecutorService scheduledThread;
+    private AuthenticationExecutor authenticationExecutor;
+    private EventLoopLagMonitor eventLoopLagMonitor;
 
     private BedrockServer bedrockServer;
     private final PlatformType platformType;
@@ -135,6 +153,8 @@ public class GeyserImpl implements GeyserApi {
     private PendingMicrosoftAuthentication pendingMicrosoftAuthentication;
     @Getter(AccessLevel.NONE)
     private Map<String, String> savedRefreshTokens;
+    @Getter(AccessLevel.NONE)
+    private Cache<String, CachedJavaLogin> cachedJavaLogins;
 
     private static GeyserImpl instance;
 
@@ -200,6 +220,8 @@ public class GeyserImpl implements GeyserApi {
 
     private void start() {
         this.scheduledThread = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("Geyser Scheduled Thread"));
+        this.authenticationExecutor = new AuthenticationExecutor(AUTHENTICATION_THREADS);
+        LoginEncryptionUtils.init();
 
         GeyserLogger logger = bootstrap.getGeyserLogger();
         GeyserConfiguration config = bootstrap.getGeyserConfig();
@@ -209,6 +231,13 @@ public class GeyserImpl implements GeyserApi {
 
         SkinProvider.registerCacheImageTask(this);
 
+        if (config.getBedrock().isAdaptiveCompression()) {
+            AdaptiveCompression.startMonitoring(this);
+        }
+
+        this.eventLoopLagMonitor = new EventLoopLagMonitor(this);
+        eventLoopLagMonitor.start();
+
         ResourcePack.loadPacks();
 
         if (platformType != PlatformType.STANDALONE && config.getRemote().getAddress().equals("auto")) {
@@ -279,7 +308,7 @@ public class GeyserImpl implements GeyserApi {
             logger.debug("Not getting git properties for the news handler as we are in a development environment.");
         }
 
-        pendingMicrosoftAuthentication = new PendingMicrosoftAuthentication(config.getPendingAuthenticationTimeout());
+        pendingMicrosoftAuthentication = new PendingMicrosoftAuthentication(config.getPendingAuthenticationTimeout(), authenticationExecutor);
 
         this.newsHandler = new NewsHandler(branch, buildNumber);
 
@@ -426,6 +455,9 @@ public class GeyserImpl implements GeyserApi {
 
             // May be written/read to on multiple threads from each GeyserSession as well as writing the config
             savedRefreshTokens = new ConcurrentHashMap<>();
+            cachedJavaLogins = CacheBuilder.newBuilder()
+                    .expireAfterWrite(CACHED_LOGIN_LIFETIME_HOURS, TimeUnit.HOURS)
+                    .build();
 
             File tokensFile = bootstrap.getSavedUserLoginsFolder().resolve(Constants.SAVED_REFRESH_TOKEN_FILE).toFile();
             if (tokensFile.exists()) {
@@ -456,6 +488,7 @@ public class GeyserImpl implements GeyserApi {
             }
         } else {
             savedRefreshTokens = null;
+            cachedJavaLogins = null;
         }
 
         newsHandler.handleNews(null, NewsItemAction.ON_SERVER_STARTED);
@@ -505,6 +538,8 @@ public class GeyserImpl implements GeyserApi {
         }
 
         scheduledThread.shutdown();
+        authenticationExecutor.shutdown();
+        LoginEncryptionUtils.shutdown();
         bedrockServer.close();
         if (skinUploader != null) {
             skinUploader.close();
@@ -583,6 +618,30 @@ public class GeyserImpl implements GeyserApi {
         }
     }
 
+    /**
+     * @return the Java login of this saved user from a previous connection, if its access token should still be valid
+     */
+    @Nullable
+    public CachedJavaLogin cachedLoginFor(@NonNull String bedrockName) {
+        return cachedJavaLogins.getIfPresent(bedrockName);
+    }
+
+    public void saveCachedLogin(@NonNull String bedrockName, @NonNull GameProfile profile, @NonNull String accessToken) {
+        if (!getConfig().getSavedUserLogins().contains(bedrockName)) {
+            return;
+        }
+        cachedJavaLogins.put(bedrockName, new CachedJavaLogin(profile, accessToken));
+    }
+
+    /**
+     * Forgets the cached Java login of this player, if any; for example, after the server rejected it.
+     */
+    public void invalidateCachedLogin(@NonNull String bedrockName) {
+        if (cachedJavaLogins != null) {
+            cachedJavaLogins.invalidate(bedrockName);
+        }
+    }
+
     private void scheduleRefreshTokensWrite() {
         scheduledThread.execute(() -> {
             // Ensure all writes are handled on the same thread
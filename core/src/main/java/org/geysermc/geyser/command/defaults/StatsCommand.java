@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.command.defaults;
+
+import io.netty.channel.EventLoop;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.command.CommandSender;
+import org.geysermc.geyser.command.GeyserCommand;
+import org.geysermc.geyser.network.AdaptiveCompression;
+import org.geysermc.geyser.network.CompressedPacketCache;
+import org.geysermc.geyser.network.EventLoopLagMonitor;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.SessionStatistics;
+import org.geysermc.geyser.session.auth.AuthenticationExecutor;
+import org.geysermc.geyser.text.ChatColor;
+import org.geysermc.geyser.text.GeyserLocale;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows the traffic and processing time of the sessions and how far behind the event loops are.
+ */
+public class StatsCommand extends GeyserCommand {
+    /**
+     * How many of the most expensive sessions are listed without a player name.
+     */
+    private static final int TOP_SESSIONS = 5;
+
+    private final GeyserImpl geyser;
+
+    public StatsCommand(GeyserImpl geyser, String name, String description, String permission) {
+        super(name, description, permission);
+
+        this.geyser = geyser;
+    }
+
+    @Override
+    public void execute(GeyserSession session, CommandSender sender, String[] args) {
+        String locale = sender.getLocale();
+        if (args.length > 0) {
+            GeyserSession target = geyser.connectionByName(args[0]);
+            if (target == null) {
+                sender.sendMessage(ChatColor.RED + translate("geyser.commands.stats.not_found", locale, "No Bedrock player named {0} is online.", args[0]));
+                return;
+            }
+            sendSessionStats(sender, target);
+            return;
+        }
+
+        List<GeyserSession> sessions = geyser.getSessionManager().getAllSessions();
+        long bedrockPacketsIn = 0, bedrockPacketsOut = 0, bedrockBytesIn = 0;
+        long javaPacketsIn = 0, javaPacketsOut = 0, javaBytesIn = 0, javaBytesOut = 0;
+        double millisPerSecond = 0;
+        // The processing time changes while it is read, so it is read once per session before sorting
+        List<SessionCost> costs = new ArrayList<>(sessions.size());
+        for (GeyserSession other : sessions) {
+            SessionStatistics statistics = other.getStatistics();
+            bedrockPacketsIn += statistics.getBedrockPacketsIn();
+            bedrockPacketsOut += statistics.getBedrockPacketsOut();
+            bedrockBytesIn += statistics.getBedrockBytesIn();
+            javaPacketsIn += statistics.getJavaPacketsIn();
+            javaPacketsOut += statistics.getJavaPacketsOut();
+            javaBytesIn += statistics.getJavaBytesIn();
+            javaBytesOut += statistics.getJavaBytesOut();
+            double sessionMillisPerSecond = statistics.getProcessingMillisPerSecond();
+            millisPerSecond += sessionMillisPerSecond;
+            costs.add(new SessionCost(other.name(), sessionMillisPerSecond, statistics.getQueuedTasks()));
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.sessions", locale, "Sessions: {0} using {1}ms of processing time per second",
+                sessions.size(), String.format("%.1f", millisPerSecond)));
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.bedrock", locale, "Bedrock: {0} packets in ({1}), {2} packets out",
+                bedrockPacketsIn, formatBytes(bedrockBytesIn), bedrockPacketsOut));
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.java", locale, "Java: {0} packets in ({1}), {2} packets out ({3})",
+                javaPacketsIn, formatBytes(javaBytesIn), javaPacketsOut, formatBytes(javaBytesOut)));
+
+        Map<EventLoop, EventLoopLagMonitor.Lag> lags = geyser.getEventLoopLagMonitor().getLags();
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.event_loops", locale, "Event loops: {0}", lags.size()));
+        for (Map.Entry<EventLoop, EventLoopLagMonitor.Lag> entry : lags.entrySet()) {
+            sender.sendMessage(" - " + eventLoopName(entry.getKey()) + ": " + entry.getValue());
+        }
+
+        if (!costs.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.most_expensive", locale, "Most expensive sessions:"));
+            costs.stream()
+                    .sorted(Comparator.comparingDouble(SessionCost::millisPerSecond).reversed())
+                    .limit(TOP_SESSIONS)
+                    .forEach(cost -> sender.sendMessage(" - " + translate("geyser.commands.stats.session_entry", locale, "{0}: {1}ms/s, {2} queued tasks",
+                            cost.name(), String.format("%.1f", cost.millisPerSecond()), cost.queuedTasks())));
+        }
+
+        AuthenticationExecutor authenticationExecutor = geyser.getAuthenticationExecutor();
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.authentication", locale, "Authentication: {0} running, {1} queued, {2} completed, {3} rejected",
+                authenticationExecutor.getActiveTasks(), authenticationExecutor.getQueuedTasks(),
+                authenticationExecutor.getCompletedTasks(), authenticationExecutor.getRejectedTasks()));
+
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.compression_cache", locale, "Compression cache: {0} hits, {1} misses, {2} cached",
+                CompressedPacketCache.getHits(), CompressedPacketCache.getMisses(), formatBytes(CompressedPacketCache.getCachedBytes())));
+        if (geyser.getConfig().getBedrock().isAdaptiveCompression() && AdaptiveCompression.getCpuLoad() >= 0) {
+            sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.adaptive_compression", locale, "Adaptive compression: {0}% CPU load",
+                    String.format("%.0f", AdaptiveCompression.getCpuLoad() * 100)));
+        }
+    }
+
+    private void sendSessionStats(CommandSender sender, GeyserSession target) {
+        String locale = sender.getLocale();
+        SessionStatistics statistics = target.getStatistics();
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.session", locale, "Session: {0}", target.name()));
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.bedrock", locale, "Bedrock: {0} packets in ({1}), {2} packets out",
+                statistics.getBedrockPacketsIn(), formatBytes(statistics.getBedrockBytesIn()), statistics.getBedrockPacketsOut()));
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.java", locale, "Java: {0} packets in ({1}), {2} packets out ({3})",
+                statistics.getJavaPacketsIn(), formatBytes(statistics.getJavaBytesIn()),
+                statistics.getJavaPacketsOut(), formatBytes(statistics.getJavaBytesOut())));
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.processing_time", locale, "Processing time: {0}ms per second, {1}ms total",
+                String.format("%.1f", statistics.getProcessingMillisPerSecond()), statistics.getProcessingTime() / 1_000_000));
+        sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.queued_tasks", locale, "Queued tasks: {0}",
+                statistics.getQueuedTasks()));
+
+        EventLoopLagMonitor.Lag lag = geyser.getEventLoopLagMonitor().getLag(target.getEventLoop());
+        if (lag != null) {
+            sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.event_loop_lag", locale, "Event loop lag: {0}", lag));
+        }
+        if (target.getAdaptiveCompression() != null) {
+            sender.sendMessage(ChatColor.YELLOW + translate("geyser.commands.stats.compression_level", locale, "Compression level: {0}",
+                    target.getAdaptiveCompression().getLevel()));
+        }
+    }
+
+    /**
+     * The stats messages are not in the language files yet, so the English message is used until they are.
+     */
+    private static String translate(String key, String locale, String english, Object... values) {
+        String message = GeyserLocale.getPlayerLocaleString(key, locale, values);
+        if (message.equals(key)) {
+            return MessageFormat.format(english, values);
+        }
+        return message;
+    }
+
+    private record SessionCost(String name, double millisPerSecond, int queuedTasks) {
+    }
+
+    private static String eventLoopName(EventLoop eventLoop) {
+        return eventLoop.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(eventLoop));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KiB", bytes / 1024d);
+        }
+        return String.format("%.1f MiB", bytes / (1024d * 1024));
+    }
+}
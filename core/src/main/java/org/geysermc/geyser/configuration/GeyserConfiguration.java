@@ -29,6 +29,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.geysermc.geyser.GeyserLogger;
 import org.geysermc.geyser.session.auth.AuthType;
 import org.geysermc.geyser.network.CIDRMatcher;
+import org.geysermc.geyser.network.CIDRTrie;
 import org.geysermc.geyser.text.GeyserLocale;
 
 import java.nio.file.Path;
@@ -75,6 +76,8 @@ public interface GeyserConfiguration {
 
     boolean isAllowThirdPartyEars();
 
+    boolean isLazyPlayerListSkins();
+
     String getShowCooldown();
 
     boolean isShowCoordinates();
@@ -105,6 +108,8 @@ public interface GeyserConfiguration {
 
     int getCustomSkullRenderDistance();
 
+    IEntityTrackingConfiguration getEntityTracking();
+
     IMetricsInfo getMetrics();
 
     int getPendingAuthenticationTimeout();
@@ -125,6 +130,8 @@ public interface GeyserConfiguration {
 
         int getCompressionLevel();
 
+        boolean isAdaptiveCompression();
+
         boolean isEnableProxyProtocol();
 
         List<String> getProxyProtocolWhitelistedIPs();
@@ -133,6 +140,16 @@ public interface GeyserConfiguration {
          * @return Unmodifiable list of {@link CIDRMatcher}s from {@link #getProxyProtocolWhitelistedIPs()}
          */
         List<CIDRMatcher> getWhitelistedIPsMatchers();
+
+        /**
+         * @return a {@link CIDRTrie} of {@link #getProxyProtocolWhitelistedIPs()}, which is faster to check than
+         * {@link #getWhitelistedIPsMatchers()} when there are many entries
+         */
+        CIDRTrie getWhitelistedIPsTrie();
+
+        int getConnectionRateLimit();
+
+        int getSubnetConnectionRateLimit();
     }
 
     interface IRemoteConfiguration {
@@ -166,6 +183,17 @@ public interface GeyserConfiguration {
         boolean isMicrosoftAccount();
     }
 
+    interface IEntityTrackingConfiguration {
+
+        boolean isEnabled();
+
+        int getPassiveRange();
+
+        int getHostileRange();
+
+        int getMaxVisibleEntities();
+    }
+
     interface IMetricsInfo {
 
         boolean isEnabled();
@@ -175,6 +203,8 @@ public interface GeyserConfiguration {
 
     int getScoreboardPacketThreshold();
 
+    boolean isCoalesceEntityUpdates();
+
     // if u have offline mode enabled pls be safe
     boolean isEnableProxyConnections();
 
@@ -182,6 +212,14 @@ public interface GeyserConfiguration {
 
     boolean isUseDirectConnection();
 
+    boolean isEventLoopAffinity();
+
+    boolean isLazyRegistries();
+
+    boolean isRegistrySnapshot();
+
+    int getSessionCpuBudget();
+
     int getConfigVersion();
 
     static void checkGeyserConfiguration(GeyserConfiguration geyserConfig, GeyserLogger geyserLogger) {
@@ -38,6 +38,7 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.session.auth.AuthType;
 import org.geysermc.geyser.text.AsteriskSerializer;
 import org.geysermc.geyser.network.CIDRMatcher;
+import org.geysermc.geyser.network.CIDRTrie;
 import org.geysermc.geyser.text.GeyserLocale;
 
 import java.io.IOException;
@@ -121,6 +122,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("allow-third-party-ears")
     private boolean allowThirdPartyEars = false;
 
+    @JsonProperty("lazy-player-list-skins")
+    private boolean lazyPlayerListSkins = false;
+
     @JsonProperty("default-locale")
     private String defaultLocale = null; // is null by default so system language takes priority
 
@@ -136,6 +140,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("custom-skull-render-distance")
     private int customSkullRenderDistance = 32;
 
+    @JsonProperty("entity-tracking")
+    private EntityTrackingConfiguration entityTracking = new EntityTrackingConfiguration();
+
     @JsonProperty("add-non-bedrock-items")
     private boolean addNonBedrockItems = true;
 
@@ -178,6 +185,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
             return Math.max(-1, Math.min(compressionLevel, 9));
         }
 
+        @JsonProperty("adaptive-compression")
+        private boolean adaptiveCompression = false;
+
         @JsonProperty("enable-proxy-protocol")
         private boolean enableProxyProtocol = false;
 
@@ -187,6 +197,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
         @JsonIgnore
         private List<CIDRMatcher> whitelistedIPsMatchers = null;
 
+        @JsonIgnore
+        private volatile CIDRTrie whitelistedIPsTrie = null;
+
         @Override
         public List<CIDRMatcher> getWhitelistedIPsMatchers() {
             // Effective Java, Third Edition; Item 83: Use lazy initialization judiciously
@@ -200,6 +213,26 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
             }
             return Collections.unmodifiableList(matchers);
         }
+
+        @Override
+        public CIDRTrie getWhitelistedIPsTrie() {
+            CIDRTrie trie = this.whitelistedIPsTrie;
+            if (trie == null) {
+                synchronized (this) {
+                    trie = this.whitelistedIPsTrie;
+                    if (trie == null) {
+                        this.whitelistedIPsTrie = trie = new CIDRTrie(proxyProtocolWhitelistedIPs);
+                    }
+                }
+            }
+            return trie;
+        }
+
+        @JsonProperty("connection-rate-limit")
+        private int connectionRateLimit = 0;
+
+        @JsonProperty("subnet-connection-rate-limit")
+        private int subnetConnectionRateLimit = 0;
     }
 
     @Getter
@@ -241,6 +274,21 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
         private boolean microsoftAccount = false;
     }
 
+    @Getter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class EntityTrackingConfiguration implements IEntityTrackingConfiguration {
+        private boolean enabled = false;
+
+        @JsonProperty("passive-range")
+        private int passiveRange = 48;
+
+        @JsonProperty("hostile-range")
+        private int hostileRange = 64;
+
+        @JsonProperty("max-visible-entities")
+        private int maxVisibleEntities = -1;
+    }
+
     @Getter
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class MetricsInfo implements IMetricsInfo {
@@ -253,6 +301,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("scoreboard-packet-threshold")
     private int scoreboardPacketThreshold = 10;
 
+    @JsonProperty("coalesce-entity-updates")
+    private boolean coalesceEntityUpdates = false;
+
     @JsonProperty("enable-proxy-connections")
     private boolean enableProxyConnections = false;
 
@@ -262,6 +313,18 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("use-direct-connection")
     private boolean useDirectConnection = true;
 
+    @JsonProperty("event-loop-affinity")
+    private boolean eventLoopAffinity = false;
+
+    @JsonProperty("lazy-registries")
+    private boolean lazyRegistries = false;
+
+    @JsonProperty("registry-snapshot")
+    private boolean registrySnapshot = false;
+
+    @JsonProperty("session-cpu-budget")
+    private int sessionCpuBudget = 0;
+
     @JsonProperty("config-version")
     private int configVersion = 0;
 
@@ -38,8 +38,13 @@ import lombok.Getter;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.text.AsteriskSerializer;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.network.AdaptiveCompression;
+import org.geysermc.geyser.network.CompressedPacketCache;
+import org.geysermc.geyser.network.EventLoopLagMonitor;
 import org.geysermc.geyser.network.MinecraftProtocol;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.SessionStatistics;
+import org.geysermc.geyser.session.auth.AuthenticationExecutor;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.WebUtils;
 import org.geysermc.floodgate.util.DeviceOs;
@@ -54,10 +59,12 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Getter
@@ -71,6 +78,10 @@ public class DumpInfo {
     private final GeyserConfiguration config;
     private final Floodgate floodgate;
     private final Object2IntMap<DeviceOs> userPlatforms;
+    private final List<SessionInfo> sessions;
+    private final AuthenticationInfo authenticationInfo;
+    private final List<EventLoopInfo> eventLoops;
+    private final CompressionInfo compressionInfo;
     private final HashInfo hashInfo;
     private final RamInfo ramInfo;
     private LogsInfo logsInfo;
@@ -117,11 +128,22 @@ public class DumpInfo {
         }
 
         this.userPlatforms = new Object2IntOpenHashMap<>();
+        this.sessions = new ArrayList<>();
         for (GeyserSession session : GeyserImpl.getInstance().getSessionManager().getAllSessions()) {
             DeviceOs device = session.getClientData().getDeviceOs();
             userPlatforms.put(device, userPlatforms.getOrDefault(device, 0) + 1);
+            sessions.add(new SessionInfo(session));
         }
 
+        this.authenticationInfo = new AuthenticationInfo(GeyserImpl.getInstance().getAuthenticationExecutor());
+
+        this.eventLoops = new ArrayList<>();
+        for (EventLoopLagMonitor.Lag lag : GeyserImpl.getInstance().getEventLoopLagMonitor().getLags().values()) {
+            eventLoops.add(new EventLoopInfo(lag));
+        }
+
+        this.compressionInfo = new CompressionInfo();
+
         this.bootstrapInfo = GeyserImpl.getInstance().getBootstrap().getDumpInfo();
 
         this.flagsInfo = new FlagsInfo();
@@ -266,6 +288,127 @@ public class DumpInfo {
         }
     }
 
+    /**
+     * The approximate memory held by each online session. Player names are left out on purpose.
+     * Cache sizes are -1 if the session's event loop did not answer in time.
+     */
+    @Getter
+    public static class SessionInfo {
+        private static final long CACHE_READ_TIMEOUT = 500;
+
+        private final boolean loggedIn;
+        private final boolean gameCaches;
+        private final int cachedChunks;
+        /**
+         * The bytes of block storage in the cached chunks. Palettes and object headers are not counted.
+         */
+        private final long chunkStorageSize;
+        private final int entities;
+        private final long bedrockPacketsIn;
+        private final long bedrockBytesIn;
+        private final long bedrockPacketsOut;
+        private final long javaPacketsIn;
+        private final long javaBytesIn;
+        private final long javaPacketsOut;
+        private final long javaBytesOut;
+        private final double processingMillisPerSecond;
+        private final int queuedTasks;
+        private final int compressionLevel;
+
+        SessionInfo(GeyserSession session) {
+            this.loggedIn = session.isLoggedIn();
+            this.gameCaches = session.hasGameCaches();
+            if (gameCaches) {
+                // The caches are modified by the event loop, so they can only be read there
+                CacheSizes sizes = session.supplyInEventLoop(() -> new CacheSizes(session.getChunkCache().size(),
+                        session.getChunkCache().getStorageSize(), session.getEntityCache().getEntities().size()),
+                        CACHE_READ_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (sizes == null) {
+                    sizes = new CacheSizes(-1, -1, -1);
+                }
+                this.cachedChunks = sizes.chunks();
+                this.chunkStorageSize = sizes.chunkStorageSize();
+                this.entities = sizes.entities();
+            } else {
+                this.cachedChunks = 0;
+                this.chunkStorageSize = 0;
+                this.entities = 0;
+            }
+
+            SessionStatistics statistics = session.getStatistics();
+            this.bedrockPacketsIn = statistics.getBedrockPacketsIn();
+            this.bedrockBytesIn = statistics.getBedrockBytesIn();
+            this.bedrockPacketsOut = statistics.getBedrockPacketsOut();
+            this.javaPacketsIn = statistics.getJavaPacketsIn();
+            this.javaBytesIn = statistics.getJavaBytesIn();
+            this.javaPacketsOut = statistics.getJavaPacketsOut();
+            this.javaBytesOut = statistics.getJavaBytesOut();
+            this.processingMillisPerSecond = statistics.getProcessingMillisPerSecond();
+            this.queuedTasks = statistics.getQueuedTasks();
+            this.compressionLevel = session.getAdaptiveCompression() == null ? -1 : session.getAdaptiveCompression().getLevel();
+        }
+    }
+
+    private record CacheSizes(int chunks, long chunkStorageSize, int entities) {
+    }
+
+    /**
+     * How long tasks waited for an event loop that runs sessions, in milliseconds.
+     */
+    @Getter
+    public static class EventLoopInfo {
+        private final double lastLag;
+        private final double averageLag;
+        private final double maxLag;
+
+        EventLoopInfo(EventLoopLagMonitor.Lag lag) {
+            this.lastLag = lag.last() / 1e6;
+            this.averageLag = lag.average() / 1e6;
+            this.maxLag = lag.max() / 1e6;
+        }
+    }
+
+    @Getter
+    public static class CompressionInfo {
+        private final double cpuLoad;
+        /**
+         * Indexed by compression level.
+         */
+        private final long[] secondsAtLevel;
+        private final long[] levelChanges;
+        private final long cacheHits;
+        private final long cacheMisses;
+        private final long cachedBytes;
+
+        CompressionInfo() {
+            this.cpuLoad = AdaptiveCompression.getCpuLoad();
+            this.secondsAtLevel = new long[AdaptiveCompression.MAX_LEVEL + 1];
+            this.levelChanges = new long[AdaptiveCompression.MAX_LEVEL + 1];
+            for (int level = AdaptiveCompression.MIN_LEVEL; level <= AdaptiveCompression.MAX_LEVEL; level++) {
+                secondsAtLevel[level] = AdaptiveCompression.getSecondsAtLevel(level);
+                levelChanges[level] = AdaptiveCompression.getLevelChanges(level);
+            }
+            this.cacheHits = CompressedPacketCache.getHits();
+            this.cacheMisses = CompressedPacketCache.getMisses();
+            this.cachedBytes = CompressedPacketCache.getCachedBytes();
+        }
+    }
+
+    @Getter
+    public static class AuthenticationInfo {
+        private final int queuedTasks;
+        private final int activeTasks;
+        private final long completedTasks;
+        private final long rejectedTasks;
+
+        AuthenticationInfo(AuthenticationExecutor executor) {
+            this.queuedTasks = executor.getQueuedTasks();
+            this.activeTasks = executor.getActiveTasks();
+            this.completedTasks = executor.getCompletedTasks();
+            this.rejectedTasks = executor.getRejectedTasks();
+        }
+    }
+
     /**
      * E.G. `-Xmx1024M` - all runtime JVM flags on this machine
      */
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.entity.attribute;
+
+import com.github.steveice10.mc.protocol.data.game.entity.attribute.Attribute;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the latest value of every Java attribute received while an entity is not spawned on the Bedrock client,
+ * so they can be sent once it is.
+ */
+public final class PendingAttributes {
+    private final Map<String, Attribute> attributes = new LinkedHashMap<>();
+
+    public void add(List<Attribute> attributes) {
+        for (Attribute attribute : attributes) {
+            this.attributes.put(attribute.getType().getIdentifier(), attribute);
+        }
+    }
+
+    public boolean isEmpty() {
+        return attributes.isEmpty();
+    }
+
+    /**
+     * @return the latest value of every attribute, in the order they were first received. Clears the pending attributes.
+     */
+    public List<Attribute> drain() {
+        List<Attribute> drained = new ArrayList<>(attributes.values());
+        attributes.clear();
+        return drained;
+    }
+}
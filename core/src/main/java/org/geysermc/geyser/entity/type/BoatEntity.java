@@ -85,6 +85,8 @@ public class BoatEntity extends Entity {
         setHeadYaw(yaw + 90);
         setOnGround(isOnGround);
 
+        // Sent directly because of the rider offset, which a queued movement must not overwrite
+        session.getEntityCache().cancelPendingMovement(this);
         MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
         moveEntityPacket.setRuntimeEntityId(geyserId);
         if (session.getPlayerEntity().getVehicle() == this && session.getPlayerEntity().isRidingInFront()) {
@@ -34,6 +34,7 @@ import com.github.steveice10.mc.protocol.data.game.entity.player.Hand;
 import com.github.steveice10.mc.protocol.data.game.entity.type.EntityType;
 import com.nukkitx.math.vector.Vector3f;
 import com.nukkitx.protocol.bedrock.data.entity.EntityData;
+import com.nukkitx.protocol.bedrock.data.entity.EntityDataMap;
 import com.nukkitx.protocol.bedrock.data.entity.EntityEventType;
 import com.nukkitx.protocol.bedrock.data.entity.EntityFlag;
 import com.nukkitx.protocol.bedrock.data.entity.EntityFlags;
@@ -115,6 +116,13 @@ public class Entity {
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.PROTECTED) // For players
     private boolean flagsDirty = false;
+    /**
+     * A copy of all metadata that has been sent to the Bedrock client. Only kept for entities that may be hidden
+     * by the entity cache, so they can be spawned again with their current state.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private EntityDataMap sentMetadata = null;
 
     public Entity(GeyserSession session, int entityId, long geyserId, UUID uuid, EntityDefinition<?> definition, Vector3f position, Vector3f motion, float yaw, float pitch, float headYaw) {
         this.session = session;
@@ -158,9 +166,15 @@ public class Entity {
         addEntityPacket.setPosition(position);
         addEntityPacket.setMotion(motion);
         addEntityPacket.setRotation(getBedrockRotation());
+        if (sentMetadata != null) {
+            addEntityPacket.getMetadata().putAll(sentMetadata);
+        }
         addEntityPacket.getMetadata().putFlags(flags);
         dirtyMetadata.apply(addEntityPacket.getMetadata());
         addAdditionalSpawnData(addEntityPacket);
+        if (sentMetadata != null) {
+            sentMetadata.putAll(addEntityPacket.getMetadata());
+        }
 
         valid = true;
         session.sendUpstreamPacket(addEntityPacket);
@@ -174,6 +188,16 @@ public class Entity {
         }
     }
 
+    /**
+     * Start keeping a copy of all metadata sent to the Bedrock client, so this entity can be despawned and spawned
+     * again without losing its state.
+     */
+    public void retainSentMetadata() {
+        if (sentMetadata == null) {
+            sentMetadata = new EntityDataMap();
+        }
+    }
+
     /**
      * To be overridden in other entity classes, if additional things need to be done to the spawn entity packet.
      */
@@ -214,14 +238,12 @@ public class Entity {
         setOnGround(isOnGround);
         this.position = Vector3f.from(position.getX() + relX, position.getY() + relY, position.getZ() + relZ);
 
-        MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
-        moveEntityPacket.setRuntimeEntityId(geyserId);
-        moveEntityPacket.setPosition(position);
-        moveEntityPacket.setRotation(getBedrockRotation());
-        moveEntityPacket.setOnGround(isOnGround);
-        moveEntityPacket.setTeleported(false);
+        if (!valid) {
+            // Not spawned on the Bedrock client (for example, hidden because it is out of range)
+            return;
+        }
 
-        session.sendUpstreamPacket(moveEntityPacket);
+        session.getEntityCache().moveEntity(this, false);
     }
 
     public void moveAbsolute(Vector3f position, float yaw, float pitch, boolean isOnGround, boolean teleported) {
@@ -236,11 +258,24 @@ public class Entity {
         setHeadYaw(headYaw);
         setOnGround(isOnGround);
 
+        if (!valid) {
+            return;
+        }
+
+        session.getEntityCache().moveEntity(this, teleported);
+    }
+
+    /**
+     * Sends the current position and rotation of this entity to the Bedrock client.
+     *
+     * @param teleported whether the client should skip interpolating to the new position
+     */
+    public void sendMovement(boolean teleported) {
         MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
         moveEntityPacket.setRuntimeEntityId(geyserId);
         moveEntityPacket.setPosition(position);
         moveEntityPacket.setRotation(getBedrockRotation());
-        moveEntityPacket.setOnGround(isOnGround);
+        moveEntityPacket.setOnGround(onGround);
         moveEntityPacket.setTeleported(teleported);
 
         session.sendUpstreamPacket(moveEntityPacket);
@@ -316,6 +351,9 @@ public class Entity {
                 flagsDirty = false;
             }
             dirtyMetadata.apply(entityDataPacket.getMetadata());
+            if (sentMetadata != null) {
+                sentMetadata.putAll(entityDataPacket.getMetadata());
+            }
             session.sendUpstreamPacket(entityDataPacket);
         }
     }
@@ -90,8 +90,10 @@ public class FishingHookEntity extends ThrowableEntity {
 
         boolean touchingWater = false;
         boolean collided = false;
-        for (BlockPositionIterator iter = session.getCollisionManager().collidableBlocksIterator(boundingBox); iter.hasNext(); iter.next()) {
-            int blockID = session.getGeyser().getWorldManager().getBlockAt(session, iter.getX(), iter.getY(), iter.getZ());
+        BlockPositionIterator iter = session.getCollisionManager().collidableBlocksIterator(boundingBox);
+        int[] blocks = session.getGeyser().getWorldManager().getBlocksInBox(session, iter);
+        for (; iter.hasNext(); iter.next()) {
+            int blockID = blocks[iter.getIndex()];
             BlockCollision blockCollision = BlockUtils.getCollision(blockID);
             if (blockCollision != null) {
                 if (blockCollision.checkIntersection(iter.getX(), iter.getY(), iter.getZ(), boundingBox)) {
@@ -51,6 +51,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.geyser.entity.EntityDefinition;
 import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
+import org.geysermc.geyser.entity.attribute.PendingAttributes;
 import org.geysermc.geyser.inventory.GeyserItemStack;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.registry.type.ItemMapping;
@@ -85,6 +86,13 @@ public class LivingEntity extends Entity {
      */
     private boolean isMaxFrozenState = false;
 
+    /**
+     * Attributes received while the entity was not spawned on the client. Null if there are none.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private PendingAttributes pendingAttributes;
+
     public LivingEntity(GeyserSession session, int entityId, long geyserId, UUID uuid, EntityDefinition<?> definition, Vector3f position, Vector3f motion, float yaw, float pitch, float headYaw) {
         super(session, entityId, geyserId, uuid, definition, position, motion, yaw, pitch, headYaw);
     }
@@ -273,7 +281,14 @@ public class LivingEntity extends Entity {
      * @param attributes the Java list of attributes sent from the server
      */
     public void updateBedrockAttributes(GeyserSession session, List<Attribute> attributes) {
-        if (!valid) return;
+        if (!valid) {
+            // Keep them for when the entity is spawned, as it may only be hidden because of its distance
+            if (pendingAttributes == null) {
+                pendingAttributes = new PendingAttributes();
+            }
+            pendingAttributes.add(attributes);
+            return;
+        }
 
         List<AttributeData> newAttributes = new ArrayList<>();
 
@@ -293,6 +308,37 @@ public class LivingEntity extends Entity {
         session.sendUpstreamPacket(updateAttributesPacket);
     }
 
+    /**
+     * Sends the attributes that changed while the entity was not spawned on the client, along with its health.
+     * Called when a hidden entity is spawned again.
+     */
+    public void sendPendingAttributes() {
+        UpdateAttributesPacket updateAttributesPacket = new UpdateAttributesPacket();
+        updateAttributesPacket.setRuntimeEntityId(geyserId);
+        updateAttributesPacket.setAttributes(drainPendingAttributes());
+        session.sendUpstreamPacket(updateAttributesPacket);
+    }
+
+    /**
+     * @return the Bedrock attributes that changed while the entity was not spawned on the client, always including its health
+     */
+    List<AttributeData> drainPendingAttributes() {
+        List<AttributeData> newAttributes = new ArrayList<>();
+        if (pendingAttributes != null) {
+            for (Attribute attribute : pendingAttributes.drain()) {
+                updateAttribute(attribute, newAttributes);
+            }
+            pendingAttributes = null;
+        }
+
+        // Health updates are sent even if the entity is not spawned, so the client has dropped them
+        String healthIdentifier = GeyserAttributeType.HEALTH.getBedrockIdentifier();
+        if (newAttributes.stream().noneMatch(attribute -> healthIdentifier.equals(attribute.getName()))) {
+            newAttributes.add(createHealthAttribute());
+        }
+        return newAttributes;
+    }
+
     /**
      * Takes the Java attribute and adds it to newAttributes as a Bedrock-formatted attribute
      */
@@ -47,6 +47,11 @@ public class SquidEntity extends WaterEntity implements Tickable {
 
     @Override
     public void tick() {
+        if (!valid) {
+            // Hidden from the client
+            return;
+        }
+
         boolean pitchChanged;
         boolean yawChanged;
         float oldPitch = pitch;
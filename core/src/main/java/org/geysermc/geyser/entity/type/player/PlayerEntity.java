@@ -71,6 +71,10 @@ public class PlayerEntity extends LivingEntity {
     private GameProfile profile;
     private String username;
     private boolean playerList = true;  // Player is in the player list
+    /**
+     * Whether the real skin has been sent to the client; set off the session thread once the skin is downloaded
+     */
+    private volatile boolean skinSent;
 
     private Vector3i bedPosition;
 
@@ -151,18 +155,7 @@ public class PlayerEntity extends LivingEntity {
 
         setOnGround(isOnGround);
 
-        MovePlayerPacket movePlayerPacket = new MovePlayerPacket();
-        movePlayerPacket.setRuntimeEntityId(geyserId);
-        movePlayerPacket.setPosition(this.position);
-        movePlayerPacket.setRotation(getBedrockRotation());
-        movePlayerPacket.setOnGround(isOnGround);
-        movePlayerPacket.setMode(teleported ? MovePlayerPacket.Mode.TELEPORT : MovePlayerPacket.Mode.NORMAL);
-
-        if (teleported) {
-            movePlayerPacket.setTeleportationCause(MovePlayerPacket.TeleportationCause.UNKNOWN);
-        }
-
-        session.sendUpstreamPacket(movePlayerPacket);
+        session.getEntityCache().moveEntity(this, teleported);
         if (leftParrot != null) {
             leftParrot.moveAbsolute(position, yaw, pitch, headYaw, true, teleported);
         }
@@ -180,23 +173,22 @@ public class PlayerEntity extends LivingEntity {
 
         setOnGround(isOnGround);
 
-        MovePlayerPacket movePlayerPacket = new MovePlayerPacket();
-        movePlayerPacket.setRuntimeEntityId(geyserId);
-        movePlayerPacket.setPosition(position);
-        movePlayerPacket.setRotation(getBedrockRotation());
-        movePlayerPacket.setOnGround(isOnGround);
-        movePlayerPacket.setMode(MovePlayerPacket.Mode.NORMAL);
         // If the player is moved while sleeping, we have to adjust their y, so it appears
         // correctly on Bedrock. This fixes GSit's lay.
-        if (getFlag(EntityFlag.SLEEPING)) {
-            if (bedPosition != null && (bedPosition.getY() == 0 || bedPosition.distanceSquared(position.toInt()) > 4)) {
-                // Force the player movement by using a teleport
-                movePlayerPacket.setPosition(Vector3f.from(position.getX(), position.getY() - definition.offset() + 0.2f, position.getZ()));
-                movePlayerPacket.setMode(MovePlayerPacket.Mode.TELEPORT);
-                movePlayerPacket.setTeleportationCause(MovePlayerPacket.TeleportationCause.UNKNOWN);
-            }
+        if (getFlag(EntityFlag.SLEEPING) && bedPosition != null && (bedPosition.getY() == 0 || bedPosition.distanceSquared(position.toInt()) > 4)) {
+            // Force the player movement by using a teleport, which a queued movement must not overwrite
+            session.getEntityCache().cancelPendingMovement(this);
+            MovePlayerPacket movePlayerPacket = new MovePlayerPacket();
+            movePlayerPacket.setRuntimeEntityId(geyserId);
+            movePlayerPacket.setPosition(Vector3f.from(position.getX(), position.getY() - definition.offset() + 0.2f, position.getZ()));
+            movePlayerPacket.setRotation(getBedrockRotation());
+            movePlayerPacket.setOnGround(isOnGround);
+            movePlayerPacket.setMode(MovePlayerPacket.Mode.TELEPORT);
+            movePlayerPacket.setTeleportationCause(MovePlayerPacket.TeleportationCause.UNKNOWN);
+            session.sendUpstreamPacket(movePlayerPacket);
+        } else {
+            session.getEntityCache().moveEntity(this, false);
         }
-        session.sendUpstreamPacket(movePlayerPacket);
         if (leftParrot != null) {
             leftParrot.moveRelative(relX, relY, relZ, yaw, pitch, headYaw, true);
         }
@@ -205,6 +197,22 @@ public class PlayerEntity extends LivingEntity {
         }
     }
 
+    @Override
+    public void sendMovement(boolean teleported) {
+        MovePlayerPacket movePlayerPacket = new MovePlayerPacket();
+        movePlayerPacket.setRuntimeEntityId(geyserId);
+        movePlayerPacket.setPosition(position);
+        movePlayerPacket.setRotation(getBedrockRotation());
+        movePlayerPacket.setOnGround(onGround);
+        movePlayerPacket.setMode(teleported ? MovePlayerPacket.Mode.TELEPORT : MovePlayerPacket.Mode.NORMAL);
+
+        if (teleported) {
+            movePlayerPacket.setTeleportationCause(MovePlayerPacket.TeleportationCause.UNKNOWN);
+        }
+
+        session.sendUpstreamPacket(movePlayerPacket);
+    }
+
     @Override
     public void updateHeadLookRotation(float headYaw) {
         moveRelative(0, 0, 0, getYaw(), getPitch(), headYaw, isOnGround());
@@ -228,11 +236,14 @@ public class PlayerEntity extends LivingEntity {
     }
 
     public void updateRotation(float yaw, float pitch, float headYaw, boolean isOnGround) {
-        // the method below is called by super.updateRotation(yaw, pitch, isOnGround).
-        // but we have to be able to set the headYaw, so we call the method below directly.
-        super.moveRelative(0, 0, 0, yaw, pitch, headYaw, isOnGround);
+        setYaw(yaw);
+        setPitch(pitch);
+        setHeadYaw(headYaw);
+        setOnGround(isOnGround);
 
         // Both packets need to be sent or else player head rotation isn't correctly updated
+        super.sendMovement(false);
+
         MovePlayerPacket movePlayerPacket = new MovePlayerPacket();
         movePlayerPacket.setRuntimeEntityId(geyserId);
         movePlayerPacket.setPosition(position);
@@ -37,6 +37,7 @@ import org.geysermc.geyser.session.cache.ChunkCache;
 import org.geysermc.geyser.translator.inventory.LecternInventoryTranslator;
 import org.geysermc.geyser.level.block.BlockStateValues;
 
+import java.util.Arrays;
 import java.util.Locale;
 
 public class GeyserWorldManager extends WorldManager {
@@ -52,6 +53,16 @@ public class GeyserWorldManager extends WorldManager {
         return BlockStateValues.JAVA_AIR_ID;
     }
 
+    @Override
+    public void getBlocksInBox(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        ChunkCache chunkCache = session.getChunkCache();
+        if (chunkCache != null) {
+            chunkCache.getBlocksInBox(minX, minY, minZ, maxX, maxY, maxZ, blocks);
+        } else {
+            Arrays.fill(blocks, BlockStateValues.JAVA_AIR_ID);
+        }
+    }
+
     @Override
     public boolean hasOwnChunkCache() {
         // This implementation can only fetch data from the session chunk cache
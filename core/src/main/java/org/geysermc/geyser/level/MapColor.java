@@ -276,6 +276,16 @@ public enum MapColor {
     COLOR_247(79, 88, 67);
 
     private static final MapColor[] VALUES = values();
+    /**
+     * The ARGB value of every possible (unsigned) Java color byte, so map data can be translated without going through the enum.
+     */
+    private static final int[] ARGB_VALUES = new int[256];
+
+    static {
+        for (int i = 0; i < ARGB_VALUES.length; i++) {
+            ARGB_VALUES[i] = fromId(i).getARGB();
+        }
+    }
 
     private final int value;
 
@@ -297,4 +307,12 @@ public enum MapColor {
     public int getARGB() {
         return value;
     }
+
+    /**
+     * @param colorId the Java color byte, as sent in map data
+     * @return the ARGB color for Bedrock
+     */
+    public static int toARGB(byte colorId) {
+        return ARGB_VALUES[colorId & 0xFF];
+    }
 }
\ No newline at end of file
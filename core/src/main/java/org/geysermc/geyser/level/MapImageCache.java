@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of translated map images shared between all sessions. Map art servers show the same maps to everyone,
+ * so each image is only translated once and every session references the same color array.
+ * <p>
+ * Only full images sent by the server are cached. Partial updates are applied to an image owned by the session,
+ * so changing maps do not fill the cache with every frame.
+ */
+public final class MapImageCache {
+    /**
+     * The width and height of a full map image.
+     */
+    public static final int MAP_SIZE = 128;
+
+    /**
+     * The approximate maximum amount of memory used by the cached images, in bytes.
+     */
+    private static final long MAXIMUM_SIZE = 64L * 1024 * 1024;
+
+    private static final Cache<Key, MapImage> CACHED_IMAGES = CacheBuilder.newBuilder()
+            .maximumWeight(MAXIMUM_SIZE)
+            .weigher((Key key, MapImage image) -> image.javaColors.length + image.colors.length * Integer.BYTES)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    private MapImageCache() {
+    }
+
+    /**
+     * Gets the translated image for the given full map data, translating it if it has not been seen before.
+     *
+     * @param mapId the Java map id
+     * @param javaColors the full 128x128 Java map color data. Must not be modified afterwards.
+     * @return a shared image with the translated colors
+     */
+    public static MapImage getImage(int mapId, byte[] javaColors) {
+        Key key = new Key(mapId, Arrays.hashCode(javaColors));
+        MapImage image;
+        try {
+            image = CACHED_IMAGES.get(key, () -> new MapImage(javaColors, translateColors(javaColors), true));
+        } catch (ExecutionException e) {
+            // Cannot happen, translating does not throw checked exceptions
+            return new MapImage(javaColors, translateColors(javaColors), true);
+        }
+        if (!Arrays.equals(image.javaColors, javaColors)) {
+            // Hash collision with another image of the same map id
+            image = new MapImage(javaColors, translateColors(javaColors), true);
+            CACHED_IMAGES.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Merges a partial map update into an existing image. Only the updated area is translated.
+     * A shared image is copied once; after that, the session's own copy is updated in place.
+     *
+     * @param image the current image of this map
+     * @param x the x offset of the update
+     * @param y the y offset of the update
+     * @param columns the width of the update
+     * @param rows the height of the update
+     * @param javaColors the Java colors of the updated area
+     * @return the image of the map after the update, owned by the session
+     */
+    public static MapImage merge(MapImage image, int x, int y, int columns, int rows, byte[] javaColors) {
+        if (image.shared) {
+            image = new MapImage(image.javaColors.clone(), image.colors.clone(), false);
+        }
+        int start = Math.max(0, -x);
+        int end = Math.min(columns, MAP_SIZE - x);
+        if (start >= end) {
+            return image;
+        }
+        for (int row = 0; row < rows; row++) {
+            int targetY = y + row;
+            if (targetY < 0 || targetY >= MAP_SIZE) {
+                continue;
+            }
+            int source = row * columns;
+            int target = targetY * MAP_SIZE + x;
+            for (int column = start; column < end; column++) {
+                byte color = javaColors[source + column];
+                image.javaColors[target + column] = color;
+                image.colors[target + column] = MapColor.toARGB(color);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Translates Java map colors into Bedrock ARGB colors.
+     */
+    public static int[] translateColors(byte[] javaColors) {
+        int[] colors = new int[javaColors.length];
+        for (int i = 0; i < javaColors.length; i++) {
+            colors[i] = MapColor.toARGB(javaColors[i]);
+        }
+        return colors;
+    }
+
+    /**
+     * A translated map image. Images from the cache are shared between sessions and never modified;
+     * images created by {@link #merge(MapImage, int, int, int, int, byte[])} belong to one session and are updated in place.
+     */
+    public static final class MapImage {
+        private final byte[] javaColors;
+        private final int[] colors;
+        private final boolean shared;
+
+        private MapImage(byte[] javaColors, int[] colors, boolean shared) {
+            this.javaColors = javaColors;
+            this.colors = colors;
+            this.shared = shared;
+        }
+
+        /**
+         * @return the Bedrock ARGB colors of this image. Must not be modified.
+         */
+        public int[] getColors() {
+            return colors;
+        }
+    }
+
+    private record Key(int mapId, int contentHash) {
+    }
+}
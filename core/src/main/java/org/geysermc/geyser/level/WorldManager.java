@@ -30,6 +30,7 @@ import com.github.steveice10.mc.protocol.data.game.entity.player.GameMode;
 import com.github.steveice10.mc.protocol.data.game.setting.Difficulty;
 import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.nbt.NbtMap;
+import org.geysermc.geyser.level.block.BlockPositionIterator;
 import org.geysermc.geyser.session.GeyserSession;
 
 /**
@@ -74,6 +75,40 @@ public abstract class WorldManager {
      */
     public abstract int getBlockAt(GeyserSession session, int x, int y, int z);
 
+    /**
+     * Gets the Java block states of every block covered by the iterator, in the order the iterator visits them.
+     * Use {@link BlockPositionIterator#getIndex()} to find the block state of the current position.
+     *
+     * @param session the session
+     * @param iter the area to get the blocks of
+     * @return the block states in the area
+     */
+    public int[] getBlocksInBox(GeyserSession session, BlockPositionIterator iter) {
+        int[] blocks = new int[iter.size()];
+        getBlocksInBox(session, iter.getMinX(), iter.getMinY(), iter.getMinZ(), iter.getMaxX(), iter.getMaxY(), iter.getMaxZ(), blocks);
+        return blocks;
+    }
+
+    /**
+     * Gets the Java block states of every block between the minimum and maximum coordinates, inclusive. The states are
+     * stored Z first, then X, then Y - the same order as a {@link BlockPositionIterator} over the same area.
+     * <p>
+     * Implementations should override this when looking up several blocks at once is cheaper than one at a time.
+     *
+     * @param session the session
+     * @param blocks the array to store the block states in
+     */
+    public void getBlocksInBox(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        int i = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    blocks[i++] = getBlockAt(session, x, y, z);
+                }
+            }
+        }
+    }
+
     /**
      * Checks whether or not this world manager requires a separate chunk cache/has access to more block data than the chunk cache.
      * <p>
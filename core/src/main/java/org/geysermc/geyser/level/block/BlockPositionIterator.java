@@ -26,6 +26,7 @@
 package org.geysermc.geyser.level.block;
 
 import com.nukkitx.network.util.Preconditions;
+import org.geysermc.geyser.session.GeyserSession;
 
 public class BlockPositionIterator {
     private final int minX;
@@ -33,6 +34,7 @@ public class BlockPositionIterator {
     private final int minZ;
 
     private final int sizeX;
+    private final int sizeY;
     private final int sizeZ;
 
     private int i = 0;
@@ -48,7 +50,7 @@ public class BlockPositionIterator {
         this.minZ = minZ;
 
         this.sizeX = maxX - minX + 1;
-        int sizeY = maxY - minY + 1;
+        this.sizeY = maxY - minY + 1;
         this.sizeZ = maxZ - minZ + 1;
         this.maxI = sizeX * sizeY * sizeZ;
     }
@@ -66,6 +68,45 @@ public class BlockPositionIterator {
         i = 0;
     }
 
+    /**
+     * @return the index of the current position, which is also its index in
+     * {@link org.geysermc.geyser.level.WorldManager#getBlocksInBox(GeyserSession, BlockPositionIterator)}
+     */
+    public int getIndex() {
+        return i;
+    }
+
+    /**
+     * @return the amount of positions this iterator covers
+     */
+    public int size() {
+        return maxI;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getMaxX() {
+        return minX + sizeX - 1;
+    }
+
+    public int getMaxY() {
+        return minY + sizeY - 1;
+    }
+
+    public int getMaxZ() {
+        return minZ + sizeZ - 1;
+    }
+
     public int getX() {
         return ((i / sizeZ) % sizeX) + minX;
     }
@@ -27,21 +27,32 @@ package org.geysermc.geyser.level.chunk;
 
 import com.nukkitx.network.VarInts;
 import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.geysermc.geyser.level.chunk.bitarray.BitArray;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
 
-import java.util.function.IntConsumer;
-
 @Getter
 public class BlockStorage {
 
     public static final int SIZE = 4096;
 
+    /**
+     * Up to this palette size, {@link #idFor(int)} scans the palette, which is faster than hashing for a few entries.
+     */
+    private static final int LINEAR_SEARCH_LIMIT = 16;
+
     private final IntList palette;
     private BitArray bitArray;
+    /**
+     * Maps runtime IDs to their index in the palette. Only created once the palette outgrows {@link #LINEAR_SEARCH_LIMIT},
+     * so the palette must not be modified outside of {@link #idFor(int)} afterwards.
+     */
+    @Getter(AccessLevel.NONE)
+    private Int2IntOpenHashMap reversePalette;
 
     public BlockStorage(int airBlockId) {
         this(airBlockId, BitArrayVersion.V2);
@@ -58,6 +69,46 @@ public class BlockStorage {
         this.bitArray = bitArray;
     }
 
+    /**
+     * Creates a block storage from the runtime ID of every block, building the palette in one pass and packing
+     * the bit array at its final size. Faster than {@link #setFullBlock(int, int)} for whole sections.
+     *
+     * @param blocks the runtime ID of every block in XZY order. It is overwritten with the palette index of every block.
+     */
+    public static BlockStorage fromBlocks(int[] blocks) {
+        IntList palette = new IntArrayList(64);
+        Int2IntOpenHashMap reversePalette = createReversePalette(64);
+        // Neighbouring blocks are often the same
+        int lastRuntimeId = -1;
+        int lastIndex = -1;
+        for (int i = 0; i < blocks.length; i++) {
+            int runtimeId = blocks[i];
+            if (runtimeId != lastRuntimeId) {
+                lastRuntimeId = runtimeId;
+                lastIndex = reversePalette.get(runtimeId);
+                if (lastIndex == -1) {
+                    lastIndex = palette.size();
+                    palette.add(runtimeId);
+                    reversePalette.put(runtimeId, lastIndex);
+                }
+            }
+            blocks[i] = lastIndex;
+        }
+
+        int bits = 32 - Integer.numberOfLeadingZeros(palette.size() - 1);
+        BlockStorage storage = new BlockStorage(BitArrayVersion.forBitsCeil(bits).pack(blocks), palette);
+        if (palette.size() > LINEAR_SEARCH_LIMIT) {
+            storage.reversePalette = reversePalette;
+        }
+        return storage;
+    }
+
+    private static Int2IntOpenHashMap createReversePalette(int expected) {
+        Int2IntOpenHashMap reversePalette = new Int2IntOpenHashMap(expected);
+        reversePalette.defaultReturnValue(-1);
+        return reversePalette;
+    }
+
     private static int getPaletteHeader(BitArrayVersion version, boolean runtime) {
         return (version.getId() << 1) | (runtime ? 1 : 0);
     }
@@ -74,12 +125,16 @@ public class BlockStorage {
     public void writeToNetwork(ByteBuf buffer) {
         buffer.writeByte(getPaletteHeader(bitArray.getVersion(), true));
 
-        for (int word : bitArray.getWords()) {
+        int[] words = bitArray.getWords();
+        buffer.ensureWritable(words.length * 4);
+        for (int word : words) {
             buffer.writeIntLE(word);
         }
 
         bitArray.writeSizeToNetwork(buffer, palette.size());
-        palette.forEach((IntConsumer) id -> VarInts.writeInt(buffer, id));
+        for (int i = 0; i < palette.size(); i++) {
+            VarInts.writeInt(buffer, palette.getInt(i));
+        }
     }
 
     public int estimateNetworkSize() {
@@ -93,22 +148,36 @@ public class BlockStorage {
     }
 
     private void onResize(BitArrayVersion version) {
-        BitArray newBitArray = version.createArray(SIZE);
-
-        for (int i = 0; i < SIZE; i++) {
-            newBitArray.set(i, this.bitArray.get(i));
+        if (this.bitArray.getVersion() == BitArrayVersion.V0) {
+            // Every block is the first palette entry
+            this.bitArray = version.createArray(SIZE);
+        } else {
+            this.bitArray = version.copyOf(this.bitArray);
         }
-        this.bitArray = newBitArray;
     }
 
     public int idFor(int runtimeId) { // Set to public so we can reuse the palette ID for biomes
-        int index = this.palette.indexOf(runtimeId);
+        int index;
+        if (this.reversePalette != null) {
+            index = this.reversePalette.get(runtimeId);
+        } else {
+            index = this.palette.indexOf(runtimeId);
+        }
         if (index != -1) {
             return index;
         }
 
         index = this.palette.size();
         this.palette.add(runtimeId);
+        if (this.reversePalette != null) {
+            this.reversePalette.put(runtimeId, index);
+        } else if (index >= LINEAR_SEARCH_LIMIT) {
+            this.reversePalette = createReversePalette(index * 2);
+            // Palettes from Java may map several states to the same runtime ID; keep the first like indexOf
+            for (int i = index; i >= 0; i--) {
+                this.reversePalette.put(this.palette.getInt(i), i);
+            }
+        }
         BitArrayVersion version = this.bitArray.getVersion();
         if (index > version.getMaxEntryValue()) {
             BitArrayVersion next = version.next();
@@ -91,6 +91,66 @@ public enum BitArrayVersion {
         return this.createArray(size, new int[MathUtils.ceil((float) size / entriesPerWord)]);
     }
 
+    /**
+     * Creates a bit array of this version holding the given values, packing whole words at a time.
+     * Every value must fit in this version.
+     */
+    public BitArray pack(int[] values) {
+        if (this == V0) {
+            return new SingletonBitArray();
+        }
+        int[] words = new int[getWordsForSize(values.length)];
+        int index = 0;
+        for (int i = 0; i < words.length; i++) {
+            int end = Math.min(index + entriesPerWord, values.length);
+            int word = 0;
+            for (int offset = 0; index < end; index++, offset += bits) {
+                word |= values[index] << offset;
+            }
+            words[i] = word;
+        }
+        return createArray(values.length, words);
+    }
+
+    /**
+     * Creates a bit array of this version holding the same values as the given array, copying whole words at
+     * a time instead of going through {@link BitArray#get(int)} and {@link BitArray#set(int, int)}.
+     * Every value must fit in this version.
+     */
+    public BitArray copyOf(BitArray array) {
+        BitArrayVersion from = array.getVersion();
+        if (this == V0) {
+            return new SingletonBitArray();
+        }
+        if (from == V0) {
+            throw new IllegalArgumentException("Singleton bit arrays do not know the size to copy");
+        }
+
+        int size = array.size();
+
+        int[] fromWords = array.getWords();
+        int[] words = new int[getWordsForSize(size)];
+        int index = 0;
+        int wordIndex = 0;
+        int word = 0;
+        int offset = 0;
+        for (int fromWord : fromWords) {
+            for (int fromOffset = 0, end = Math.min(index + from.entriesPerWord, size); index < end; index++, fromOffset += from.bits) {
+                word |= ((fromWord >>> fromOffset) & from.maxEntryValue) << offset;
+                offset += bits;
+                if (offset + bits > 32) {
+                    words[wordIndex++] = word;
+                    word = 0;
+                    offset = 0;
+                }
+            }
+        }
+        if (offset != 0) {
+            words[wordIndex] = word;
+        }
+        return createArray(size, words);
+    }
+
     public BitArray createArray(int size, int[] words) {
         if (this == V3 || this == V5 || this == V6) {
             // Padded palettes aren't able to use bitwise operations due to their padding.
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Picks the compression level of a session from its connection latency and the CPU usage of this server.
+ * Fast connections don't gain much from compression, so their level is lowered; slow connections get a higher
+ * level. When the CPU is busy, every session is lowered so compression doesn't slow down translation.
+ */
+public final class AdaptiveCompression {
+    /**
+     * How often the compression level is re-evaluated, in ticks.
+     */
+    private static final int EVALUATION_INTERVAL = 100;
+    /**
+     * How many evaluations in a row must agree on a new level before it is applied, so the level doesn't flip
+     * back and forth on a connection with unstable latency.
+     */
+    private static final int REQUIRED_AGREEMENTS = 3;
+
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 9;
+
+    /**
+     * The CPU usage of this process between 0 and 1, or a negative value if it is unknown.
+     */
+    private static volatile double cpuLoad = -1;
+    /**
+     * The number of seconds any session has spent at each compression level, indexed by level.
+     */
+    private static final AtomicLongArray SECONDS_AT_LEVEL = new AtomicLongArray(MAX_LEVEL + 1);
+    private static final AtomicLongArray LEVEL_CHANGES = new AtomicLongArray(MAX_LEVEL + 1);
+
+    private final GeyserSession session;
+    private final int baseLevel;
+
+    private int level;
+    private int candidateLevel;
+    private int agreements;
+    private int ticks;
+
+    public AdaptiveCompression(GeyserSession session, int baseLevel) {
+        this.session = session;
+        this.baseLevel = baseLevel;
+        this.level = baseLevel;
+        this.candidateLevel = baseLevel;
+    }
+
+    /**
+     * Starts measuring the CPU usage of this server. Should only be called once.
+     */
+    public static void startMonitoring(GeyserImpl geyser) {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        geyser.getScheduledThread().scheduleAtFixedRate(() -> {
+            if (bean instanceof com.sun.management.OperatingSystemMXBean sunBean) {
+                cpuLoad = sunBean.getProcessCpuLoad();
+            } else {
+                // Load average is not the same as usage, but is the closest we can get
+                double loadAverage = bean.getSystemLoadAverage();
+                cpuLoad = loadAverage < 0 ? -1 : loadAverage / bean.getAvailableProcessors();
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public void tick() {
+        if (++ticks < EVALUATION_INTERVAL) {
+            return;
+        }
+        ticks = 0;
+        SECONDS_AT_LEVEL.addAndGet(level, EVALUATION_INTERVAL / 20);
+
+        double currentCpuLoad = cpuLoad;
+        int target = computeLevel(baseLevel, session.getUpstream().getLatency(), currentCpuLoad);
+        if (target == level) {
+            agreements = 0;
+            return;
+        }
+        if (target != candidateLevel) {
+            candidateLevel = target;
+            agreements = 0;
+        }
+        // Don't wait when the server is overloaded
+        if (++agreements >= REQUIRED_AGREEMENTS || (target < level && currentCpuLoad >= 0.9)) {
+            level = target;
+            agreements = 0;
+            LEVEL_CHANGES.incrementAndGet(level);
+            session.getUpstream().getSession().setCompressionLevel(level);
+        }
+    }
+
+    /**
+     * @param baseLevel the configured compression level
+     * @param latency the round trip time of the connection in milliseconds, or a negative value if unknown
+     * @param cpuLoad the CPU usage between 0 and 1, or a negative value if unknown
+     */
+    static int computeLevel(int baseLevel, long latency, double cpuLoad) {
+        int level = baseLevel;
+        if (latency >= 0) {
+            if (latency <= 20) {
+                // Likely on the same network
+                level = MIN_LEVEL;
+            } else if (latency > 200) {
+                level = baseLevel + 2;
+            } else if (latency > 80) {
+                level = baseLevel + 1;
+            }
+        }
+        if (cpuLoad > 0.6) {
+            // One level lower for each 10% of CPU usage above 60%
+            level -= (int) ((cpuLoad - 0.6) * 10) + 1;
+        }
+        return Math.max(MIN_LEVEL, Math.min(level, MAX_LEVEL));
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the CPU usage of this process between 0 and 1, or a negative value if it is unknown
+     */
+    public static double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    /**
+     * @return the total number of seconds sessions have spent at this compression level
+     */
+    public static long getSecondsAtLevel(int level) {
+        return SECONDS_AT_LEVEL.get(level);
+    }
+
+    /**
+     * @return how often a session has switched to this compression level
+     */
+    public static long getLevelChanges(int level) {
+        return LEVEL_CHANGES.get(level);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * Matches addresses against a list of CIDR ranges. The ranges are stored as a binary trie of their prefix bits,
+ * so a lookup walks at most 32 (IPv4) or 128 (IPv6) nodes, no matter how many ranges there are.
+ */
+public class CIDRTrie {
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+
+    public CIDRTrie(List<String> ranges) {
+        for (String range : ranges) {
+            add(range);
+        }
+    }
+
+    /**
+     * @param range an IP address, optionally followed by a prefix length, for example {@code 172.18.0.0/16}
+     */
+    private void add(String range) {
+        String[] split = range.split("/", 2);
+
+        byte[] address;
+        try {
+            address = InetAddress.getByName(split[0]).getAddress();
+        } catch (UnknownHostException e) {
+            throw new RuntimeException(e);
+        }
+
+        int bits = address.length * 8;
+        int prefixLength = split.length == 2 ? Math.max(0, Math.min(Integer.parseInt(split[1]), bits)) : bits;
+
+        Node node = root(address);
+        for (int i = 0; i < prefixLength && !node.terminal; i++) {
+            int bit = bit(address, i);
+            if (node.children[bit] == null) {
+                node.children[bit] = new Node();
+            }
+            node = node.children[bit];
+        }
+        // Any longer ranges below are covered by this one now
+        node.terminal = true;
+        node.children[0] = null;
+        node.children[1] = null;
+    }
+
+    public boolean matches(InetAddress inetAddress) {
+        byte[] address = inetAddress.getAddress();
+        int bits = address.length * 8;
+
+        Node node = root(address);
+        for (int i = 0; !node.terminal; i++) {
+            if (i == bits) {
+                return false;
+            }
+            node = node.children[bit(address, i)];
+            if (node == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return !ipv4Root.terminal && ipv4Root.children[0] == null && ipv4Root.children[1] == null
+                && !ipv6Root.terminal && ipv6Root.children[0] == null && ipv6Root.children[1] == null;
+    }
+
+    private Node root(byte[] address) {
+        return address.length == 4 ? ipv4Root : ipv6Root;
+    }
+
+    private static int bit(byte[] address, int index) {
+        return (address[index >> 3] >> (7 - (index & 7))) & 1;
+    }
+
+    private static final class Node {
+        private final Node[] children = new Node[2];
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.nukkitx.network.VarInts;
+import com.nukkitx.protocol.bedrock.BedrockPacket;
+import com.nukkitx.protocol.bedrock.BedrockPacketCodec;
+import com.nukkitx.protocol.bedrock.BedrockServerSession;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.UpstreamSession;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+
+/**
+ * A cache of serialized and compressed batches for packets that are identical for many sessions, such as the
+ * biome definitions or the creative inventory. These are large, and compressing them again for every session
+ * that joins is a lot of work after a restart. Only encryption is still done per session.
+ */
+public final class CompressedPacketCache {
+    /**
+     * The approximate maximum amount of memory used by the compressed batches, in bytes.
+     */
+    private static final long MAXIMUM_SIZE = 32L * 1024 * 1024;
+
+    private static final Cache<Key, byte[]> COMPRESSED_PACKETS = CacheBuilder.newBuilder()
+            .maximumWeight(MAXIMUM_SIZE)
+            .weigher((Key key, byte[] compressed) -> compressed.length)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private CompressedPacketCache() {
+    }
+
+    /**
+     * Sends a packet to the session, compressing it only if no session with the same protocol version
+     * has sent it before. Packets queued before it are sent first.
+     *
+     * @param content identifies the content of the packet. Every packet created for an equal content and protocol
+     *                version must serialize to the same bytes.
+     * @param packetSupplier creates the packet if it is not cached yet
+     */
+    public static void sendPacket(GeyserSession session, Object content, Supplier<BedrockPacket> packetSupplier) {
+        UpstreamSession upstream = session.getUpstream();
+        if (upstream.isClosed()) {
+            return;
+        }
+
+        Key key = new Key(upstream.getProtocolVersion(), content);
+        byte[] compressed = COMPRESSED_PACKETS.getIfPresent(key);
+        if (compressed == null) {
+            MISSES.increment();
+            BedrockPacket packet = packetSupplier.get();
+            try {
+                compressed = deflate(serialize(upstream.getSession(), packet));
+            } catch (Exception e) {
+                GeyserImpl.getInstance().getLogger().error("Unable to compress " + packet.getClass().getSimpleName(), e);
+                upstream.sendPacketImmediately(packet);
+                return;
+            }
+            COMPRESSED_PACKETS.put(key, compressed);
+        } else {
+            HITS.increment();
+        }
+        session.getStatistics().bedrockPacketSent();
+        upstream.sendCompressed(compressed);
+    }
+
+    /**
+     * Sends a packet that is built for each session, but is often the same for many of them, such as the recipes
+     * of a server. The packet is still serialized for every session, but it is only compressed if no session with
+     * the same protocol version and locale has sent the same bytes before.
+     */
+    public static void sendPacket(GeyserSession session, BedrockPacket packet) {
+        UpstreamSession upstream = session.getUpstream();
+        if (upstream.isClosed()) {
+            return;
+        }
+
+        byte[] serialized;
+        try {
+            serialized = serialize(upstream.getSession(), packet);
+        } catch (Exception e) {
+            GeyserImpl.getInstance().getLogger().error("Unable to serialize " + packet.getClass().getSimpleName(), e);
+            session.sendUpstreamPacket(packet);
+            return;
+        }
+
+        // The key only holds the digest, so it costs next to nothing to compare and keep
+        Key key = new Key(upstream.getProtocolVersion(), List.of(session.getLocale(), Hashing.sha256().hashBytes(serialized)));
+        byte[] compressed = COMPRESSED_PACKETS.getIfPresent(key);
+        if (compressed == null) {
+            MISSES.increment();
+            compressed = deflate(serialized);
+            COMPRESSED_PACKETS.put(key, compressed);
+        } else {
+            HITS.increment();
+        }
+        session.getStatistics().bedrockPacketSent();
+        upstream.sendCompressed(compressed);
+    }
+
+    /**
+     * @return how many packets were sent from the cache
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return how many packets had to be compressed because they were not cached
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return the size of all cached batches in bytes
+     */
+    public static long getCachedBytes() {
+        long bytes = 0;
+        for (byte[] compressed : COMPRESSED_PACKETS.asMap().values()) {
+            bytes += compressed.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Serializes a packet into a single packet batch, the same way the protocol library does for every batch.
+     */
+    private static byte[] serialize(BedrockServerSession bedrockSession, BedrockPacket packet) {
+        BedrockPacketCodec codec = bedrockSession.getPacketCodec();
+        ByteBuf packetBuffer = ByteBufAllocator.DEFAULT.ioBuffer();
+        ByteBuf uncompressed = ByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            int header = codec.getId(packet) & 0x3ff;
+            header |= (packet.getSenderId() & 3) << 10;
+            header |= (packet.getClientId() & 3) << 12;
+            VarInts.writeUnsignedInt(packetBuffer, header);
+            codec.tryEncode(packetBuffer, packet, bedrockSession);
+
+            VarInts.writeUnsignedInt(uncompressed, packetBuffer.readableBytes());
+            uncompressed.writeBytes(packetBuffer);
+
+            byte[] input = new byte[uncompressed.readableBytes()];
+            uncompressed.readBytes(input);
+            return input;
+        } finally {
+            packetBuffer.release();
+            uncompressed.release();
+        }
+    }
+
+    /**
+     * Compresses a serialized batch with raw deflate as used by all supported Bedrock versions.
+     */
+    private static byte[] deflate(byte[] input) {
+        // Compressed once for all sessions, so the best compression is worth it
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(input.length / 4, 64));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private record Key(int protocolVersion, Object content) {
+    }
+}
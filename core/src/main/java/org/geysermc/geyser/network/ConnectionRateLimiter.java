@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how quickly new connections are accepted from one address, and from one subnet (/24 for IPv4, /64 for IPv6).
+ * Connections are checked before any session is created for them, so connection floods are turned away cheaply.
+ * Each address and subnet has a token bucket that refills its limit over one minute.
+ */
+public class ConnectionRateLimiter {
+    /**
+     * Bounds the memory used for buckets when connections come from many different addresses.
+     */
+    private static final int MAXIMUM_BUCKETS = 65536;
+
+    private final int addressLimit;
+    private final int subnetLimit;
+    private final LongSupplier nanoTime;
+
+    private final Cache<InetAddress, TokenBucket> addressBuckets = createBucketCache();
+    private final Cache<InetAddress, TokenBucket> subnetBuckets = createBucketCache();
+
+    /**
+     * @param addressLimit the connections per minute from one address, or 0 for no limit
+     * @param subnetLimit the connections per minute from one subnet, or 0 for no limit
+     */
+    public ConnectionRateLimiter(int addressLimit, int subnetLimit) {
+        this(addressLimit, subnetLimit, System::nanoTime);
+    }
+
+    ConnectionRateLimiter(int addressLimit, int subnetLimit, LongSupplier nanoTime) {
+        this.addressLimit = addressLimit;
+        this.subnetLimit = subnetLimit;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return true if a connection from this address may be accepted
+     */
+    public boolean tryAcquire(InetAddress address) {
+        long now = nanoTime.getAsLong();
+        TokenBucket addressBucket = addressLimit > 0 ? getBucket(addressBuckets, address) : null;
+        if (addressBucket != null && !addressBucket.tryAcquire(addressLimit, now)) {
+            // Checked first, so one flooding address does not use up the tokens of its whole subnet
+            return false;
+        }
+        if (subnetLimit > 0 && !getBucket(subnetBuckets, getSubnet(address)).tryAcquire(subnetLimit, now)) {
+            if (addressBucket != null) {
+                // The connection is refused, so it shouldn't count against the address either
+                addressBucket.refund(addressLimit);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static TokenBucket getBucket(Cache<InetAddress, TokenBucket> buckets, InetAddress key) {
+        try {
+            return buckets.get(key, TokenBucket::new);
+        } catch (ExecutionException e) {
+            // Cannot happen, creating a bucket does not throw
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static InetAddress getSubnet(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        // Keep the first 24 bits of IPv4 addresses, and the first 64 bits of IPv6 addresses
+        int prefixBytes = bytes.length == 4 ? 3 : 8;
+        for (int i = prefixBytes; i < bytes.length; i++) {
+            bytes[i] = 0;
+        }
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            // Cannot happen, the length is valid
+            return address;
+        }
+    }
+
+    private static Cache<InetAddress, TokenBucket> createBucketCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_BUCKETS)
+                // A bucket is full again after a minute, so it can be forgotten
+                .expireAfterAccess(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    private static final class TokenBucket {
+        private double tokens = -1;
+        private long lastRefill;
+
+        synchronized boolean tryAcquire(int limit, long now) {
+            if (tokens < 0) {
+                // New bucket
+                tokens = limit;
+            } else {
+                tokens = Math.min(limit, tokens + (now - lastRefill) * limit / (double) TimeUnit.MINUTES.toNanos(1));
+            }
+            lastRefill = now;
+
+            if (tokens >= 1) {
+                tokens--;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void refund(int limit) {
+            tokens = Math.min(limit, tokens + 1);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import com.nukkitx.protocol.bedrock.BedrockServerSession;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.channel.socket.DatagramPacket;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import org.geysermc.geyser.GeyserImpl;
@@ -63,27 +64,38 @@ public class ConnectorServerEventHandler implements BedrockServerEventHandler {
     // There is a constructor that doesn't require inputting threads, but older Netty versions don't have it
     private final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(0, new DefaultThreadFactory("Geyser player thread"));
 
+    /**
+     * Null if connections are not rate limited
+     */
+    private final ConnectionRateLimiter rateLimiter;
+
     public ConnectorServerEventHandler(GeyserImpl geyser) {
         this.geyser = geyser;
+
+        GeyserConfiguration.IBedrockConfiguration bedrockConfig = geyser.getConfig().getBedrock();
+        // With PROXY protocol, every connection comes from the proxy
+        if (!bedrockConfig.isEnableProxyProtocol() && (bedrockConfig.getConnectionRateLimit() > 0 || bedrockConfig.getSubnetConnectionRateLimit() > 0)) {
+            this.rateLimiter = new ConnectionRateLimiter(bedrockConfig.getConnectionRateLimit(), bedrockConfig.getSubnetConnectionRateLimit());
+        } else {
+            this.rateLimiter = null;
+        }
     }
 
     @Override
     public boolean onConnectionRequest(InetSocketAddress inetSocketAddress) {
         List<String> allowedProxyIPs = geyser.getConfig().getBedrock().getProxyProtocolWhitelistedIPs();
         if (geyser.getConfig().getBedrock().isEnableProxyProtocol() && !allowedProxyIPs.isEmpty()) {
-            boolean isWhitelistedIP = false;
-            for (CIDRMatcher matcher : geyser.getConfig().getBedrock().getWhitelistedIPsMatchers()) {
-                if (matcher.matches(inetSocketAddress.getAddress())) {
-                    isWhitelistedIP = true;
-                    break;
-                }
-            }
-
-            if (!isWhitelistedIP) {
+            if (!geyser.getConfig().getBedrock().getWhitelistedIPsTrie().matches(inetSocketAddress.getAddress())) {
                 return false;
             }
         }
 
+        if (rateLimiter != null && !rateLimiter.tryAcquire(inetSocketAddress.getAddress())) {
+            // Not logged at info level, as this would flood the console during a connection flood
+            geyser.getLogger().debug("Connection from " + inetSocketAddress + " was rate limited");
+            return false;
+        }
+
         geyser.getLogger().info(GeyserLocale.getLocaleStringLog("geyser.network.attempt_connect", inetSocketAddress));
         return true;
     }
@@ -172,7 +184,9 @@ public class ConnectorServerEventHandler implements BedrockServerEventHandler {
             bedrockServerSession.setPacketCodec(MinecraftProtocol.DEFAULT_BEDROCK_CODEC);
             bedrockServerSession.setLogging(true);
             bedrockServerSession.setCompressionLevel(geyser.getConfig().getBedrock().getCompressionLevel());
-            bedrockServerSession.setPacketHandler(new UpstreamPacketHandler(geyser, new GeyserSession(geyser, bedrockServerSession, eventLoopGroup.next())));
+            // With event loop affinity, translation runs on the same thread as the Bedrock connection
+            EventLoop eventLoop = geyser.getConfig().isEventLoopAffinity() ? bedrockServerSession.getEventLoop() : eventLoopGroup.next();
+            bedrockServerSession.setPacketHandler(new UpstreamPacketHandler(geyser, new GeyserSession(geyser, bedrockServerSession, eventLoop)));
             // Set the packet codec to default just in case we need to send disconnect packets.
         } catch (Throwable e) {
             // Error must be caught or it will be swallowed
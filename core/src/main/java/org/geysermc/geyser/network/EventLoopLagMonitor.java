@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.channel.EventLoop;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.GeyserSession;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long tasks wait before the event loops of the sessions get to them. Once a second, a task is queued
+ * on every event loop that runs a session, and the time until it runs is recorded. A high lag means every session
+ * on that event loop is responding late, usually because one of them is expensive.
+ */
+public final class EventLoopLagMonitor {
+    /**
+     * How many probes are kept for every event loop, which is also the number of seconds they cover.
+     */
+    private static final int HISTORY_SIZE = 60;
+
+    private final GeyserImpl geyser;
+    private final Map<EventLoop, LagHistory> histories = new ConcurrentHashMap<>();
+
+    public EventLoopLagMonitor(GeyserImpl geyser) {
+        this.geyser = geyser;
+    }
+
+    /**
+     * Starts probing the event loops. Should only be called once.
+     */
+    public void start() {
+        geyser.getScheduledThread().scheduleAtFixedRate(this::probe, 1, 1, TimeUnit.SECONDS);
+    }
+
+    private void probe() {
+        Set<EventLoop> eventLoops = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
+            eventLoops.add(session.getEventLoop());
+        }
+        // Forget event loops that no longer run any session
+        histories.keySet().retainAll(eventLoops);
+
+        for (EventLoop eventLoop : eventLoops) {
+            LagHistory history = histories.computeIfAbsent(eventLoop, k -> new LagHistory());
+            if (!history.startProbe()) {
+                // The last probe has not run yet; it will record the whole wait
+                continue;
+            }
+            long queuedAt = System.nanoTime();
+            eventLoop.execute(() -> history.record(System.nanoTime() - queuedAt));
+        }
+    }
+
+    /**
+     * @return the lag of the event loop, or null if it does not run any session
+     */
+    @Nullable
+    public Lag getLag(EventLoop eventLoop) {
+        LagHistory history = histories.get(eventLoop);
+        return history == null ? null : history.toLag();
+    }
+
+    /**
+     * @return the lag of every event loop that runs a session
+     */
+    public Map<EventLoop, Lag> getLags() {
+        Map<EventLoop, Lag> lags = new IdentityHashMap<>();
+        histories.forEach((eventLoop, history) -> lags.put(eventLoop, history.toLag()));
+        return lags;
+    }
+
+    /**
+     * @param last the lag of the most recent probe, or how long the current probe has been waiting if that is longer
+     * @param average the average lag over the last minute
+     * @param max the highest lag over the last minute
+     */
+    public record Lag(long last, long average, long max) {
+        @Override
+        public String toString() {
+            return String.format("last %.2fms, average %.2fms, max %.2fms", last / 1e6, average / 1e6, max / 1e6);
+        }
+    }
+
+    private static final class LagHistory {
+        private final long[] samples = new long[HISTORY_SIZE];
+        private int size;
+        private int next;
+        private long last;
+        /**
+         * When the probe that has not run yet was queued, or -1.
+         */
+        private long pendingSince = -1;
+
+        synchronized boolean startProbe() {
+            if (pendingSince != -1) {
+                return false;
+            }
+            pendingSince = System.nanoTime();
+            return true;
+        }
+
+        synchronized void record(long lag) {
+            pendingSince = -1;
+            last = lag;
+            samples[next] = lag;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        synchronized Lag toLag() {
+            long current = last;
+            if (pendingSince != -1) {
+                current = Math.max(current, System.nanoTime() - pendingSince);
+            }
+            long total = 0;
+            long max = current;
+            for (int i = 0; i < size; i++) {
+                total += samples[i];
+                max = Math.max(max, samples[i]);
+            }
+            return new Lag(current, size == 0 ? 0 : total / size, max);
+        }
+    }
+}
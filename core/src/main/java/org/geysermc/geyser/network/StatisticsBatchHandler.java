@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import com.nukkitx.protocol.bedrock.BedrockPacket;
+import com.nukkitx.protocol.bedrock.BedrockSession;
+import com.nukkitx.protocol.bedrock.handler.BatchHandler;
+import com.nukkitx.protocol.bedrock.handler.BedrockPacketHandler;
+import io.netty.buffer.ByteBuf;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.session.SessionStatistics;
+
+import java.util.Collection;
+
+/**
+ * Counts the batches a Bedrock client sends, then hands every packet to the packet handler of the session
+ * like the protocol library's default batch handler does.
+ */
+public class StatisticsBatchHandler implements BatchHandler {
+    private final SessionStatistics statistics;
+
+    public StatisticsBatchHandler(SessionStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void handle(BedrockSession session, ByteBuf compressed, Collection<BedrockPacket> packets) {
+        statistics.bedrockBatchReceived(compressed.readableBytes(), packets.size());
+
+        for (BedrockPacket packet : packets) {
+            BedrockPacketHandler handler = session.getPacketHandler();
+            if (handler == null || !packet.handle(handler)) {
+                GeyserImpl.getInstance().getLogger().debug("Unhandled packet for " + session.getAddress() + ": " + packet);
+            }
+        }
+    }
+}
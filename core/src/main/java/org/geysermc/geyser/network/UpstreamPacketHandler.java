@@ -34,7 +34,6 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.pack.ResourcePack;
 import org.geysermc.geyser.pack.ResourcePackManifest;
-import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
@@ -84,17 +83,13 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
 
         session.getUpstream().getSession().setPacketCodec(packetCodec);
 
-        // Set the block translation based off of version
-        session.setBlockMappings(BlockRegistries.BLOCKS.forVersion(loginPacket.getProtocolVersion()));
-        session.setItemMappings(Registries.ITEMS.forVersion(loginPacket.getProtocolVersion()));
-
-        LoginEncryptionUtils.encryptPlayerConnection(session, loginPacket);
-
-        if (session.isClosed()) {
-            // Can happen if Xbox validation fails
-            return true;
-        }
+        // Verifying the login and looking up the mappings for this version is done off this thread;
+        // the login continues once it is done
+        LoginEncryptionUtils.encryptPlayerConnection(session, loginPacket, this::onLoginVerified);
+        return true;
+    }
 
+    private void onLoginVerified() {
         PlayStatusPacket playStatus = new PlayStatusPacket();
         playStatus.setStatus(PlayStatusPacket.Status.LOGIN_SUCCESS);
         session.sendUpstreamPacket(playStatus);
@@ -112,7 +107,6 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         session.sendUpstreamPacket(resourcePacksInfo);
 
         GeyserLocale.loadGeyserLocale(session.getLocale());
-        return true;
     }
 
     @Override
@@ -47,11 +47,20 @@ public final class LocalSession extends TcpSession {
 
     private final SocketAddress targetAddress;
     private final String clientIp;
+    /**
+     * The event loop to run this connection on, or null to use the shared default group.
+     */
+    private final EventLoop eventLoop;
 
     public LocalSession(String host, int port, SocketAddress targetAddress, String clientIp, PacketProtocol protocol) {
+        this(host, port, targetAddress, clientIp, protocol, null);
+    }
+
+    public LocalSession(String host, int port, SocketAddress targetAddress, String clientIp, PacketProtocol protocol, EventLoop eventLoop) {
         super(host, port, protocol);
         this.targetAddress = targetAddress;
         this.clientIp = clientIp;
+        this.eventLoop = eventLoop;
     }
 
     @Override
@@ -60,7 +69,7 @@ public final class LocalSession extends TcpSession {
             throw new IllegalStateException("Connection has already been disconnected.");
         }
 
-        if (DEFAULT_EVENT_LOOP_GROUP == null) {
+        if (eventLoop == null && DEFAULT_EVENT_LOOP_GROUP == null) {
             DEFAULT_EVENT_LOOP_GROUP = new DefaultEventLoopGroup();
         }
 
@@ -84,7 +93,7 @@ public final class LocalSession extends TcpSession {
 
                     addHAProxySupport(pipeline);
                 }
-            }).group(DEFAULT_EVENT_LOOP_GROUP).option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getConnectTimeout() * 1000);
+            }).group(eventLoop != null ? eventLoop : DEFAULT_EVENT_LOOP_GROUP).option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getConnectTimeout() * 1000);
 
             if (PREFERRED_DIRECT_BYTE_BUF_ALLOCATOR != null) {
                 bootstrap.option(ChannelOption.ALLOCATOR, PREFERRED_DIRECT_BYTE_BUF_ALLOCATOR);
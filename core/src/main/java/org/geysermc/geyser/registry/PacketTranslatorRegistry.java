@@ -32,6 +32,7 @@ import io.netty.channel.EventLoop;
 import org.geysermc.common.PlatformType;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.SessionStatistics;
 import org.geysermc.geyser.registry.loader.RegistryLoaders;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.text.GeyserLocale;
@@ -64,7 +65,12 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
             if (!translator.shouldExecuteInEventLoop() || eventLoop.inEventLoop()) {
                 translate0(session, translator, packet);
             } else {
-                eventLoop.execute(() -> translate0(session, translator, packet));
+                SessionStatistics statistics = session.getStatistics();
+                statistics.taskQueued();
+                eventLoop.execute(() -> {
+                    statistics.taskStarted();
+                    translate0(session, translator, packet);
+                });
             }
             return true;
         } else {
@@ -82,11 +88,14 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
             return;
         }
 
+        long start = System.nanoTime();
         try {
             translator.translate(session, packet);
         } catch (Throwable ex) {
             GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.network.translator.packet.failed", packet.getClass().getSimpleName()), ex);
             ex.printStackTrace();
+        } finally {
+            session.getStatistics().addProcessingTime(System.nanoTime() - start);
         }
     }
 
@@ -25,7 +25,10 @@
 
 package org.geysermc.geyser.registry;
 
+import com.google.common.base.Suppliers;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import org.geysermc.geyser.registry.loader.RegistryLoader;
 
 import java.util.Map;
@@ -40,10 +43,36 @@ import java.util.function.Supplier;
  * @param <V> the value
  */
 public class VersionedRegistry<V> extends AbstractMappedRegistry<Integer, V, Int2ObjectMap<V>> {
+    /**
+     * Values that are only created once they are first requested.
+     */
+    private final Int2ObjectMap<Supplier<V>> lazyMappings = new Int2ObjectOpenHashMap<>();
+
     protected <I> VersionedRegistry(I input, RegistryLoader<I, Int2ObjectMap<V>> registryLoader) {
         super(input, registryLoader);
     }
 
+    /**
+     * Registers a version whose value is only created the first time it is requested through
+     * {@link #forVersion(int)}. The supplier is called at most once, even if multiple threads
+     * request the version at the same time.
+     *
+     * <p>Like {@link #register(Object, Object)}, this must only be called during startup.</p>
+     *
+     * @param version the version
+     * @param supplier creates the value for this version
+     */
+    public void registerLazily(int version, Supplier<V> supplier) {
+        this.lazyMappings.put(version, Suppliers.memoize(supplier::get));
+    }
+
+    /**
+     * @return the versions registered with {@link #registerLazily(int, Supplier)}
+     */
+    public IntSet lazyVersions() {
+        return this.lazyMappings.keySet();
+    }
+
     /**
      * Gets the closest value for the specified version. Only
      * returns versions higher up than the specified if one
@@ -69,6 +98,26 @@ public class VersionedRegistry<V> extends AbstractMappedRegistry<Integer, V, Int
                 current = entry;
             }
         }
+        if (this.lazyMappings.isEmpty()) {
+            return current == null ? null : current.getValue();
+        }
+
+        Int2ObjectMap.Entry<Supplier<V>> currentLazy = null;
+        for (Int2ObjectMap.Entry<Supplier<V>> entry : this.lazyMappings.int2ObjectEntrySet()) {
+            int currentVersion = entry.getIntKey();
+            if (version < currentVersion) {
+                continue;
+            }
+            if (version == currentVersion) {
+                return entry.getValue().get();
+            }
+            if (currentLazy == null || currentLazy.getIntKey() < currentVersion) {
+                currentLazy = entry;
+            }
+        }
+        if (currentLazy != null && (current == null || current.getIntKey() < currentLazy.getIntKey())) {
+            return currentLazy.getValue().get();
+        }
         return current == null ? null : current.getValue();
     }
 
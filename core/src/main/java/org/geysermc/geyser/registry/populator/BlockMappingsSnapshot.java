@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry.populator;
+
+import org.geysermc.geyser.GeyserImpl;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * Stores which Bedrock runtime ID every Java block state maps to, one file per Bedrock block palette, so a restart of
+ * the same Geyser build doesn't have to match every Java block state against the palette again.
+ * <p>
+ * A snapshot is only used if it was written by the same Geyser version, for a palette and Java block mappings with
+ * the same checksums, and if every runtime ID in it exists in the palette. Anything else is treated as a miss and the
+ * mappings are built from scratch.
+ */
+final class BlockMappingsSnapshot {
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * @param blocksJsonChecksum the checksum of the Java block mappings, see {@link #checksum(byte[])}
+     * @param bedrockBlockCount the number of block states in the palette
+     * @return the Java to Bedrock block mappings stored for this palette, or null if there is no valid snapshot
+     */
+    @Nullable
+    static int[] load(String paletteName, byte[] paletteBytes, long blocksJsonChecksum, int javaBlockCount, int bedrockBlockCount) {
+        Path file = getFile(paletteName);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(GeyserImpl.VERSION)
+                    || in.readLong() != checksum(paletteBytes) || in.readLong() != blocksJsonChecksum
+                    || in.readInt() != javaBlockCount) {
+                return null;
+            }
+
+            byte[] bytes = new byte[javaBlockCount * Integer.BYTES];
+            in.readFully(bytes);
+            int[] javaToBedrockBlocks = new int[javaBlockCount];
+            ByteBuffer.wrap(bytes).asIntBuffer().get(javaToBedrockBlocks);
+            for (int bedrockRuntimeId : javaToBedrockBlocks) {
+                if (bedrockRuntimeId < 0 || bedrockRuntimeId >= bedrockBlockCount) {
+                    GeyserImpl.getInstance().getLogger().debug("The block mappings snapshot " + file + " is corrupt");
+                    return null;
+                }
+            }
+            return javaToBedrockBlocks;
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to read the block mappings snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    static void save(String paletteName, byte[] paletteBytes, long blocksJsonChecksum, int[] javaToBedrockBlocks) {
+        Path file = getFile(paletteName);
+        try {
+            Files.createDirectories(file.getParent());
+            // Written next to the real file and moved over it, so a crash can't leave half a snapshot behind
+            Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(GeyserImpl.VERSION);
+                out.writeLong(checksum(paletteBytes));
+                out.writeLong(blocksJsonChecksum);
+                out.writeInt(javaToBedrockBlocks.length);
+
+                ByteBuffer buffer = ByteBuffer.allocate(javaToBedrockBlocks.length * Integer.BYTES);
+                buffer.asIntBuffer().put(javaToBedrockBlocks);
+                out.write(buffer.array());
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to write the block mappings snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Path getFile(String paletteName) {
+        return GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache")
+                .resolve("block_mappings." + paletteName + ".bin");
+    }
+
+    static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private BlockMappingsSnapshot() {
+    }
+}
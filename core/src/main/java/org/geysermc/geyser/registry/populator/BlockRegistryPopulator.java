@@ -40,11 +40,13 @@ import it.unimi.dsi.fastutil.objects.ObjectIntPair;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.physics.PistonBehavior;
+import org.geysermc.geyser.network.MinecraftProtocol;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.type.BlockMapping;
 import org.geysermc.geyser.registry.type.BlockMappings;
 import org.geysermc.geyser.util.BlockUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.InputStream;
 import java.util.ArrayDeque;
@@ -52,6 +54,7 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -114,6 +117,10 @@ public class BlockRegistryPopulator {
      * Stores the raw blocks JSON until it is no longer needed.
      */
     private static JsonNode BLOCKS_JSON;
+    /**
+     * The checksum of the Java block mappings, so a block mappings snapshot is not used with different mappings.
+     */
+    private static volatile long BLOCKS_JSON_CHECKSUM;
 
     public static void populate() {
         registerJavaBlocks();
@@ -123,138 +130,171 @@ public class BlockRegistryPopulator {
     }
 
     private static void registerBedrockBlocks() {
-        for (Map.Entry<ObjectIntPair<String>, BiFunction<String, NbtMapBuilder, String>> palette : BLOCK_MAPPERS.entrySet()) {
-            NbtList<NbtMap> blocksTag;
-            try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResource(String.format("bedrock/block_palette.%s.nbt", palette.getKey().key()));
-                 NBTInputStream nbtInputStream = new NBTInputStream(new DataInputStream(new GZIPInputStream(stream)), true, true)) {
-                NbtMap blockPalette = (NbtMap) nbtInputStream.readTag();
-                blocksTag = (NbtList<NbtMap>) blockPalette.getList("blocks", NbtType.COMPOUND);
-            } catch (Exception e) {
-                throw new AssertionError("Unable to get blocks from runtime block states", e);
+        if (GeyserImpl.getInstance().getConfig().isLazyRegistries()) {
+            // Only the default version is needed right away; the others are built when a player on that version joins
+            int defaultVersion = MinecraftProtocol.DEFAULT_BEDROCK_CODEC.getProtocolVersion();
+            for (Map.Entry<ObjectIntPair<String>, BiFunction<String, NbtMapBuilder, String>> palette : BLOCK_MAPPERS.entrySet()) {
+                if (palette.getKey().valueInt() == defaultVersion) {
+                    BlockRegistries.BLOCKS.register(defaultVersion, createBlockMappings(BLOCKS_JSON, palette.getKey(), palette.getValue()));
+                } else {
+                    // The Java block JSON is dropped after startup, so it has to be read again
+                    BlockRegistries.BLOCKS.registerLazily(palette.getKey().valueInt(),
+                            () -> createBlockMappings(loadBlocksJson(), palette.getKey(), palette.getValue()));
+                }
             }
-            Map<String, NbtMap> javaIdentifierToBedrockTag = new Object2ObjectOpenHashMap<>(blocksTag.size());
-            // New since 1.16.100 - find the block runtime ID by the order given to us in the block palette,
-            // as we no longer send a block palette
-            Object2IntMap<NbtMap> blockStateOrderedMap = new Object2IntOpenHashMap<>(blocksTag.size());
+            return;
+        }
+
+        // Each palette only reads the shared Java block JSON, so all Bedrock versions can be mapped at once.
+        // The registries themselves aren't thread-safe, so registering stays on this thread.
+        Map<ObjectIntPair<String>, BlockMappings> blockMappings = BLOCK_MAPPERS.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, palette -> createBlockMappings(BLOCKS_JSON, palette.getKey(), palette.getValue())));
+
+        for (Map.Entry<ObjectIntPair<String>, BlockMappings> entry : blockMappings.entrySet()) {
+            BlockRegistries.BLOCKS.register(entry.getKey().valueInt(), entry.getValue());
+        }
+    }
+
+    private static BlockMappings createBlockMappings(JsonNode blocksJson, ObjectIntPair<String> version, BiFunction<String, NbtMapBuilder, String> stateMapper) {
+        byte[] paletteBytes;
+        NbtList<NbtMap> blocksTag;
+        try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResource(String.format("bedrock/block_palette.%s.nbt", version.key()))) {
+            paletteBytes = stream.readAllBytes();
+        } catch (Exception e) {
+            throw new AssertionError("Unable to get blocks from runtime block states", e);
+        }
+        try (NBTInputStream nbtInputStream = new NBTInputStream(new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(paletteBytes))), true, true)) {
+            NbtMap blockPalette = (NbtMap) nbtInputStream.readTag();
+            blocksTag = (NbtList<NbtMap>) blockPalette.getList("blocks", NbtType.COMPOUND);
+        } catch (Exception e) {
+            throw new AssertionError("Unable to get blocks from runtime block states", e);
+        }
+        Map<String, NbtMap> javaIdentifierToBedrockTag = new Object2ObjectOpenHashMap<>(blocksTag.size());
+        int stateVersion = blocksTag.get(0).getInt("version");
+
+        boolean useSnapshot = GeyserImpl.getInstance().getConfig().isRegistrySnapshot();
+        int[] snapshot = useSnapshot ? BlockMappingsSnapshot.load(version.key(), paletteBytes, BLOCKS_JSON_CHECKSUM, blocksJson.size(), blocksTag.size()) : null;
 
-            int stateVersion = -1;
+        // New since 1.16.100 - find the block runtime ID by the order given to us in the block palette,
+        // as we no longer send a block palette. Not needed if the snapshot already has the runtime IDs.
+        Object2IntMap<NbtMap> blockStateOrderedMap = null;
+        if (snapshot == null) {
+            blockStateOrderedMap = new Object2IntOpenHashMap<>(blocksTag.size());
             for (int i = 0; i < blocksTag.size(); i++) {
                 NbtMap tag = blocksTag.get(i);
                 if (blockStateOrderedMap.containsKey(tag)) {
                     throw new AssertionError("Duplicate block states in Bedrock palette: " + tag);
                 }
                 blockStateOrderedMap.put(tag, i);
-                if (stateVersion == -1) {
-                    stateVersion = tag.getInt("version");
-                }
             }
-            int airRuntimeId = -1;
-            int commandBlockRuntimeId = -1;
-            int javaRuntimeId = -1;
-            int waterRuntimeId = -1;
-            int movingBlockRuntimeId = -1;
-            Iterator<Map.Entry<String, JsonNode>> blocksIterator = BLOCKS_JSON.fields();
-
-            BiFunction<String, NbtMapBuilder, String> stateMapper = BLOCK_MAPPERS.getOrDefault(palette.getKey(), EMPTY_MAPPER);
-
-            int[] javaToBedrockBlocks = new int[BLOCKS_JSON.size()];
-
-            Map<String, NbtMap> flowerPotBlocks = new Object2ObjectOpenHashMap<>();
-            Object2IntMap<NbtMap> itemFrames = new Object2IntOpenHashMap<>();
-
-            IntSet jigsawStateIds = new IntOpenHashSet();
-
-            BlockMappings.BlockMappingsBuilder builder = BlockMappings.builder();
-            while (blocksIterator.hasNext()) {
-                javaRuntimeId++;
-                Map.Entry<String, JsonNode> entry = blocksIterator.next();
-                String javaId = entry.getKey();
+        }
+        int airRuntimeId = -1;
+        int commandBlockRuntimeId = -1;
+        int javaRuntimeId = -1;
+        int waterRuntimeId = -1;
+        int movingBlockRuntimeId = -1;
+        Iterator<Map.Entry<String, JsonNode>> blocksIterator = blocksJson.fields();
 
-                int bedrockRuntimeId = blockStateOrderedMap.getOrDefault(buildBedrockState(entry.getValue(), stateVersion, stateMapper), -1);
-                if (bedrockRuntimeId == -1) {
-                    throw new RuntimeException("Unable to find " + javaId + " Bedrock runtime ID! Built NBT tag: \n" +
-                            buildBedrockState(entry.getValue(), stateVersion, stateMapper));
-                }
+        int[] javaToBedrockBlocks = new int[blocksJson.size()];
 
-                switch (javaId) {
-                    case "minecraft:air" -> airRuntimeId = bedrockRuntimeId;
-                    case "minecraft:water[level=0]" -> waterRuntimeId = bedrockRuntimeId;
-                    case "minecraft:command_block[conditional=false,facing=north]" -> commandBlockRuntimeId = bedrockRuntimeId;
-                    case "minecraft:moving_piston[facing=north,type=normal]" -> movingBlockRuntimeId = bedrockRuntimeId;
-                }
+        Map<String, NbtMap> flowerPotBlocks = new Object2ObjectOpenHashMap<>();
+        Object2IntMap<NbtMap> itemFrames = new Object2IntOpenHashMap<>();
 
-                if (javaId.contains("jigsaw")) {
-                    jigsawStateIds.add(bedrockRuntimeId);
-                }
+        IntSet jigsawStateIds = new IntOpenHashSet();
 
-                boolean waterlogged = entry.getKey().contains("waterlogged=true")
-                        || javaId.contains("minecraft:bubble_column") || javaId.contains("minecraft:kelp") || javaId.contains("seagrass");
+        BlockMappings.BlockMappingsBuilder builder = BlockMappings.builder();
+        while (blocksIterator.hasNext()) {
+            javaRuntimeId++;
+            Map.Entry<String, JsonNode> entry = blocksIterator.next();
+            String javaId = entry.getKey();
 
-                if (waterlogged) {
-                    int finalJavaRuntimeId = javaRuntimeId;
-                    BlockRegistries.WATERLOGGED.register(set -> set.add(finalJavaRuntimeId));
-                }
+            int bedrockRuntimeId = snapshot != null ? snapshot[javaRuntimeId]
+                    : blockStateOrderedMap.getOrDefault(buildBedrockState(entry.getValue(), stateVersion, stateMapper), -1);
+            if (bedrockRuntimeId == -1) {
+                throw new RuntimeException("Unable to find " + javaId + " Bedrock runtime ID! Built NBT tag: \n" +
+                        buildBedrockState(entry.getValue(), stateVersion, stateMapper));
+            }
 
-                String cleanJavaIdentifier = BlockUtils.getCleanIdentifier(entry.getKey());
+            switch (javaId) {
+                case "minecraft:air" -> airRuntimeId = bedrockRuntimeId;
+                case "minecraft:water[level=0]" -> waterRuntimeId = bedrockRuntimeId;
+                case "minecraft:command_block[conditional=false,facing=north]" -> commandBlockRuntimeId = bedrockRuntimeId;
+                case "minecraft:moving_piston[facing=north,type=normal]" -> movingBlockRuntimeId = bedrockRuntimeId;
+            }
 
-                // Get the tag needed for non-empty flower pots
-                if (entry.getValue().get("pottable") != null) {
-                    flowerPotBlocks.put(cleanJavaIdentifier.intern(), blocksTag.get(bedrockRuntimeId));
-                }
+            if (javaId.contains("jigsaw")) {
+                jigsawStateIds.add(bedrockRuntimeId);
+            }
 
-                if (!cleanJavaIdentifier.equals(entry.getValue().get("bedrock_identifier").asText())) {
-                    javaIdentifierToBedrockTag.put(cleanJavaIdentifier.intern(), blocksTag.get(bedrockRuntimeId));
-                }
+            String cleanJavaIdentifier = BlockUtils.getCleanIdentifier(entry.getKey());
 
-                javaToBedrockBlocks[javaRuntimeId] = bedrockRuntimeId;
+            // Get the tag needed for non-empty flower pots
+            if (entry.getValue().get("pottable") != null) {
+                flowerPotBlocks.put(cleanJavaIdentifier.intern(), blocksTag.get(bedrockRuntimeId));
             }
 
-            if (commandBlockRuntimeId == -1) {
-                throw new AssertionError("Unable to find command block in palette");
+            if (!cleanJavaIdentifier.equals(entry.getValue().get("bedrock_identifier").asText())) {
+                javaIdentifierToBedrockTag.put(cleanJavaIdentifier.intern(), blocksTag.get(bedrockRuntimeId));
             }
-            builder.commandBlockRuntimeId(commandBlockRuntimeId);
 
-            if (waterRuntimeId == -1) {
-                throw new AssertionError("Unable to find water in palette");
-            }
-            builder.bedrockWaterId(waterRuntimeId);
+            javaToBedrockBlocks[javaRuntimeId] = bedrockRuntimeId;
+        }
 
-            if (airRuntimeId == -1) {
-                throw new AssertionError("Unable to find air in palette");
-            }
-            builder.bedrockAirId(airRuntimeId);
+        if (commandBlockRuntimeId == -1) {
+            throw new AssertionError("Unable to find command block in palette");
+        }
+        builder.commandBlockRuntimeId(commandBlockRuntimeId);
 
-            if (movingBlockRuntimeId == -1) {
-                throw new AssertionError("Unable to find moving block in palette");
-            }
-            builder.bedrockMovingBlockId(movingBlockRuntimeId);
+        if (waterRuntimeId == -1) {
+            throw new AssertionError("Unable to find water in palette");
+        }
+        builder.bedrockWaterId(waterRuntimeId);
 
-            // Loop around again to find all item frame runtime IDs
-            for (Object2IntMap.Entry<NbtMap> entry : blockStateOrderedMap.object2IntEntrySet()) {
-                String name = entry.getKey().getString("name");
-                if (name.equals("minecraft:frame") || name.equals("minecraft:glow_frame")) {
-                    itemFrames.put(entry.getKey(), entry.getIntValue());
-                }
+        if (airRuntimeId == -1) {
+            throw new AssertionError("Unable to find air in palette");
+        }
+        builder.bedrockAirId(airRuntimeId);
+
+        if (movingBlockRuntimeId == -1) {
+            throw new AssertionError("Unable to find moving block in palette");
+        }
+        builder.bedrockMovingBlockId(movingBlockRuntimeId);
+
+        // Loop around again to find all item frame runtime IDs
+        for (int i = 0; i < blocksTag.size(); i++) {
+            NbtMap tag = blocksTag.get(i);
+            String name = tag.getString("name");
+            if (name.equals("minecraft:frame") || name.equals("minecraft:glow_frame")) {
+                itemFrames.put(tag, i);
             }
-            builder.bedrockBlockStates(blocksTag);
-
-            BlockRegistries.BLOCKS.register(palette.getKey().valueInt(), builder.blockStateVersion(stateVersion)
-                    .javaToBedrockBlocks(javaToBedrockBlocks)
-                    .javaIdentifierToBedrockTag(javaIdentifierToBedrockTag)
-                    .itemFrames(itemFrames)
-                    .flowerPotBlocks(flowerPotBlocks)
-                    .jigsawStateIds(jigsawStateIds)
-                    .build());
         }
+        builder.bedrockBlockStates(blocksTag);
+
+        if (useSnapshot && snapshot == null) {
+            BlockMappingsSnapshot.save(version.key(), paletteBytes, BLOCKS_JSON_CHECKSUM, javaToBedrockBlocks);
+        }
+
+        return builder.blockStateVersion(stateVersion)
+                .javaToBedrockBlocks(javaToBedrockBlocks)
+                .javaIdentifierToBedrockTag(javaIdentifierToBedrockTag)
+                .itemFrames(itemFrames)
+                .flowerPotBlocks(flowerPotBlocks)
+                .jigsawStateIds(jigsawStateIds)
+                .build();
     }
 
-    private static void registerJavaBlocks() {
-        JsonNode blocksJson;
+    private static JsonNode loadBlocksJson() {
         try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResource("mappings/blocks.json")) {
-            blocksJson = GeyserImpl.JSON_MAPPER.readTree(stream);
+            byte[] bytes = stream.readAllBytes();
+            BLOCKS_JSON_CHECKSUM = BlockMappingsSnapshot.checksum(bytes);
+            return GeyserImpl.JSON_MAPPER.readTree(bytes);
         } catch (Exception e) {
             throw new AssertionError("Unable to load Java block mappings", e);
         }
+    }
+
+    private static void registerJavaBlocks() {
+        JsonNode blocksJson = loadBlocksJson();
 
         BlockRegistries.JAVA_BLOCKS.set(new BlockMapping[blocksJson.size()]); // Set array size to number of blockstates
 
@@ -320,6 +360,14 @@ public class BlockRegistryPopulator {
 
             BlockStateValues.storeBlockStateValues(entry.getKey(), javaRuntimeId, entry.getValue());
 
+            boolean waterlogged = javaId.contains("waterlogged=true")
+                    || javaId.contains("minecraft:bubble_column") || javaId.contains("minecraft:kelp") || javaId.contains("seagrass");
+
+            if (waterlogged) {
+                int finalJavaRuntimeId = javaRuntimeId;
+                BlockRegistries.WATERLOGGED.register(set -> set.add(finalJavaRuntimeId));
+            }
+
             String cleanJavaIdentifier = BlockUtils.getCleanIdentifier(entry.getKey());
             String bedrockIdentifier = entry.getValue().get("bedrock_identifier").asText();
 
@@ -26,6 +26,7 @@
 package org.geysermc.geyser.registry.populator;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Suppliers;
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
 import com.github.steveice10.mc.protocol.data.game.recipe.Ingredient;
 import com.github.steveice10.mc.protocol.data.game.recipe.RecipeType;
@@ -50,6 +51,8 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.geysermc.geyser.util.InventoryUtils.LAST_RECIPE_NET_ID;
 
@@ -58,74 +61,94 @@ import static org.geysermc.geyser.util.InventoryUtils.LAST_RECIPE_NET_ID;
  */
 public class RecipeRegistryPopulator {
 
+    private record VersionRecipes(Map<RecipeType, List<CraftingData>> craftingData, Int2ObjectMap<GeyserRecipe> recipes, int lastNetId) {
+    }
+
     public static void populate() {
-        JsonNode items;
+        JsonNode items = loadRecipes();
+
+        // Make a bit of an assumption here that the last recipe net ID will be equivalent between all versions
+        int currentRecipeId = LAST_RECIPE_NET_ID;
+        for (Int2ObjectMap.Entry<ItemMappings> version : Registries.ITEMS.get().int2ObjectEntrySet()) {
+            VersionRecipes recipes = createRecipes(items, version.getValue(), currentRecipeId);
+            Registries.CRAFTING_DATA.register(version.getIntKey(), recipes.craftingData());
+            Registries.RECIPES.register(version.getIntKey(), recipes.recipes());
+            LAST_RECIPE_NET_ID = recipes.lastNetId();
+        }
+
+        // Versions whose items are only loaded on demand get their recipes on demand too
+        for (int version : Registries.ITEMS.lazyVersions()) {
+            Supplier<VersionRecipes> recipes = Suppliers.memoize(() -> createRecipes(loadRecipes(), Registries.ITEMS.forVersion(version), currentRecipeId));
+            Registries.CRAFTING_DATA.registerLazily(version, () -> recipes.get().craftingData());
+            Registries.RECIPES.registerLazily(version, () -> recipes.get().recipes());
+        }
+    }
+
+    private static JsonNode loadRecipes() {
         try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResource("mappings/recipes.json")) {
-            items = GeyserImpl.JSON_MAPPER.readTree(stream);
+            return GeyserImpl.JSON_MAPPER.readTree(stream);
         } catch (Exception e) {
             throw new AssertionError(GeyserLocale.getLocaleStringLog("geyser.toolbox.fail.runtime_java"), e);
         }
+    }
 
-        int currentRecipeId = LAST_RECIPE_NET_ID;
-        for (Int2ObjectMap.Entry<ItemMappings> version : Registries.ITEMS.get().int2ObjectEntrySet()) {
-            // Make a bit of an assumption here that the last recipe net ID will be equivalent between all versions
-            LAST_RECIPE_NET_ID = currentRecipeId;
-            Map<RecipeType, List<CraftingData>> craftingData = new EnumMap<>(RecipeType.class);
-            Int2ObjectMap<GeyserRecipe> recipes = new Int2ObjectOpenHashMap<>();
-
-            craftingData.put(RecipeType.CRAFTING_SPECIAL_BOOKCLONING,
-                    Collections.singletonList(CraftingData.fromMulti(UUID.fromString("d1ca6b84-338e-4f2f-9c6b-76cc8b4bd98d"), ++LAST_RECIPE_NET_ID)));
-            craftingData.put(RecipeType.CRAFTING_SPECIAL_REPAIRITEM,
-                    Collections.singletonList(CraftingData.fromMulti(UUID.fromString("00000000-0000-0000-0000-000000000001"), ++LAST_RECIPE_NET_ID)));
-            craftingData.put(RecipeType.CRAFTING_SPECIAL_MAPEXTENDING,
-                    Collections.singletonList(CraftingData.fromMulti(UUID.fromString("d392b075-4ba1-40ae-8789-af868d56f6ce"), ++LAST_RECIPE_NET_ID)));
-            craftingData.put(RecipeType.CRAFTING_SPECIAL_MAPCLONING,
-                    Collections.singletonList(CraftingData.fromMulti(UUID.fromString("85939755-ba10-4d9d-a4cc-efb7a8e943c4"), ++LAST_RECIPE_NET_ID)));
-            craftingData.put(RecipeType.CRAFTING_SPECIAL_BANNERADDPATTERN,
-                    Collections.singletonList(CraftingData.fromMulti(UUID.fromString("b5c5d105-75a2-4076-af2b-923ea2bf4bf0"), ++LAST_RECIPE_NET_ID)));
-
-            // https://github.com/pmmp/PocketMine-MP/blob/stable/src/pocketmine/inventory/MultiRecipe.php
-
-            for (JsonNode entry : items.get("leather_armor")) {
-                // This won't be perfect, as we can't possibly send every leather input for every kind of color
-                // But it does display the correct output from a base leather armor, and besides visuals everything works fine
-                craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_ARMORDYE,
-                        c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, version.getValue()));
-            }
-            for (JsonNode entry : items.get("firework_rockets")) {
-                craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_FIREWORK_ROCKET,
-                        c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, version.getValue()));
-            }
-            for (JsonNode entry : items.get("firework_stars")) {
-                craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_FIREWORK_STAR,
-                        c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, version.getValue()));
-            }
-            for (JsonNode entry : items.get("shulker_boxes")) {
-                craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_SHULKERBOXCOLORING,
-                        c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, version.getValue()));
-            }
-            for (JsonNode entry : items.get("suspicious_stew")) {
-                craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_SUSPICIOUSSTEW,
-                        c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, version.getValue()));
-            }
-            for (JsonNode entry : items.get("tipped_arrows")) {
-                craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_TIPPEDARROW,
-                        c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, version.getValue()));
-            }
-
-            Registries.CRAFTING_DATA.register(version.getIntKey(), craftingData);
-            Registries.RECIPES.register(version.getIntKey(), recipes);
+    private static VersionRecipes createRecipes(JsonNode items, ItemMappings mappings, int startNetId) {
+        AtomicInteger netId = new AtomicInteger(startNetId);
+        Map<RecipeType, List<CraftingData>> craftingData = new EnumMap<>(RecipeType.class);
+        Int2ObjectMap<GeyserRecipe> recipes = new Int2ObjectOpenHashMap<>();
+
+        craftingData.put(RecipeType.CRAFTING_SPECIAL_BOOKCLONING,
+                Collections.singletonList(CraftingData.fromMulti(UUID.fromString("d1ca6b84-338e-4f2f-9c6b-76cc8b4bd98d"), netId.incrementAndGet())));
+        craftingData.put(RecipeType.CRAFTING_SPECIAL_REPAIRITEM,
+                Collections.singletonList(CraftingData.fromMulti(UUID.fromString("00000000-0000-0000-0000-000000000001"), netId.incrementAndGet())));
+        craftingData.put(RecipeType.CRAFTING_SPECIAL_MAPEXTENDING,
+                Collections.singletonList(CraftingData.fromMulti(UUID.fromString("d392b075-4ba1-40ae-8789-af868d56f6ce"), netId.incrementAndGet())));
+        craftingData.put(RecipeType.CRAFTING_SPECIAL_MAPCLONING,
+                Collections.singletonList(CraftingData.fromMulti(UUID.fromString("85939755-ba10-4d9d-a4cc-efb7a8e943c4"), netId.incrementAndGet())));
+        craftingData.put(RecipeType.CRAFTING_SPECIAL_BANNERADDPATTERN,
+                Collections.singletonList(CraftingData.fromMulti(UUID.fromString("b5c5d105-75a2-4076-af2b-923ea2bf4bf0"), netId.incrementAndGet())));
+
+        // https://github.com/pmmp/PocketMine-MP/blob/stable/src/pocketmine/inventory/MultiRecipe.php
+
+        for (JsonNode entry : items.get("leather_armor")) {
+            // This won't be perfect, as we can't possibly send every leather input for every kind of color
+            // But it does display the correct output from a base leather armor, and besides visuals everything works fine
+            craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_ARMORDYE,
+                    c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, mappings, netId));
         }
+        for (JsonNode entry : items.get("firework_rockets")) {
+            craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_FIREWORK_ROCKET,
+                    c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, mappings, netId));
+        }
+        for (JsonNode entry : items.get("firework_stars")) {
+            craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_FIREWORK_STAR,
+                    c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, mappings, netId));
+        }
+        for (JsonNode entry : items.get("shulker_boxes")) {
+            craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_SHULKERBOXCOLORING,
+                    c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, mappings, netId));
+        }
+        for (JsonNode entry : items.get("suspicious_stew")) {
+            craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_SUSPICIOUSSTEW,
+                    c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, mappings, netId));
+        }
+        for (JsonNode entry : items.get("tipped_arrows")) {
+            craftingData.computeIfAbsent(RecipeType.CRAFTING_SPECIAL_TIPPEDARROW,
+                    c -> new ObjectArrayList<>()).add(getCraftingDataFromJsonNode(entry, recipes, mappings, netId));
+        }
+
+        return new VersionRecipes(craftingData, recipes, netId.get());
     }
 
     /**
      * Computes a Bedrock crafting recipe from the given JSON data.
      * @param node the JSON data to compute
      * @param recipes a list of all the recipes
+     * @param lastNetId the last used recipe network ID
      * @return the {@link CraftingData} to send to the Bedrock client.
      */
-    private static CraftingData getCraftingDataFromJsonNode(JsonNode node, Int2ObjectMap<GeyserRecipe> recipes, ItemMappings mappings) {
-        int netId = ++LAST_RECIPE_NET_ID;
+    private static CraftingData getCraftingDataFromJsonNode(JsonNode node, Int2ObjectMap<GeyserRecipe> recipes, ItemMappings mappings, AtomicInteger lastNetId) {
+        int netId = lastNetId.incrementAndGet();
         int type = node.get("bedrockRecipeType").asInt();
         JsonNode outputNode = node.get("output");
         ItemMapping outputEntry = mappings.getMapping(outputNode.get("identifier").asText());
@@ -71,7 +71,6 @@ import io.netty.channel.EventLoop;
 import it.unimi.dsi.fastutil.ints.*;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -90,7 +89,6 @@ import org.geysermc.geyser.command.CommandSender;
 import org.geysermc.geyser.configuration.EmoteOffhandWorkaroundOption;
 import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.entity.type.Entity;
-import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.entity.type.player.SkullPlayerEntity;
@@ -98,9 +96,14 @@ import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.inventory.PlayerInventory;
 import org.geysermc.geyser.inventory.recipe.GeyserRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserStonecutterData;
+import org.geysermc.geyser.level.MapImageCache;
 import org.geysermc.geyser.level.WorldManager;
 import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.network.AdaptiveCompression;
+import org.geysermc.geyser.network.CompressedPacketCache;
+import org.geysermc.geyser.network.StatisticsBatchHandler;
 import org.geysermc.geyser.network.netty.LocalSession;
+import org.geysermc.geyser.network.netty.TrafficCountingHandler;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.BlockMappings;
 import org.geysermc.geyser.registry.type.ItemMapping;
@@ -108,6 +111,7 @@ import org.geysermc.geyser.registry.type.ItemMappings;
 import org.geysermc.geyser.session.auth.AuthData;
 import org.geysermc.geyser.session.auth.AuthType;
 import org.geysermc.geyser.session.auth.BedrockClientData;
+import org.geysermc.geyser.session.auth.CachedJavaLogin;
 import org.geysermc.geyser.session.cache.*;
 import org.geysermc.geyser.skin.FloodgateSkinUploader;
 import org.geysermc.geyser.text.GeyserLocale;
@@ -115,17 +119,23 @@ import org.geysermc.geyser.text.MinecraftLocale;
 import org.geysermc.geyser.translator.inventory.InventoryTranslator;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.*;
+import org.geysermc.geyser.util.collection.BlockPosSet;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Getter
 public class GeyserSession implements GeyserConnection, CommandSender {
@@ -158,23 +168,38 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
     private final SessionPlayerEntity playerEntity;
 
-    private final AdvancementsCache advancementsCache;
-    private final BookEditCache bookEditCache;
-    private final ChunkCache chunkCache;
-    private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
-    private final LodestoneCache lodestoneCache;
-    private final PistonCache pistonCache;
     private final PreferencesCache preferencesCache;
-    private final SkullCache skullCache;
     private final TagCache tagCache;
     private final WorldCache worldCache;
 
+    /*
+     * Caches that are only needed once the Java server has let the player into the game. Many sessions never get that
+     * far (server list pings, failed logins, players idling in the Microsoft authentication form), so these are created
+     * on first use and dropped as soon as the session disconnects. Chunks and entities hold the most memory by far.
+     */
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<ChunkCache> chunkCache = new LazySessionCache<>(() -> new ChunkCache(this));
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<EntityCache> entityCache = new LazySessionCache<>(() -> new EntityCache(this));
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<AdvancementsCache> advancementsCache = new LazySessionCache<>(() -> new AdvancementsCache(this));
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<BookEditCache> bookEditCache = new LazySessionCache<>(() -> new BookEditCache(this));
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<ItemFrameCache> itemFrameCache = new LazySessionCache<>(ItemFrameCache::new);
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<LodestoneCache> lodestoneCache = new LazySessionCache<>(LodestoneCache::new);
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<PistonCache> pistonCache = new LazySessionCache<>(() -> new PistonCache(this));
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<SkullCache> skullCache = new LazySessionCache<>(() -> new SkullCache(this));
+    @Getter(AccessLevel.NONE)
+    private final LazySessionCache<WorldBorder> worldBorder = new LazySessionCache<>(() -> new WorldBorder(this));
+
     @Setter
     private TeleportCache unconfirmedTeleport;
-
-    private final WorldBorder worldBorder;
     /**
      * Whether simulated fog has been sent to the client or not.
      */
@@ -216,6 +241,11 @@ public class GeyserSession implements GeyserConnection, CommandSender {
     private ItemMappings itemMappings;
 
     private final Long2ObjectMap<ClientboundMapItemDataPacket> storedMaps = new Long2ObjectOpenHashMap<>();
+    /**
+     * The latest image of each map in {@link #storedMaps}, which is added to the stored packet when it is sent.
+     * Shared between all sessions until the map is partially updated.
+     */
+    private final Int2ObjectMap<MapImageCache.MapImage> mapImages = new Int2ObjectOpenHashMap<>();
 
     /**
      * Required to decode biomes correctly.
@@ -223,22 +253,28 @@ public class GeyserSession implements GeyserConnection, CommandSender {
     @Setter
     private int biomeGlobalPalette;
     /**
-     * Stores the map between Java and Bedrock biome network IDs.
+     * Stores the map between Java and Bedrock biome network IDs. Shared between sessions with the same dimension codec,
+     * so it cannot be modified.
      */
-    private final Int2IntMap biomeTranslations = new Int2IntOpenHashMap();
+    @Setter
+    private Int2IntMap biomeTranslations = Int2IntMaps.EMPTY_MAP;
 
     /**
-     * A map of Vector3i positions to Java entities.
-     * Used for translating Bedrock block actions to Java entity actions.
+     * Adjusts the compression level of this session. Null if adaptive compression is disabled.
      */
-    private final Map<Vector3i, ItemFrameEntity> itemFrameCache = new Object2ObjectOpenHashMap<>();
+    private final AdaptiveCompression adaptiveCompression;
+
+    /**
+     * Traffic and processing time of this session, shown in {@code /geyser stats}.
+     */
+    private final SessionStatistics statistics = new SessionStatistics();
 
     /**
      * Stores a list of all lectern locations and their block entity tags.
      * See {@link WorldManager#getLecternDataAt(GeyserSession, int, int, int, boolean)}
      * for more information.
      */
-    private final Set<Vector3i> lecternCache;
+    private final BlockPosSet lecternCache;
 
     /**
      * A list of all players that have a player head on with a custom texture.
@@ -515,21 +551,14 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         this.upstream = new UpstreamSession(bedrockServerSession);
         this.eventLoop = eventLoop;
 
-        this.advancementsCache = new AdvancementsCache(this);
-        this.bookEditCache = new BookEditCache(this);
-        this.chunkCache = new ChunkCache(this);
-        this.entityCache = new EntityCache(this);
+        bedrockServerSession.setBatchHandler(new StatisticsBatchHandler(statistics));
+
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
-        this.lodestoneCache = new LodestoneCache();
-        this.pistonCache = new PistonCache(this);
         this.preferencesCache = new PreferencesCache(this);
-        this.skullCache = new SkullCache(this);
         this.tagCache = new TagCache();
         this.worldCache = new WorldCache(this);
 
-        this.worldBorder = new WorldBorder(this);
-
         this.collisionManager = new CollisionManager(this);
 
         this.playerEntity = new SessionPlayerEntity(this);
@@ -543,11 +572,18 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         this.spawned = false;
         this.loggedIn = false;
 
+        int compressionLevel = geyser.getConfig().getBedrock().getCompressionLevel();
+        if (geyser.getConfig().getBedrock().isAdaptiveCompression() && compressionLevel > 0) {
+            this.adaptiveCompression = new AdaptiveCompression(this, compressionLevel);
+        } else {
+            this.adaptiveCompression = null;
+        }
+
         if (geyser.getWorldManager().shouldExpectLecternHandled()) {
             // Unneeded on these platforms
             this.lecternCache = null;
         } else {
-            this.lecternCache = new ObjectOpenHashSet<>();
+            this.lecternCache = new BlockPosSet();
         }
 
         if (geyser.getConfig().getEmoteOffhandWorkaround() != EmoteOffhandWorkaroundOption.NO_EMOTES) {
@@ -583,25 +619,34 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         // Set the hardcoded shield ID to the ID we just defined in StartGamePacket
         upstream.getSession().getHardcodedBlockingId().set(this.itemMappings.getStoredItems().shield().getBedrockId());
 
+        // These packets are the same for every session of a protocol version, so they are only compressed once
         if (this.itemMappings.getFurnaceMinecartData() != null) {
-            ItemComponentPacket componentPacket = new ItemComponentPacket();
-            componentPacket.getItems().add(this.itemMappings.getFurnaceMinecartData());
-            upstream.sendPacket(componentPacket);
+            CompressedPacketCache.sendPacket(this, "item_components", () -> {
+                ItemComponentPacket componentPacket = new ItemComponentPacket();
+                componentPacket.getItems().add(this.itemMappings.getFurnaceMinecartData());
+                return componentPacket;
+            });
         }
 
-        ChunkUtils.sendEmptyChunks(this, playerEntity.getPosition().toInt(), 0, false);
+        CompressedPacketCache.sendPacket(this, "biome_definitions", () -> {
+            BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
+            biomeDefinitionListPacket.setDefinitions(Registries.BIOMES_NBT.get());
+            return biomeDefinitionListPacket;
+        });
 
-        BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
-        biomeDefinitionListPacket.setDefinitions(Registries.BIOMES_NBT.get());
-        upstream.sendPacket(biomeDefinitionListPacket);
+        CompressedPacketCache.sendPacket(this, "entity_identifiers", () -> {
+            AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
+            entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
+            return entityPacket;
+        });
 
-        AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
-        entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
-        upstream.sendPacket(entityPacket);
+        CompressedPacketCache.sendPacket(this, "creative_content", () -> {
+            CreativeContentPacket creativePacket = new CreativeContentPacket();
+            creativePacket.setContents(this.itemMappings.getCreativeItems());
+            return creativePacket;
+        });
 
-        CreativeContentPacket creativePacket = new CreativeContentPacket();
-        creativePacket.setContents(this.itemMappings.getCreativeItems());
-        upstream.sendPacket(creativePacket);
+        ChunkUtils.sendEmptyChunks(this, playerEntity.getPosition().toInt(), 0, false);
 
         PlayStatusPacket playStatusPacket = new PlayStatusPacket();
         playStatusPacket.setStatus(PlayStatusPacket.Status.PLAYER_SPAWN);
@@ -640,7 +685,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         loggingIn = true;
 
         // Use a future to prevent timeouts as all the authentication is handled sync
-        CompletableFuture.supplyAsync(() -> {
+        supplyAuthenticationAsync(() -> {
             try {
                 if (password != null && !password.isEmpty()) {
                     AuthenticationService authenticationService;
@@ -704,7 +749,20 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
         loggingIn = true;
 
-        CompletableFuture.supplyAsync(() -> {
+        CachedJavaLogin cachedLogin = geyser.cachedLoginFor(name());
+        if (cachedLogin != null) {
+            // Reconnecting within the lifetime of the access token; no need to ask Microsoft again.
+            // This is called from the login packet handler, so leave the network thread before connecting.
+            protocol = new MinecraftProtocol(cachedLogin.profile(), cachedLogin.accessToken());
+            executeInEventLoop(() -> {
+                if (!closed) {
+                    connectDownstream();
+                }
+            });
+            return;
+        }
+
+        supplyAuthenticationAsync(() -> {
             MsaAuthenticationService service = new MsaAuthenticationService(GeyserImpl.OAUTH_CLIENT_ID);
             service.setRefreshToken(refreshToken);
             try {
@@ -723,11 +781,17 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
             protocol = new MinecraftProtocol(profile, service.getAccessToken());
             geyser.saveRefreshToken(name(), service.getRefreshToken());
+            geyser.saveCachedLogin(name(), profile, service.getAccessToken());
             return Boolean.TRUE;
         }).whenComplete((successful, ex) -> {
             if (this.closed) {
                 return;
             }
+            if (ex != null) {
+                geyser.getLogger().error("Unable to log in " + name() + " with their refresh token", ex);
+                disconnect(GeyserLocale.getPlayerLocaleString("geyser.auth.login.invalid.kick", getClientData().getLanguageCode()));
+                return;
+            }
             if (successful == Boolean.FALSE) {
                 // The player is waiting for a spawn packet, so let's spawn them in now to show them forms
                 connect();
@@ -740,6 +804,17 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         });
     }
 
+    /**
+     * Runs blocking authentication requests on the authentication executor.
+     */
+    private <T> CompletableFuture<T> supplyAuthenticationAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, geyser.getAuthenticationExecutor());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     public void authenticateWithMicrosoftCode() {
         authenticateWithMicrosoftCode(false);
     }
@@ -814,6 +889,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
                 // Save our refresh token for later use
                 geyser.saveRefreshToken(name(), service.getRefreshToken());
+                geyser.saveCachedLogin(name(), selectedProfile, service.getAccessToken());
                 return true;
             }
         }
@@ -831,8 +907,10 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
         if (geyser.getBootstrap().getSocketAddress() != null) {
             // We're going to connect through the JVM and not through TCP
+            // With event loop affinity, the downstream channel shares our event loop so packets don't need to switch threads
             downstream = new LocalSession(this.remoteAddress, this.remotePort,
-                    geyser.getBootstrap().getSocketAddress(), upstream.getAddress().getAddress().getHostAddress(), this.protocol);
+                    geyser.getBootstrap().getSocketAddress(), upstream.getAddress().getAddress().getHostAddress(), this.protocol,
+                    geyser.getConfig().isEventLoopAffinity() ? eventLoop : null);
         } else {
             downstream = new TcpClientSession(this.remoteAddress, this.remotePort, this.protocol);
             disableSrvResolving();
@@ -907,6 +985,11 @@ public class GeyserSession implements GeyserConnection, CommandSender {
                 loggingIn = false;
                 loggedIn = true;
 
+                Channel channel = downstream.getChannel();
+                if (channel != null && channel.pipeline().get(TrafficCountingHandler.NAME) == null) {
+                    channel.pipeline().addFirst(TrafficCountingHandler.NAME, new TrafficCountingHandler(statistics));
+                }
+
                 if (downstream instanceof LocalSession) {
                     // Connected directly to the server
                     geyser.getLogger().info(GeyserLocale.getLocaleStringLog("geyser.network.remote.connect_internal",
@@ -944,6 +1027,10 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
             @Override
             public void disconnected(DisconnectedEvent event) {
+                if (!loggedIn && remoteAuthType == AuthType.ONLINE) {
+                    // The server may have rejected a cached access token; get a fresh one next time
+                    geyser.invalidateCachedLogin(name());
+                }
                 loggingIn = false;
                 loggedIn = false;
 
@@ -988,6 +1075,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
             @Override
             public void packetReceived(Session session, Packet packet) {
+                statistics.javaPacketReceived();
                 Registries.JAVA_PACKET_TRANSLATORS.translate(packet.getClass(), packet, GeyserSession.this);
             }
 
@@ -1035,30 +1123,140 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         }
 
         closed = true;
+        releaseGameCaches();
+    }
+
+    /**
+     * Drops the game-only caches, so a disconnected session that is still referenced somewhere (a pending task,
+     * a command sender) does not keep a whole world in memory.
+     */
+    private void releaseGameCaches() {
+        chunkCache.release();
+        entityCache.release();
+        advancementsCache.release();
+        bookEditCache.release();
+        itemFrameCache.release();
+        lodestoneCache.release();
+        pistonCache.release();
+        skullCache.release();
+        worldBorder.release();
+
+        executeInEventLoop(() -> {
+            if (lecternCache != null) {
+                lecternCache.clear();
+            }
+            storedMaps.clear();
+            mapImages.clear();
+        });
+    }
+
+    /**
+     * @return whether the game-only caches have been created, which happens once the player has joined the Java server
+     */
+    public boolean hasGameCaches() {
+        return chunkCache.getIfCreated() != null || entityCache.getIfCreated() != null;
+    }
+
+    public ChunkCache getChunkCache() {
+        return chunkCache.get();
+    }
+
+    public EntityCache getEntityCache() {
+        return entityCache.get();
+    }
+
+    public AdvancementsCache getAdvancementsCache() {
+        return advancementsCache.get();
+    }
+
+    public BookEditCache getBookEditCache() {
+        return bookEditCache.get();
+    }
+
+    /**
+     * Item frame entities by their Bedrock block position.
+     * Used for translating Bedrock block actions to Java entity actions.
+     */
+    public ItemFrameCache getItemFrameCache() {
+        return itemFrameCache.get();
+    }
+
+    public LodestoneCache getLodestoneCache() {
+        return lodestoneCache.get();
+    }
+
+    public PistonCache getPistonCache() {
+        return pistonCache.get();
+    }
+
+    public SkullCache getSkullCache() {
+        return skullCache.get();
+    }
+
+    public WorldBorder getWorldBorder() {
+        return worldBorder.get();
     }
 
     /**
      * Executes a task and prints a stack trace if an error occurs.
      */
     public void executeInEventLoop(Runnable runnable) {
+        statistics.taskQueued();
         eventLoop.execute(() -> {
+            statistics.taskStarted();
+            long start = System.nanoTime();
             try {
                 runnable.run();
             } catch (Throwable e) {
                 geyser.getLogger().error("Error thrown in " + this.name() + "'s event loop!", e);
+            } finally {
+                statistics.addProcessingTime(System.nanoTime() - start);
             }
         });
     }
 
+    /**
+     * Reads state that is owned by the event loop, such as the contents of the caches, from another thread.
+     * Waits at most the given time for the event loop to run the supplier.
+     *
+     * @return the result of the supplier, or null if it failed or did not run in time
+     */
+    @Nullable
+    public <T> T supplyInEventLoop(Supplier<T> supplier, long timeout, TimeUnit timeUnit) {
+        if (eventLoop.inEventLoop()) {
+            return supplier.get();
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executeInEventLoop(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        try {
+            return future.get(timeout, timeUnit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
     /**
      * Schedules a task and prints a stack trace if an error occurs.
      */
     public ScheduledFuture<?> scheduleInEventLoop(Runnable runnable, long duration, TimeUnit timeUnit) {
         return eventLoop.schedule(() -> {
+            long start = System.nanoTime();
             try {
                 runnable.run();
             } catch (Throwable e) {
                 geyser.getLogger().error("Error thrown in " + this.name() + "'s event loop!", e);
+            } finally {
+                statistics.addProcessingTime(System.nanoTime() - start);
             }
         }, duration, timeUnit);
     }
@@ -1067,8 +1265,13 @@ public class GeyserSession implements GeyserConnection, CommandSender {
      * Called every 50 milliseconds - one Minecraft tick.
      */
     protected void tick() {
+        long start = System.nanoTime();
         try {
-            pistonCache.tick();
+            // Game-only caches are not created just to tick them
+            PistonCache pistonCache = this.pistonCache.getIfCreated();
+            if (pistonCache != null) {
+                pistonCache.tick();
+            }
             // Check to see if the player's position needs updating - a position update should be sent once every 3 seconds
             if (spawned && (System.currentTimeMillis() - lastMovementTimestamp) > 3000) {
                 // Recalculate in case something else changed position
@@ -1082,11 +1285,12 @@ public class GeyserSession implements GeyserConnection, CommandSender {
                 lastMovementTimestamp = System.currentTimeMillis();
             }
 
-            if (worldBorder.isResizing()) {
+            WorldBorder worldBorder = this.worldBorder.getIfCreated();
+            if (worldBorder != null && worldBorder.isResizing()) {
                 worldBorder.resize();
             }
 
-            if (!worldBorder.isWithinWarningBoundaries()) {
+            if (worldBorder != null && !worldBorder.isWithinWarningBoundaries()) {
                 // Show particles representing where the world border is
                 worldBorder.drawWall();
                 // Set the mood
@@ -1100,9 +1304,19 @@ public class GeyserSession implements GeyserConnection, CommandSender {
                 isInWorldBorderWarningArea = false;
             }
 
+            EntityCache entityCache = this.entityCache.getIfCreated();
+            if (entityCache != null) {
+                entityCache.updateVisibleEntities();
 
-            for (Tickable entity : entityCache.getTickableEntities()) {
-                entity.tick();
+                for (Tickable entity : entityCache.getTickableEntities()) {
+                    entity.tick();
+                }
+
+                entityCache.flushPendingUpdates();
+            }
+
+            if (adaptiveCompression != null) {
+                adaptiveCompression.tick();
             }
 
             if (armAnimationTicks != -1) {
@@ -1135,6 +1349,12 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
+
+        statistics.addProcessingTime(System.nanoTime() - start);
+        int cpuBudget = geyser.getConfig().getSessionCpuBudget();
+        if (cpuBudget > 0) {
+            statistics.checkCpuBudget(this, cpuBudget);
+        }
     }
 
     public void setAuthenticationData(AuthData authData) {
@@ -1432,7 +1652,8 @@ public class GeyserSession implements GeyserConnection, CommandSender {
         settings.setServerAuthoritativeBlockBreaking(false);
         startGamePacket.setPlayerMovementSettings(settings);
 
-        upstream.sendPacket(startGamePacket);
+        // Sent immediately, since the packets following it bypass the packet queue
+        upstream.sendPacketImmediately(startGamePacket);
     }
 
     /**
@@ -1468,6 +1689,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacket(BedrockPacket packet) {
+        statistics.bedrockPacketSent();
         upstream.sendPacket(packet);
     }
 
@@ -1477,6 +1699,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacketImmediately(BedrockPacket packet) {
+        statistics.bedrockPacketSent();
         upstream.sendPacketImmediately(packet);
     }
 
@@ -1508,6 +1731,7 @@ public class GeyserSession implements GeyserConnection, CommandSender {
 
     private void sendDownstreamPacket0(Packet packet) {
         if (protocol.getState().equals(ProtocolState.GAME) || packet.getClass() == ServerboundCustomQueryPacket.class) {
+            statistics.javaPacketSent();
             downstream.send(packet);
         } else {
             geyser.getLogger().debug("Tried to send downstream packet " + packet.getClass().getSimpleName() + " before connected to the server");
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import javax.annotation.Nullable;
+import java.util.function.Supplier;
+
+/**
+ * Holds a session cache that is only created when it is first used, and dropped when the session disconnects.
+ * <p>
+ * Once released, {@link #get()} still returns a cache so callers don't have to check for a closed session,
+ * but that cache is not kept, so a disconnected session cannot fill up again.
+ */
+final class LazySessionCache<T> {
+    private final Supplier<T> factory;
+    private volatile T value;
+    private volatile boolean released;
+
+    LazySessionCache(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    T get() {
+        T value = this.value;
+        if (value == null) {
+            synchronized (this) {
+                value = this.value;
+                if (value == null) {
+                    value = factory.get();
+                    if (!released) {
+                        this.value = value;
+                    }
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the cache, or null if it hasn't been used yet
+     */
+    @Nullable
+    T getIfCreated() {
+        return value;
+    }
+
+    synchronized void release() {
+        released = true;
+        value = null;
+    }
+}
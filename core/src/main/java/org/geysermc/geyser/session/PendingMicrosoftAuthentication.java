@@ -51,8 +51,22 @@ public class PendingMicrosoftAuthentication {
      */
     private boolean storeServerInformation = false;
     private final LoadingCache<String, AuthenticationTask> authentications;
+    /**
+     * Runs the blocking requests to Microsoft.
+     */
+    private final Executor executor;
+    /**
+     * Waits before the next poll for the access token. It only hands the poll over to {@link #executor},
+     * so a poll that the executor turns away is noticed instead of being dropped.
+     */
+    private final Executor delayedByOneSecond = CompletableFuture.delayedExecutor(1, TimeUnit.SECONDS);
 
     public PendingMicrosoftAuthentication(int timeoutSeconds) {
+        this(timeoutSeconds, ForkJoinPool.commonPool());
+    }
+
+    public PendingMicrosoftAuthentication(int timeoutSeconds, Executor executor) {
+        this.executor = executor;
         this.authentications = CacheBuilder.newBuilder()
                 .build(new CacheLoader<>() {
                     @Override
@@ -78,8 +92,6 @@ public class PendingMicrosoftAuthentication {
     }
 
     public class AuthenticationTask {
-        private static final Executor DELAYED_BY_ONE_SECOND = CompletableFuture.delayedExecutor(1, TimeUnit.SECONDS);
-
         @Getter
         private final MsaAuthenticationService msaAuthenticationService = new MsaAuthenticationService(GeyserImpl.OAUTH_CLIENT_ID);
         private final String userKey;
@@ -123,7 +135,12 @@ public class PendingMicrosoftAuthentication {
 
         public CompletableFuture<MsaAuthenticationService.MsCodeResponse> getCode(boolean offlineAccess) {
             // Request the code
-            CompletableFuture<MsaAuthenticationService.MsCodeResponse> code = CompletableFuture.supplyAsync(() -> tryGetCode(offlineAccess));
+            CompletableFuture<MsaAuthenticationService.MsCodeResponse> code;
+            try {
+                code = CompletableFuture.supplyAsync(() -> tryGetCode(offlineAccess), executor);
+            } catch (RejectedExecutionException e) {
+                return CompletableFuture.failedFuture(e);
+            }
             // Once the code is received, continuously try to request the access token, profile, etc
             code.thenRun(() -> performLoginAttempt(System.currentTimeMillis()));
             return code;
@@ -141,31 +158,40 @@ public class PendingMicrosoftAuthentication {
         }
 
         private void performLoginAttempt(long lastAttempt) {
-            CompletableFuture.runAsync(() -> {
+            delayedByOneSecond.execute(() -> {
                 try {
-                    msaAuthenticationService.login();
-                } catch (AuthPendingException e) {
-                    long currentAttempt = System.currentTimeMillis();
-                    if (!online) {
-                        // decrement timer only when player's offline
-                        remainingTimeMs -= currentAttempt - lastAttempt;
-                        if (remainingTimeMs <= 0L) {
-                            // time's up
-                            authentication.completeExceptionally(new TaskTimeoutException());
-                            cleanup();
-                            return;
-                        }
-                    }
-                    // try again in 1 second
-                    performLoginAttempt(currentAttempt);
-                    return;
-                } catch (Exception e) {
+                    executor.execute(() -> attemptLogin(lastAttempt));
+                } catch (RejectedExecutionException e) {
+                    // Too many logins are in progress; fail so the player is disconnected rather than left waiting
                     authentication.completeExceptionally(e);
-                    return;
                 }
-                // login successful
-                authentication.complete(msaAuthenticationService);
-            }, DELAYED_BY_ONE_SECOND);
+            });
+        }
+
+        private void attemptLogin(long lastAttempt) {
+            try {
+                msaAuthenticationService.login();
+            } catch (AuthPendingException e) {
+                long currentAttempt = System.currentTimeMillis();
+                if (!online) {
+                    // decrement timer only when player's offline
+                    remainingTimeMs -= currentAttempt - lastAttempt;
+                    if (remainingTimeMs <= 0L) {
+                        // time's up
+                        authentication.completeExceptionally(new TaskTimeoutException());
+                        cleanup();
+                        return;
+                    }
+                }
+                // try again in 1 second
+                performLoginAttempt(currentAttempt);
+                return;
+            } catch (Exception e) {
+                authentication.completeExceptionally(e);
+                return;
+            }
+            // login successful
+            authentication.complete(msaAuthenticationService);
         }
 
         @Override
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import org.geysermc.geyser.GeyserImpl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the traffic of a session and the time spent processing it, for {@code /geyser stats} and dumps.
+ * The counters are updated from both network threads and the event loop of the session.
+ * <p>
+ * Processing time is the time spent in packet translators, tasks run through the session and the session tick.
+ * It is measured with {@link System#nanoTime()}, as reading the thread CPU time is too expensive to do for every
+ * packet; translators rarely block, so it is close to the CPU time.
+ */
+public final class SessionStatistics {
+    /**
+     * How long the processing time is averaged over before it is compared against the CPU budget.
+     */
+    private static final long BUDGET_WINDOW = TimeUnit.SECONDS.toNanos(30);
+
+    private final LongAdder bedrockPacketsIn = new LongAdder();
+    private final LongAdder bedrockBytesIn = new LongAdder();
+    private final LongAdder bedrockPacketsOut = new LongAdder();
+    private final LongAdder javaPacketsIn = new LongAdder();
+    private final LongAdder javaBytesIn = new LongAdder();
+    private final LongAdder javaPacketsOut = new LongAdder();
+    private final LongAdder javaBytesOut = new LongAdder();
+    private final LongAdder processingTime = new LongAdder();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+
+    private final long startTime = System.nanoTime();
+
+    private long budgetWindowStart = startTime;
+    private long budgetWindowStartProcessingTime;
+
+    /**
+     * @param bytes the compressed size of the batch
+     */
+    public void bedrockBatchReceived(int bytes, int packets) {
+        bedrockBytesIn.add(bytes);
+        bedrockPacketsIn.add(packets);
+    }
+
+    public void bedrockPacketSent() {
+        bedrockPacketsOut.increment();
+    }
+
+    public void javaPacketReceived() {
+        javaPacketsIn.increment();
+    }
+
+    public void javaPacketSent() {
+        javaPacketsOut.increment();
+    }
+
+    public void javaBytesReceived(int bytes) {
+        javaBytesIn.add(bytes);
+    }
+
+    public void javaBytesSent(int bytes) {
+        javaBytesOut.add(bytes);
+    }
+
+    public void taskQueued() {
+        queuedTasks.incrementAndGet();
+    }
+
+    public void taskStarted() {
+        queuedTasks.decrementAndGet();
+    }
+
+    public void addProcessingTime(long nanos) {
+        processingTime.add(nanos);
+    }
+
+    /**
+     * Logs a warning if the session used more processing time than the budget during the last window.
+     * Called every tick on the event loop of the session.
+     *
+     * @param budget the allowed processing time in milliseconds per second
+     */
+    void checkCpuBudget(GeyserSession session, int budget) {
+        long now = System.nanoTime();
+        long elapsed = now - budgetWindowStart;
+        if (elapsed < BUDGET_WINDOW) {
+            return;
+        }
+        long processed = processingTime.sum();
+        double millisPerSecond = toMillisPerSecond(processed - budgetWindowStartProcessingTime, elapsed);
+        budgetWindowStart = now;
+        budgetWindowStartProcessingTime = processed;
+
+        if (millisPerSecond > budget) {
+            GeyserImpl.getInstance().getLogger().warning(String.format(
+                    "%s used %.1fms of processing time per second over the last %d seconds, above the session-cpu-budget of %dms",
+                    session.name(), millisPerSecond, TimeUnit.NANOSECONDS.toSeconds(elapsed), budget));
+        }
+    }
+
+    public long getBedrockPacketsIn() {
+        return bedrockPacketsIn.sum();
+    }
+
+    public long getBedrockBytesIn() {
+        return bedrockBytesIn.sum();
+    }
+
+    public long getBedrockPacketsOut() {
+        return bedrockPacketsOut.sum();
+    }
+
+    public long getJavaPacketsIn() {
+        return javaPacketsIn.sum();
+    }
+
+    public long getJavaBytesIn() {
+        return javaBytesIn.sum();
+    }
+
+    public long getJavaPacketsOut() {
+        return javaPacketsOut.sum();
+    }
+
+    public long getJavaBytesOut() {
+        return javaBytesOut.sum();
+    }
+
+    /**
+     * @return the total processing time of this session in nanoseconds
+     */
+    public long getProcessingTime() {
+        return processingTime.sum();
+    }
+
+    /**
+     * @return the average processing time in milliseconds per second since the session connected
+     */
+    public double getProcessingMillisPerSecond() {
+        return toMillisPerSecond(processingTime.sum(), System.nanoTime() - startTime);
+    }
+
+    /**
+     * @return the number of tasks waiting to run on the event loop of this session
+     */
+    public int getQueuedTasks() {
+        return Math.max(0, queuedTasks.get());
+    }
+
+    private static double toMillisPerSecond(long processed, long elapsed) {
+        return elapsed <= 0 ? 0 : processed / (double) elapsed * 1000;
+    }
+}
@@ -27,22 +27,60 @@ package org.geysermc.geyser.session;
 
 import com.nukkitx.protocol.bedrock.BedrockPacket;
 import com.nukkitx.protocol.bedrock.BedrockServerSession;
+import io.netty.buffer.Unpooled;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.geysermc.geyser.network.CompressedPacketCache;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
 public class UpstreamSession {
     @Getter private final BedrockServerSession session;
     @Getter @Setter
     private boolean initialized = false;
 
+    /**
+     * Packets are queued here instead of in the protocol library, so they can be flushed before a batch from
+     * {@link CompressedPacketCache} is sent. Like the library's queue, it is flushed every 50ms.
+     */
+    private final Queue<BedrockPacket> queuedPackets = new ConcurrentLinkedQueue<>();
+    private final ScheduledFuture<?> flushFuture;
+
+    public UpstreamSession(BedrockServerSession session) {
+        this.session = session;
+        this.flushFuture = session.getEventLoop().scheduleAtFixedRate(this::flush, 50, 50, TimeUnit.MILLISECONDS);
+    }
+
     public void sendPacket(@NonNull BedrockPacket packet) {
         if (!isClosed()) {
-            session.sendPacket(packet);
+            queuedPackets.add(packet);
+        }
+    }
+
+    /**
+     * Sends all queued packets in one batch.
+     */
+    public synchronized void flush() {
+        if (isClosed()) {
+            flushFuture.cancel(false);
+            queuedPackets.clear();
+            return;
+        }
+
+        List<BedrockPacket> packets = new ArrayList<>();
+        BedrockPacket packet;
+        while ((packet = queuedPackets.poll()) != null) {
+            packets.add(packet);
+        }
+        if (!packets.isEmpty()) {
+            session.sendWrapped(packets, true);
         }
     }
 
@@ -52,7 +90,19 @@ public class UpstreamSession {
         }
     }
 
+    /**
+     * Sends a batch that has already been serialized and compressed, after all packets queued before it.
+     * See {@link CompressedPacketCache}.
+     */
+    public synchronized void sendCompressed(byte[] compressed) {
+        if (!isClosed()) {
+            flush();
+            session.sendWrapped(Unpooled.wrappedBuffer(compressed), true);
+        }
+    }
+
     public void disconnect(String reason) {
+        flush();
         session.disconnect(reason);
     }
 
@@ -64,6 +114,13 @@ public class UpstreamSession {
         return session.getRealAddress();
     }
 
+    /**
+     * @return the round trip time of the connection in milliseconds
+     */
+    public long getLatency() {
+        return this.session.getLatency();
+    }
+
     /**
      * Gets the session's protocol version.
      *
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.auth;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs blocking Mojang and Microsoft authentication requests. These are kept off the common ForkJoinPool so a burst
+ * of logins (for example, everyone reconnecting after a restart) cannot starve parallel streams and skin requests, and
+ * so the amount of concurrent requests made to the authentication servers is bounded.
+ */
+public final class AuthenticationExecutor implements Executor {
+    /**
+     * The maximum amount of authentication requests that can wait for a thread.
+     */
+    private static final int MAXIMUM_QUEUED_TASKS = 512;
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    public AuthenticationExecutor(int threads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAXIMUM_QUEUED_TASKS), new DefaultThreadFactory("Geyser Authentication Thread", true),
+                (task, executor) -> {
+                    rejectedTasks.increment();
+                    throw new RejectedExecutionException("Too many pending authentication requests");
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /**
+     * @return the amount of authentication requests waiting for a thread
+     */
+    public int getQueuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return the amount of authentication requests currently running
+     */
+    public int getActiveTasks() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedTasks() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * @return the amount of authentication requests turned away because the queue was full
+     */
+    public long getRejectedTasks() {
+        return rejectedTasks.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
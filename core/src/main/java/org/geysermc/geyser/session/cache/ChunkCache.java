@@ -26,6 +26,8 @@
 package org.geysermc.geyser.session.cache;
 
 import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.Position;
+import com.github.steveice10.mc.protocol.data.game.level.block.BlockChangeEntry;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import lombok.Getter;
@@ -36,6 +38,8 @@ import org.geysermc.geyser.level.chunk.GeyserChunk;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.util.MathUtils;
 
+import java.util.Arrays;
+
 public class ChunkCache {
     private final boolean cache;
     private final Long2ObjectMap<GeyserChunk> chunks;
@@ -107,6 +111,53 @@ public class ChunkCache {
         palette.set(x & 0xF, y & 0xF, z & 0xF, block);
     }
 
+    /**
+     * Updates all blocks of one chunk section at once, looking up the section only once.
+     *
+     * @param entries the block changes, which must all be within the given section
+     */
+    public void updateBlocks(int chunkX, int chunkY, int chunkZ, BlockChangeEntry[] entries) {
+        if (!cache) {
+            return;
+        }
+
+        GeyserChunk chunk = this.getChunk(chunkX, chunkZ);
+        if (chunk == null) {
+            return;
+        }
+
+        int sectionIndex = chunkY - getChunkMinY();
+        if (sectionIndex < 0 || sectionIndex > chunk.sections().length - 1) {
+            // Y likely goes above or below the height limit of this world
+            return;
+        }
+
+        DataPalette palette = chunk.sections()[sectionIndex];
+        if (palette == null) {
+            boolean onlyAir = true;
+            for (BlockChangeEntry entry : entries) {
+                if (entry.getBlock() != BlockStateValues.JAVA_AIR_ID) {
+                    onlyAir = false;
+                    break;
+                }
+            }
+            if (onlyAir) {
+                // Nothing to update
+                return;
+            }
+
+            // A previously empty section, which is no longer empty as blocks have been added to it
+            palette = DataPalette.createForChunk();
+            palette.getPalette().stateToId(BlockStateValues.JAVA_AIR_ID);
+            chunk.sections()[sectionIndex] = palette;
+        }
+
+        for (BlockChangeEntry entry : entries) {
+            Position position = entry.getPosition();
+            palette.set(position.getX() & 0xF, position.getY() & 0xF, position.getZ() & 0xF, entry.getBlock());
+        }
+    }
+
     public int getBlockAt(int x, int y, int z) {
         if (!cache) {
             return BlockStateValues.JAVA_AIR_ID;
@@ -130,6 +181,52 @@ public class ChunkCache {
         return BlockStateValues.JAVA_AIR_ID;
     }
 
+    /**
+     * Gets the block states of every block between the minimum and maximum coordinates, inclusive, looking up each
+     * chunk section only once. See {@link org.geysermc.geyser.level.WorldManager#getBlocksInBox(GeyserSession, int, int, int, int, int, int, int[])}
+     * for the order the block states are stored in.
+     */
+    public void getBlocksInBox(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int[] blocks) {
+        int sizeX = maxX - minX + 1;
+        int sizeZ = maxZ - minZ + 1;
+        // Anything that isn't covered by a loaded section is air
+        Arrays.fill(blocks, 0, sizeX * (maxY - minY + 1) * sizeZ, BlockStateValues.JAVA_AIR_ID);
+        if (!cache) {
+            return;
+        }
+
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            int startX = Math.max(minX, chunkX << 4);
+            int endX = Math.min(maxX, (chunkX << 4) + 15);
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                GeyserChunk column = this.getChunk(chunkX, chunkZ);
+                if (column == null) {
+                    continue;
+                }
+                int startZ = Math.max(minZ, chunkZ << 4);
+                int endZ = Math.min(maxZ, (chunkZ << 4) + 15);
+
+                // Clamp to the height of the world
+                int startY = Math.max(minY, this.minY);
+                int endY = Math.min(maxY, this.minY + (column.sections().length << 4) - 1);
+                for (int y = startY; y <= endY; y++) {
+                    DataPalette palette = column.sections()[(y - this.minY) >> 4];
+                    if (palette == null) {
+                        // Skip the rest of this empty section
+                        y |= 0xF;
+                        continue;
+                    }
+                    for (int x = startX; x <= endX; x++) {
+                        int index = ((y - minY) * sizeX + (x - minX)) * sizeZ;
+                        for (int z = startZ; z <= endZ; z++) {
+                            blocks[index + z - minZ] = palette.get(x & 0xF, y & 0xF, z & 0xF);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     public void removeChunk(int chunkX, int chunkZ) {
         if (!cache) {
             return;
@@ -152,6 +249,33 @@ public class ChunkCache {
         chunks.clear();
     }
 
+    /**
+     * @return the number of chunks currently held in this cache. Must be called on the session's event loop.
+     */
+    public int size() {
+        return cache ? chunks.size() : 0;
+    }
+
+    /**
+     * @return the bytes held by the block storage of every cached section. Object headers and palettes are not
+     * counted, so the real heap use is somewhat higher. Must be called on the session's event loop.
+     */
+    public long getStorageSize() {
+        if (!cache) {
+            return 0;
+        }
+
+        long size = 0;
+        for (GeyserChunk chunk : chunks.values()) {
+            for (DataPalette section : chunk.sections()) {
+                if (section != null && section.getStorage() != null) {
+                    size += section.getStorage().getData().length * 8L;
+                }
+            }
+        }
+        return size;
+    }
+
     public int getChunkMinY() {
         return minY >> 4;
     }
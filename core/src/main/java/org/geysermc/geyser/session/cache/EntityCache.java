@@ -29,12 +29,25 @@ import it.unimi.dsi.fastutil.ints.Int2LongMap;
 import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2BooleanLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2BooleanMap;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import com.nukkitx.math.vector.Vector3f;
 import lombok.Getter;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.entity.type.LivingEntity;
 import org.geysermc.geyser.entity.type.Tickable;
+import org.geysermc.geyser.entity.type.living.FlyingEntity;
+import org.geysermc.geyser.entity.type.living.MobEntity;
+import org.geysermc.geyser.entity.type.living.SlimeEntity;
+import org.geysermc.geyser.entity.type.living.monster.EnderDragonEntity;
+import org.geysermc.geyser.entity.type.living.monster.MonsterEntity;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
+import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.session.GeyserSession;
 
 import java.util.*;
@@ -60,13 +73,65 @@ public class EntityCache {
     @Getter
     private final AtomicLong nextEntityId = new AtomicLong(2L);
 
+    /**
+     * Whether mobs outside of the configured tracking ranges are hidden from the Bedrock client.
+     */
+    private final boolean trackingEnabled;
+    private final int passiveRangeSquared;
+    private final int hostileRangeSquared;
+    private final int maxVisibleEntities;
+    /**
+     * All mobs that may be hidden from the client, whether they are currently spawned or not.
+     */
+    private final Set<MobEntity> trackedEntities = new ObjectOpenHashSet<>();
+    private final List<MobEntity> inRangeEntities = new ObjectArrayList<>();
+    private int visibleTrackedEntities = 0;
+
+    /**
+     * The interval in ticks between checking which tracked mobs should be visible.
+     */
+    private static final int TRACKING_UPDATE_INTERVAL = 5;
+    private int ticksUntilTrackingUpdate = 0;
+
+    /**
+     * Whether entity movement and metadata updates are merged and sent once per tick.
+     */
+    private final boolean coalesceUpdates;
+    /**
+     * Entities that have moved since the last flush, and whether any of these movements was a teleport.
+     */
+    private final Object2BooleanMap<Entity> pendingMovement = new Object2BooleanLinkedOpenHashMap<>();
+    /**
+     * Entities that have dirty metadata to be sent on the next flush.
+     */
+    private final Set<Entity> pendingMetadata = new ObjectLinkedOpenHashSet<>();
+
     public EntityCache(GeyserSession session) {
+        this(session, session.getGeyser().getConfig().getEntityTracking(), session.getGeyser().getConfig().isCoalesceEntityUpdates());
+    }
+
+    EntityCache(GeyserSession session, GeyserConfiguration.IEntityTrackingConfiguration config, boolean coalesceUpdates) {
         this.session = session;
+
+        this.trackingEnabled = config.isEnabled();
+        this.passiveRangeSquared = config.getPassiveRange() * config.getPassiveRange();
+        this.hostileRangeSquared = config.getHostileRange() * config.getHostileRange();
+        this.maxVisibleEntities = config.getMaxVisibleEntities();
+        this.coalesceUpdates = coalesceUpdates;
     }
 
     public void spawnEntity(Entity entity) {
         if (cacheEntity(entity)) {
-            entity.spawnEntity();
+            if (trackingEnabled && entity instanceof MobEntity mob && !(entity instanceof EnderDragonEntity)) {
+                mob.retainSentMetadata();
+                trackedEntities.add(mob);
+                if (isInTrackingRange(mob) && (maxVisibleEntities == -1 || visibleTrackedEntities < maxVisibleEntities)) {
+                    entity.spawnEntity();
+                    visibleTrackedEntities++;
+                }
+            } else {
+                entity.spawnEntity();
+            }
 
             if (entity instanceof Tickable) {
                 // Start ticking it
@@ -90,6 +155,23 @@ public class EntityCache {
             session.getPlayerWithCustomHeads().remove(player.getUuid());
         }
 
+        if (coalesceUpdates && entity != null) {
+            pendingMovement.removeBoolean(entity);
+            pendingMetadata.remove(entity);
+        }
+
+        if (entity instanceof MobEntity mob && trackedEntities.remove(mob)) {
+            if (!entity.isValid()) {
+                // Currently hidden from the client - nothing to despawn
+                entities.remove(entityIdTranslations.remove(entity.getEntityId()));
+                if (entity instanceof Tickable) {
+                    tickableEntities.remove(entity);
+                }
+                return true;
+            }
+            visibleTrackedEntities--;
+        }
+
         if (entity != null && entity.isValid() && (force || entity.despawnEntity())) {
             long geyserId = entityIdTranslations.remove(entity.getEntityId());
             entities.remove(geyserId);
@@ -109,6 +191,150 @@ public class EntityCache {
         }
 
         session.getPlayerWithCustomHeads().clear();
+        trackedEntities.clear();
+        visibleTrackedEntities = 0;
+        pendingMovement.clear();
+        pendingMetadata.clear();
+    }
+
+    /**
+     * Sends the entity's current position to the client, or queues it to be sent on the next
+     * {@link #flushPendingUpdates()} if entity updates are coalesced.
+     *
+     * @param teleported whether the entity was teleported. A teleport is kept if other movements are merged into it.
+     */
+    public void moveEntity(Entity entity, boolean teleported) {
+        if (!coalesceUpdates || entity instanceof SessionPlayerEntity) {
+            entity.sendMovement(teleported);
+            return;
+        }
+        if (teleported) {
+            pendingMovement.put(entity, true);
+        } else if (!pendingMovement.containsKey(entity)) {
+            pendingMovement.put(entity, false);
+        }
+    }
+
+    /**
+     * Drops the movement queued for this entity, if any. Must be called before a movement packet is sent for the
+     * entity without {@link #moveEntity(Entity, boolean)}, so an older queued position does not overwrite it.
+     */
+    public void cancelPendingMovement(Entity entity) {
+        if (coalesceUpdates) {
+            pendingMovement.removeBoolean(entity);
+        }
+    }
+
+    /**
+     * Sends the entity's dirty metadata to the client, or queues it to be sent on the next
+     * {@link #flushPendingUpdates()} if entity updates are coalesced. Further metadata changes made before the flush
+     * are merged into the same packet.
+     */
+    public void updateEntityMetadata(Entity entity) {
+        if (!coalesceUpdates || entity instanceof SessionPlayerEntity) {
+            entity.updateBedrockMetadata();
+            return;
+        }
+        pendingMetadata.add(entity);
+    }
+
+    /**
+     * Sends all queued entity updates. Metadata is sent before movement, and entities that have been despawned since
+     * are skipped.
+     */
+    public void flushPendingUpdates() {
+        if (!pendingMetadata.isEmpty()) {
+            for (Entity entity : pendingMetadata) {
+                // Does nothing if the entity is not spawned, or the metadata has already been sent
+                entity.updateBedrockMetadata();
+            }
+            pendingMetadata.clear();
+        }
+
+        if (!pendingMovement.isEmpty()) {
+            for (Object2BooleanMap.Entry<Entity> entry : pendingMovement.object2BooleanEntrySet()) {
+                Entity entity = entry.getKey();
+                if (entity.isValid()) {
+                    entity.sendMovement(entry.getBooleanValue());
+                }
+            }
+            pendingMovement.clear();
+        }
+    }
+
+    /**
+     * Spawns or hides tracked mobs depending on their distance to the player.
+     * Called every tick; the actual check only runs every {@link #TRACKING_UPDATE_INTERVAL} ticks.
+     */
+    public void updateVisibleEntities() {
+        if (!trackingEnabled || --ticksUntilTrackingUpdate > 0) {
+            return;
+        }
+        ticksUntilTrackingUpdate = TRACKING_UPDATE_INTERVAL;
+
+        inRangeEntities.clear();
+        for (MobEntity entity : trackedEntities) {
+            if (isInTrackingRange(entity)) {
+                inRangeEntities.add(entity);
+            } else {
+                hideEntity(entity);
+            }
+        }
+
+        if (maxVisibleEntities != -1 && inRangeEntities.size() > maxVisibleEntities) {
+            // Display the closest mobs first
+            Vector3f playerPosition = session.getPlayerEntity().getPosition();
+            inRangeEntities.sort(Comparator.comparingDouble(entity -> entity.getPosition().distanceSquared(playerPosition)));
+            for (int i = maxVisibleEntities; i < inRangeEntities.size(); i++) {
+                hideEntity(inRangeEntities.get(i));
+            }
+            inRangeEntities.subList(maxVisibleEntities, inRangeEntities.size()).clear();
+        }
+
+        for (MobEntity entity : inRangeEntities) {
+            showEntity(entity);
+        }
+        inRangeEntities.clear();
+    }
+
+    /**
+     * Ensures that the entity is spawned on the Bedrock client, if it was hidden because of its distance to the player.
+     * Should be called before sending packets that the client must not miss, such as entity links.
+     */
+    public void showEntity(Entity entity) {
+        if (entity.isValid() || !(entity instanceof MobEntity mob) || !trackedEntities.contains(mob)) {
+            return;
+        }
+        entity.spawnEntity();
+        visibleTrackedEntities++;
+
+        // Equipment is not sent in the spawn packet, and any equipment updates were dropped while the mob was hidden
+        LivingEntity livingEntity = (LivingEntity) entity;
+        livingEntity.updateArmor(session);
+        livingEntity.updateMainHand(session);
+        livingEntity.updateOffHand(session);
+        // Attribute updates are kept while the mob is hidden, and health updates were sent to a despawned entity
+        livingEntity.sendPendingAttributes();
+    }
+
+    private void hideEntity(MobEntity entity) {
+        if (entity.isValid()) {
+            entity.despawnEntity();
+            visibleTrackedEntities--;
+        }
+    }
+
+    private boolean isInTrackingRange(MobEntity entity) {
+        if (entity.getVehicle() != null || !entity.getPassengers().isEmpty() || entity.getLeashHolderBedrockId() != -1) {
+            // Hiding either side of a link would break it on the client
+            return true;
+        }
+        int rangeSquared = isHostile(entity) ? hostileRangeSquared : passiveRangeSquared;
+        return entity.getPosition().distanceSquared(session.getPlayerEntity().getPosition()) <= rangeSquared;
+    }
+
+    private static boolean isHostile(MobEntity entity) {
+        return entity instanceof MonsterEntity || entity instanceof SlimeEntity || entity instanceof FlyingEntity;
     }
 
     public Entity getEntityByGeyserId(long geyserId) {
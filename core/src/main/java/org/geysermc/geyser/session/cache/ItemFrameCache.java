@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.nukkitx.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.util.MathUtils;
+import org.geysermc.geyser.util.collection.BlockPos2ObjectMap;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores all item frames by their Bedrock block position, and indexes them by chunk so chunk updates only need to
+ * check the item frames in that chunk.
+ */
+public class ItemFrameCache {
+    private final BlockPos2ObjectMap<ItemFrameEntity> itemFrames = new BlockPos2ObjectMap<>();
+    private final Long2ObjectMap<List<ItemFrameEntity>> itemFramesByChunk = new Long2ObjectOpenHashMap<>();
+
+    public ItemFrameEntity get(Vector3i position) {
+        return itemFrames.get(position);
+    }
+
+    public void put(Vector3i position, ItemFrameEntity itemFrame) {
+        ItemFrameEntity previous = itemFrames.put(position, itemFrame);
+        if (previous == itemFrame) {
+            return;
+        }
+        long chunkPosition = chunkPositionOf(position);
+        List<ItemFrameEntity> chunkItemFrames = itemFramesByChunk.computeIfAbsent(chunkPosition, k -> new ObjectArrayList<>());
+        if (previous != null) {
+            chunkItemFrames.remove(previous);
+        }
+        chunkItemFrames.add(itemFrame);
+    }
+
+    /**
+     * Removes the item frame at this position, if it is still the given item frame.
+     */
+    public void remove(Vector3i position, ItemFrameEntity itemFrame) {
+        if (itemFrames.remove(position, itemFrame)) {
+            long chunkPosition = chunkPositionOf(position);
+            List<ItemFrameEntity> chunkItemFrames = itemFramesByChunk.get(chunkPosition);
+            if (chunkItemFrames != null) {
+                chunkItemFrames.remove(itemFrame);
+                if (chunkItemFrames.isEmpty()) {
+                    itemFramesByChunk.remove(chunkPosition);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return all item frames in this chunk. Must not be modified.
+     */
+    public List<ItemFrameEntity> getItemFramesInChunk(int chunkX, int chunkZ) {
+        List<ItemFrameEntity> chunkItemFrames = itemFramesByChunk.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        return chunkItemFrames != null ? chunkItemFrames : Collections.emptyList();
+    }
+
+    public boolean isEmpty() {
+        return itemFrames.isEmpty();
+    }
+
+    public void clear() {
+        itemFrames.clear();
+        itemFramesByChunk.clear();
+    }
+
+    private static long chunkPositionOf(Vector3i position) {
+        return MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4);
+    }
+}
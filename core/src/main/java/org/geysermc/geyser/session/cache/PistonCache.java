@@ -29,6 +29,8 @@ import com.nukkitx.math.vector.Vector3d;
 import com.nukkitx.math.vector.Vector3f;
 import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.protocol.bedrock.packet.SetEntityMotionPacket;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -38,6 +40,8 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.level.physics.BoundingBox;
 import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
 import org.geysermc.geyser.level.physics.Axis;
+import org.geysermc.geyser.util.collection.BlockPos2ObjectMap;
+import org.geysermc.geyser.util.collection.PackedBlockPos;
 
 import java.util.Map;
 
@@ -55,7 +59,7 @@ public class PistonCache {
      * Maps the position of a moving block to the piston moving it
      * Positions in this map represent the starting position of the block
      */
-    private final Map<Vector3i, PistonBlockEntity> movingBlocksMap = new Object2ObjectOpenHashMap<>();
+    private final BlockPos2ObjectMap<PistonBlockEntity> movingBlocksMap = new BlockPos2ObjectMap<>();
 
     private Vector3d playerDisplacement = Vector3d.ZERO;
 
@@ -101,8 +105,8 @@ public class PistonCache {
 
             if (pistons.isEmpty() && !movingBlocksMap.isEmpty()) {
                 session.getGeyser().getLogger().error("The moving block map has de-synced!");
-                for (Map.Entry<Vector3i, PistonBlockEntity> entry : movingBlocksMap.entrySet()) {
-                    session.getGeyser().getLogger().error("Moving Block at " + entry.getKey() + " was previously owned by the piston at " + entry.getValue().getPosition());
+                for (Long2ObjectMap.Entry<PistonBlockEntity> entry : Long2ObjectMaps.fastIterable(movingBlocksMap)) {
+                    session.getGeyser().getLogger().error("Moving Block at " + PackedBlockPos.unpack(entry.getLongKey()) + " was previously owned by the piston at " + entry.getValue().getPosition());
                 }
             }
         }
@@ -158,16 +162,18 @@ public class PistonCache {
     }
 
     /**
-     * @param blockPos The block position to test
+     * @param x The x position of the block to test
+     * @param y The y position of the block to test
+     * @param z The z position of the block to test
      * @param boundingBox The bounding box that moves
      * @param axis The axis to apply the offset
      * @param offset The current maximum distance the bounding box can travel
      * @return The new maximum distance the bounding box can travel without colliding with the tested moving block
      */
-    public double computeCollisionOffset(Vector3i blockPos, BoundingBox boundingBox, Axis axis, double offset) {
-        PistonBlockEntity piston = movingBlocksMap.get(blockPos);
+    public double computeCollisionOffset(int x, int y, int z, BoundingBox boundingBox, Axis axis, double offset) {
+        PistonBlockEntity piston = movingBlocksMap.get(x, y, z);
         if (piston != null) {
-            return piston.computeCollisionOffset(blockPos, boundingBox, axis, offset);
+            return piston.computeCollisionOffset(x, y, z, boundingBox, axis, offset);
         }
         return offset;
     }
@@ -175,7 +181,7 @@ public class PistonCache {
     public boolean checkCollision(Vector3i blockPos, BoundingBox boundingBox) {
         PistonBlockEntity piston = movingBlocksMap.get(blockPos);
         if (piston != null) {
-            return piston.checkCollision(blockPos, boundingBox);
+            return piston.checkCollision(blockPos.getX(), blockPos.getY(), blockPos.getZ(), boundingBox);
         }
         return false;
     }
@@ -26,14 +26,19 @@
 package org.geysermc.geyser.session.cache;
 
 import com.github.steveice10.mc.auth.data.GameProfile;
+import com.nukkitx.math.GenericMath;
 import com.nukkitx.math.vector.Vector3f;
 import com.nukkitx.math.vector.Vector3i;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.geysermc.geyser.entity.type.player.SkullPlayerEntity;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
+import org.geysermc.geyser.util.collection.BlockPos2ObjectMap;
 
 import java.util.*;
 
@@ -42,6 +47,10 @@ public class SkullCache {
     private final boolean cullingEnabled;
 
     private final int skullRenderDistanceSquared;
+    /**
+     * The radius in chunks that needs to be checked to find all skulls within the render distance
+     */
+    private final int skullRenderDistanceChunks;
 
     /**
      * The time in milliseconds before unused skull entities are despawned
@@ -49,9 +58,24 @@ public class SkullCache {
     private static final long CLEANUP_PERIOD = 10000;
 
     @Getter
-    private final Map<Vector3i, Skull> skulls = new Object2ObjectOpenHashMap<>();
+    private final BlockPos2ObjectMap<Skull> skulls = new BlockPos2ObjectMap<>();
+
+    /**
+     * All skulls, indexed by the chunk they are in, so only the chunks around the player have to be checked
+     */
+    private final Long2ObjectMap<List<Skull>> skullsByChunk = new Long2ObjectOpenHashMap<>();
 
-    private final List<Skull> inRangeSkulls = new ArrayList<>();
+    /**
+     * Skulls within the render distance, bucketed by their distance to the player in whole blocks. The closest skulls
+     * are found by walking the buckets in order, so nothing has to be sorted when the player moves, and a skull only
+     * changes bucket when its distance changed by at least a block.
+     */
+    private final List<Skull>[] inRangeSkulls;
+    private int inRangeSkullCount = 0;
+    /**
+     * Incremented on every visibility update, to find skulls that were in range before but were not visited this time
+     */
+    private int updateId = 0;
 
     private final Deque<SkullPlayerEntity> unusedSkullEntities = new ArrayDeque<>();
     private int totalSkullEntities = 0;
@@ -70,10 +94,22 @@ public class SkullCache {
         // Normal skulls are not rendered beyond 64 blocks
         int distance = Math.min(session.getGeyser().getConfig().getCustomSkullRenderDistance(), 64);
         this.skullRenderDistanceSquared = distance * distance;
+        this.skullRenderDistanceChunks = (distance >> 4) + 1;
+
+        //noinspection unchecked
+        this.inRangeSkulls = new List[distance + 1];
+        for (int i = 0; i < inRangeSkulls.length; i++) {
+            inRangeSkulls[i] = new ObjectArrayList<>();
+        }
     }
 
     public void putSkull(Vector3i position, GameProfile profile, int blockState) {
-        Skull skull = skulls.computeIfAbsent(position, Skull::new);
+        Skull skull = skulls.get(position);
+        if (skull == null) {
+            skull = new Skull(position);
+            skulls.put(position, skull);
+            skullsByChunk.computeIfAbsent(MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4), k -> new ObjectArrayList<>()).add(skull);
+        }
         skull.profile = profile;
         skull.blockState = blockState;
 
@@ -84,22 +120,20 @@ public class SkullCache {
                 assignSkullEntity(skull);
                 return;
             }
-            if (lastPlayerPosition == null) {
+            if (lastPlayerPosition == null || skull.bucket != -1) {
+                // Skulls that are already in range get their entity on the next visibility update
                 return;
             }
             skull.distanceSquared = position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
-            if (skull.distanceSquared < skullRenderDistanceSquared) {
-                // Keep list in order
-                int i = Collections.binarySearch(inRangeSkulls, skull, Comparator.comparingInt(Skull::getDistanceSquared));
-                if (i < 0) { // skull.distanceSquared is a new distance value
-                    i = -i - 1;
-                }
-                inRangeSkulls.add(i, skull);
+            if (skull.distanceSquared <= skullRenderDistanceSquared) {
+                int bucket = bucketFor(skull.distanceSquared);
+                skull.lastUpdateId = updateId;
+                addInRange(skull, bucket);
 
-                if (i < maxVisibleSkulls) {
+                if (countCloserThan(bucket) < maxVisibleSkulls) {
                     // Reassign entity from the farthest skull to this one
-                    if (inRangeSkulls.size() > maxVisibleSkulls) {
-                        freeSkullEntity(inRangeSkulls.get(maxVisibleSkulls));
+                    if (inRangeSkullCount > maxVisibleSkulls) {
+                        freeFarthestSkullEntity(skull);
                     }
                     assignSkullEntity(skull);
                 }
@@ -109,19 +143,40 @@ public class SkullCache {
 
     public void removeSkull(Vector3i position) {
         Skull skull = skulls.remove(position);
-        if (skull != null && skull.entity != null) {
+        if (skull != null) {
+            long chunkPosition = MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4);
+            List<Skull> chunkSkulls = skullsByChunk.get(chunkPosition);
+            if (chunkSkulls != null) {
+                chunkSkulls.remove(skull);
+                if (chunkSkulls.isEmpty()) {
+                    skullsByChunk.remove(chunkPosition);
+                }
+            }
+
+            boolean hadEntity = skull.entity != null;
             freeSkullEntity(skull);
 
-            if (cullingEnabled) {
-                inRangeSkulls.remove(skull);
-                if (inRangeSkulls.size() >= maxVisibleSkulls) {
-                    // Reassign entity to the closest skull without an entity
-                    assignSkullEntity(inRangeSkulls.get(maxVisibleSkulls - 1));
+            if (cullingEnabled && skull.bucket != -1) {
+                removeInRange(skull);
+                if (hadEntity) {
+                    assignClosestSkullWithoutEntity();
                 }
             }
         }
     }
 
+    /**
+     * Removes all skulls in the given chunk
+     */
+    public void removeSkullsInChunk(int chunkX, int chunkZ) {
+        List<Skull> chunkSkulls = skullsByChunk.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        if (chunkSkulls != null) {
+            for (Skull skull : new ArrayList<>(chunkSkulls)) {
+                removeSkull(skull.position);
+            }
+        }
+    }
+
     public void updateVisibleSkulls() {
         if (cullingEnabled) {
             // No need to recheck skull visibility for small movements
@@ -130,22 +185,66 @@ public class SkullCache {
             }
             lastPlayerPosition = session.getPlayerEntity().getPosition();
 
-            inRangeSkulls.clear();
-            for (Skull skull : skulls.values()) {
-                skull.distanceSquared = skull.position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
-                if (skull.distanceSquared > skullRenderDistanceSquared) {
-                    freeSkullEntity(skull);
-                } else {
-                    inRangeSkulls.add(skull);
+            updateId++;
+
+            // Only visit the chunks that can contain skulls within the render distance
+            int playerChunkX = GenericMath.floor(lastPlayerPosition.getX()) >> 4;
+            int playerChunkZ = GenericMath.floor(lastPlayerPosition.getZ()) >> 4;
+            for (int chunkX = playerChunkX - skullRenderDistanceChunks; chunkX <= playerChunkX + skullRenderDistanceChunks; chunkX++) {
+                for (int chunkZ = playerChunkZ - skullRenderDistanceChunks; chunkZ <= playerChunkZ + skullRenderDistanceChunks; chunkZ++) {
+                    List<Skull> chunkSkulls = skullsByChunk.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+                    if (chunkSkulls == null) {
+                        continue;
+                    }
+                    for (Skull skull : chunkSkulls) {
+                        skull.distanceSquared = skull.position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
+                        int bucket = skull.distanceSquared <= skullRenderDistanceSquared ? bucketFor(skull.distanceSquared) : -1;
+                        if (bucket != skull.bucket) {
+                            if (skull.bucket != -1) {
+                                removeInRange(skull);
+                            }
+                            if (bucket != -1) {
+                                addInRange(skull, bucket);
+                            } else {
+                                freeSkullEntity(skull);
+                            }
+                        }
+                        skull.lastUpdateId = updateId;
+                    }
                 }
             }
-            inRangeSkulls.sort(Comparator.comparingInt(Skull::getDistanceSquared));
 
-            for (int i = inRangeSkulls.size() - 1; i >= 0; i--) {
-                if (i < maxVisibleSkulls) {
-                    assignSkullEntity(inRangeSkulls.get(i));
-                } else {
-                    freeSkullEntity(inRangeSkulls.get(i));
+            // Free skulls in chunks that are no longer visited. Iterate backwards, as removing moves the last skull
+            // of the bucket into the removed slot
+            for (List<Skull> bucket : inRangeSkulls) {
+                for (int i = bucket.size() - 1; i >= 0; i--) {
+                    Skull skull = bucket.get(i);
+                    if (skull.lastUpdateId != updateId) {
+                        removeInRange(skull);
+                        freeSkullEntity(skull);
+                    }
+                }
+            }
+
+            // Free the entities of the farthest skulls first so they can be reused for the closest ones
+            int rank = 0;
+            for (List<Skull> bucket : inRangeSkulls) {
+                for (Skull skull : bucket) {
+                    if (rank++ >= maxVisibleSkulls) {
+                        freeSkullEntity(skull);
+                    }
+                }
+            }
+            rank = 0;
+            for (List<Skull> bucket : inRangeSkulls) {
+                for (Skull skull : bucket) {
+                    if (rank++ >= maxVisibleSkulls) {
+                        break;
+                    }
+                    assignSkullEntity(skull);
+                }
+                if (rank >= maxVisibleSkulls) {
+                    break;
                 }
             }
         }
@@ -162,6 +261,69 @@ public class SkullCache {
         }
     }
 
+    private int bucketFor(int distanceSquared) {
+        return (int) Math.sqrt(distanceSquared);
+    }
+
+    private void addInRange(Skull skull, int bucket) {
+        List<Skull> skulls = inRangeSkulls[bucket];
+        skull.bucket = bucket;
+        skull.bucketIndex = skulls.size();
+        skulls.add(skull);
+        inRangeSkullCount++;
+    }
+
+    private void removeInRange(Skull skull) {
+        List<Skull> skulls = inRangeSkulls[skull.bucket];
+        // Move the last skull of the bucket into the free slot instead of shifting the others
+        Skull last = skulls.remove(skulls.size() - 1);
+        if (last != skull) {
+            skulls.set(skull.bucketIndex, last);
+            last.bucketIndex = skull.bucketIndex;
+        }
+        skull.bucket = -1;
+        inRangeSkullCount--;
+    }
+
+    /**
+     * @return the number of skulls in range that are in a closer bucket
+     */
+    private int countCloserThan(int bucket) {
+        int count = 0;
+        for (int i = 0; i < bucket; i++) {
+            count += inRangeSkulls[i].size();
+        }
+        return count;
+    }
+
+    private void freeFarthestSkullEntity(Skull except) {
+        for (int i = inRangeSkulls.length - 1; i >= 0; i--) {
+            List<Skull> skulls = inRangeSkulls[i];
+            for (int j = skulls.size() - 1; j >= 0; j--) {
+                Skull skull = skulls.get(j);
+                if (skull != except && skull.entity != null) {
+                    freeSkullEntity(skull);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void assignClosestSkullWithoutEntity() {
+        int rank = 0;
+        for (List<Skull> skulls : inRangeSkulls) {
+            for (Skull skull : skulls) {
+                if (rank++ >= maxVisibleSkulls) {
+                    return;
+                }
+                if (skull.entity == null) {
+                    assignSkullEntity(skull);
+                    return;
+                }
+            }
+        }
+    }
+
     private void assignSkullEntity(Skull skull) {
         if (skull.entity != null) {
             return;
@@ -192,7 +354,11 @@ public class SkullCache {
 
     public void clear() {
         skulls.clear();
-        inRangeSkulls.clear();
+        skullsByChunk.clear();
+        for (List<Skull> skulls : inRangeSkulls) {
+            skulls.clear();
+        }
+        inRangeSkullCount = 0;
         unusedSkullEntities.clear();
         totalSkullEntities = 0;
         lastPlayerPosition = null;
@@ -207,5 +373,11 @@ public class SkullCache {
 
         private final Vector3i position;
         private int distanceSquared;
+        private int lastUpdateId;
+        /**
+         * The distance bucket of this skull, or -1 if it is not in range
+         */
+        private int bucket = -1;
+        private int bucketIndex;
     }
 }
\ No newline at end of file
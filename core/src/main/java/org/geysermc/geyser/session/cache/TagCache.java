@@ -26,6 +26,8 @@
 package org.geysermc.geyser.session.cache;
 
 import com.github.steveice10.mc.protocol.packet.ingame.clientbound.ClientboundUpdateTagsPacket;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
 import org.geysermc.geyser.inventory.GeyserItemStack;
@@ -34,7 +36,12 @@ import org.geysermc.geyser.registry.type.ItemMapping;
 import org.geysermc.geyser.session.GeyserSession;
 
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Manages information sent from the {@link ClientboundUpdateTagsPacket}. If that packet is not sent, all lists here
@@ -42,26 +49,19 @@ import java.util.Map;
  */
 @ParametersAreNonnullByDefault
 public class TagCache {
-    /* Blocks */
-    private IntList leaves;
-    private IntList wool;
-
-    private IntList axeEffective;
-    private IntList hoeEffective;
-    private IntList pickaxeEffective;
-    private IntList shovelEffective;
-
-    private IntList requiresStoneTool;
-    private IntList requiresIronTool;
-    private IntList requiresDiamondTool;
-
-    /* Items */
-    private IntList axolotlTemptItems;
-    private IntList fishes;
-    private IntList flowers;
-    private IntList foxFood;
-    private IntList piglinLoved;
-    private IntList smallFlowers;
+    /**
+     * Every player on a server receives the same tags, so sessions with identical tags share one instance.
+     */
+    private static final Cache<List<IntList>, BitSet[]> SHARED_TAGS = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
+
+    private static final BitSet[] EMPTY_TAGS = createTags(Collections.nCopies(Tag.VALUES.length, IntLists.emptyList()));
+
+    /**
+     * Indexed by {@link Tag#ordinal()}. Shared between sessions, so never modify these.
+     */
+    private BitSet[] tags;
 
     public TagCache() {
         // Ensure all lists are non-null
@@ -70,25 +70,19 @@ public class TagCache {
 
     public void loadPacket(GeyserSession session, ClientboundUpdateTagsPacket packet) {
         Map<String, int[]> blockTags = packet.getTags().get("minecraft:block");
-        this.leaves = IntList.of(blockTags.get("minecraft:leaves"));
-        this.wool = IntList.of(blockTags.get("minecraft:wool"));
-
-        this.axeEffective = IntList.of(blockTags.get("minecraft:mineable/axe"));
-        this.hoeEffective = IntList.of(blockTags.get("minecraft:mineable/hoe"));
-        this.pickaxeEffective = IntList.of(blockTags.get("minecraft:mineable/pickaxe"));
-        this.shovelEffective = IntList.of(blockTags.get("minecraft:mineable/shovel"));
-
-        this.requiresStoneTool = IntList.of(blockTags.get("minecraft:needs_stone_tool"));
-        this.requiresIronTool = IntList.of(blockTags.get("minecraft:needs_iron_tool"));
-        this.requiresDiamondTool = IntList.of(blockTags.get("minecraft:needs_diamond_tool"));
-
         Map<String, int[]> itemTags = packet.getTags().get("minecraft:item");
-        this.axolotlTemptItems = IntList.of(itemTags.get("minecraft:axolotl_tempt_items"));
-        this.fishes = IntList.of(itemTags.get("minecraft:fishes"));
-        this.flowers = IntList.of(itemTags.get("minecraft:flowers"));
-        this.foxFood = IntList.of(itemTags.get("minecraft:fox_food"));
-        this.piglinLoved = IntList.of(itemTags.get("minecraft:piglin_loved"));
-        this.smallFlowers = IntList.of(itemTags.get("minecraft:small_flowers"));
+
+        List<IntList> contents = new ArrayList<>(Tag.VALUES.length);
+        for (Tag tag : Tag.VALUES) {
+            int[] ids = (tag.block ? blockTags : itemTags).get(tag.identifier);
+            contents.add(ids == null ? IntLists.emptyList() : IntList.of(ids));
+        }
+        try {
+            this.tags = SHARED_TAGS.get(contents, () -> createTags(contents));
+        } catch (ExecutionException e) {
+            // createTags does not throw checked exceptions
+            throw new RuntimeException(e);
+        }
 
         // Hack btw
         boolean emulatePost1_14Logic = itemTags.get("minecraft:signs").length > 1;
@@ -99,80 +93,115 @@ public class TagCache {
     }
 
     public void clear() {
-        this.leaves = IntLists.emptyList();
-        this.wool = IntLists.emptyList();
-
-        this.axeEffective = IntLists.emptyList();
-        this.hoeEffective = IntLists.emptyList();
-        this.pickaxeEffective = IntLists.emptyList();
-        this.shovelEffective = IntLists.emptyList();
-
-        this.requiresStoneTool = IntLists.emptyList();
-        this.requiresIronTool = IntLists.emptyList();
-        this.requiresDiamondTool = IntLists.emptyList();
+        this.tags = EMPTY_TAGS;
+    }
 
-        this.axolotlTemptItems = IntLists.emptyList();
-        this.fishes = IntLists.emptyList();
-        this.flowers = IntLists.emptyList();
-        this.foxFood = IntLists.emptyList();
-        this.piglinLoved = IntLists.emptyList();
-        this.smallFlowers = IntLists.emptyList();
+    private boolean contains(Tag tag, int javaId) {
+        return javaId >= 0 && tags[tag.ordinal()].get(javaId);
     }
 
     public boolean isAxolotlTemptItem(ItemMapping itemMapping) {
-        return axolotlTemptItems.contains(itemMapping.getJavaId());
+        return contains(Tag.AXOLOTL_TEMPT_ITEMS, itemMapping.getJavaId());
     }
 
     public boolean isFish(GeyserItemStack itemStack) {
-        return fishes.contains(itemStack.getJavaId());
+        return contains(Tag.FISHES, itemStack.getJavaId());
     }
 
     public boolean isFlower(ItemMapping mapping) {
-        return flowers.contains(mapping.getJavaId());
+        return contains(Tag.FLOWERS, mapping.getJavaId());
     }
 
     public boolean isFoxFood(ItemMapping mapping) {
-        return foxFood.contains(mapping.getJavaId());
+        return contains(Tag.FOX_FOOD, mapping.getJavaId());
     }
 
     public boolean shouldPiglinAdmire(ItemMapping mapping) {
-        return piglinLoved.contains(mapping.getJavaId());
+        return contains(Tag.PIGLIN_LOVED, mapping.getJavaId());
     }
 
     public boolean isSmallFlower(GeyserItemStack itemStack) {
-        return smallFlowers.contains(itemStack.getJavaId());
+        return contains(Tag.SMALL_FLOWERS, itemStack.getJavaId());
     }
 
     public boolean isAxeEffective(BlockMapping blockMapping) {
-        return axeEffective.contains(blockMapping.getJavaBlockId());
+        return contains(Tag.AXE_EFFECTIVE, blockMapping.getJavaBlockId());
     }
 
     public boolean isHoeEffective(BlockMapping blockMapping) {
-        return hoeEffective.contains(blockMapping.getJavaBlockId());
+        return contains(Tag.HOE_EFFECTIVE, blockMapping.getJavaBlockId());
     }
 
     public boolean isPickaxeEffective(BlockMapping blockMapping) {
-        return pickaxeEffective.contains(blockMapping.getJavaBlockId());
+        return contains(Tag.PICKAXE_EFFECTIVE, blockMapping.getJavaBlockId());
     }
 
     public boolean isShovelEffective(BlockMapping blockMapping) {
-        return shovelEffective.contains(blockMapping.getJavaBlockId());
+        return contains(Tag.SHOVEL_EFFECTIVE, blockMapping.getJavaBlockId());
     }
 
     public boolean isShearsEffective(BlockMapping blockMapping) {
         int javaBlockId = blockMapping.getJavaBlockId();
-        return leaves.contains(javaBlockId) || wool.contains(javaBlockId);
+        return contains(Tag.LEAVES, javaBlockId) || contains(Tag.WOOL, javaBlockId);
     }
 
     public boolean requiresStoneTool(BlockMapping blockMapping) {
-        return requiresStoneTool.contains(blockMapping.getJavaBlockId());
+        return contains(Tag.REQUIRES_STONE_TOOL, blockMapping.getJavaBlockId());
     }
 
     public boolean requiresIronTool(BlockMapping blockMapping) {
-        return requiresIronTool.contains(blockMapping.getJavaBlockId());
+        return contains(Tag.REQUIRES_IRON_TOOL, blockMapping.getJavaBlockId());
     }
 
     public boolean requiresDiamondTool(BlockMapping blockMapping) {
-        return requiresDiamondTool.contains(blockMapping.getJavaBlockId());
+        return contains(Tag.REQUIRES_DIAMOND_TOOL, blockMapping.getJavaBlockId());
+    }
+
+    private static BitSet[] createTags(List<IntList> contents) {
+        BitSet[] tags = new BitSet[contents.size()];
+        for (int i = 0; i < tags.length; i++) {
+            BitSet bitSet = new BitSet();
+            for (int id : contents.get(i)) {
+                bitSet.set(id);
+            }
+            tags[i] = bitSet;
+        }
+        return tags;
+    }
+
+    /**
+     * The tags Geyser needs, in the order they are stored.
+     */
+    private enum Tag {
+        /* Blocks */
+        LEAVES(true, "minecraft:leaves"),
+        WOOL(true, "minecraft:wool"),
+
+        AXE_EFFECTIVE(true, "minecraft:mineable/axe"),
+        HOE_EFFECTIVE(true, "minecraft:mineable/hoe"),
+        PICKAXE_EFFECTIVE(true, "minecraft:mineable/pickaxe"),
+        SHOVEL_EFFECTIVE(true, "minecraft:mineable/shovel"),
+
+        REQUIRES_STONE_TOOL(true, "minecraft:needs_stone_tool"),
+        REQUIRES_IRON_TOOL(true, "minecraft:needs_iron_tool"),
+        REQUIRES_DIAMOND_TOOL(true, "minecraft:needs_diamond_tool"),
+
+        /* Items */
+        AXOLOTL_TEMPT_ITEMS(false, "minecraft:axolotl_tempt_items"),
+        FISHES(false, "minecraft:fishes"),
+        FLOWERS(false, "minecraft:flowers"),
+        FOX_FOOD(false, "minecraft:fox_food"),
+        PIGLIN_LOVED(false, "minecraft:piglin_loved"),
+        SMALL_FLOWERS(false, "minecraft:small_flowers");
+
+        private static final Tag[] VALUES = values();
+
+        private final boolean block;
+        private final String identifier;
+
+        Tag(boolean block, String identifier) {
+            this.block = block;
+            this.identifier = identifier;
+        }
     }
 }
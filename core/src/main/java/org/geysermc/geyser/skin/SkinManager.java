@@ -30,9 +30,12 @@ import com.github.steveice10.mc.auth.data.GameProfile;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.github.steveice10.opennbt.tag.builtin.ListTag;
 import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.nukkitx.protocol.bedrock.data.skin.ImageData;
 import com.nukkitx.protocol.bedrock.data.skin.SerializedSkin;
 import com.nukkitx.protocol.bedrock.packet.PlayerListPacket;
+import com.nukkitx.protocol.bedrock.packet.PlayerSkinPacket;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.session.auth.AuthType;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
@@ -43,12 +46,31 @@ import org.geysermc.geyser.text.GeyserLocale;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public class SkinManager {
+    /**
+     * Sent in player list entries instead of the real skin if lazy player list skins are enabled.
+     * A blank 64x32 skin is the smallest the client accepts, and compresses to almost nothing.
+     */
+    private static final SkinProvider.Skin PLACEHOLDER_SKIN = new SkinProvider.Skin(null, "geyser.placeholder", new byte[64 * 32 * 4], -1, false, false);
+
+    /**
+     * The same skins are sent to many sessions, so they all share one {@link SerializedSkin}.
+     * Weighed by the size of the image data it holds on to.
+     */
+    private static final Cache<SerializedSkinKey, SerializedSkin> SERIALIZED_SKINS = CacheBuilder.newBuilder()
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .maximumWeight(64 * 1024 * 1024)
+            .weigher((SerializedSkinKey key, SerializedSkin skin) -> key.skinData().length + key.capeData().length)
+            .build();
 
     /**
      * Builds a Bedrock player list entry from our existing, cached Bedrock skin information
@@ -59,7 +81,11 @@ public class SkinManager {
         SkinProvider.SkinGeometry geometry = SkinProvider.SkinGeometry.getLegacy(data.isAlex());
 
         SkinProvider.Skin skin = SkinProvider.getCachedSkin(data.skinUrl());
-        if (skin == null) {
+        if (session.getGeyser().getConfig().isLazyPlayerListSkins() && (skin == null || !playerEntity.isSkinSent())) {
+            // The real skin is sent once the player spawns; if it already was, don't overwrite it with the placeholder
+            skin = PLACEHOLDER_SKIN;
+            cape = SkinProvider.EMPTY_CAPE;
+        } else if (skin == null) {
             skin = SkinProvider.EMPTY_SKIN;
         }
 
@@ -83,11 +109,7 @@ public class SkinManager {
                                                             String skinId, byte[] skinData,
                                                             String capeId, byte[] capeData,
                                                             SkinProvider.SkinGeometry geometry) {
-        SerializedSkin serializedSkin = SerializedSkin.of(
-                skinId, "", geometry.getGeometryName(), ImageData.of(skinData), Collections.emptyList(),
-                ImageData.of(capeData), geometry.getGeometryData(), "", true, false,
-                !capeId.equals(SkinProvider.EMPTY_CAPE.getCapeId()), capeId, skinId
-        );
+        SerializedSkin serializedSkin = getSerializedSkin(skinId, skinData, capeId, capeData, geometry);
 
         // This attempts to find the XUID of the player so profile images show up for Xbox accounts
         String xuid = "";
@@ -117,6 +139,29 @@ public class SkinManager {
         return entry;
     }
 
+    /**
+     * @return a skin shared with every other session showing the same skin, cape and geometry
+     */
+    private static SerializedSkin getSerializedSkin(String skinId, byte[] skinData, String capeId, byte[] capeData,
+                                                    SkinProvider.SkinGeometry geometry) {
+        SerializedSkinKey key = new SerializedSkinKey(skinId, skinData, capeId, capeData,
+                geometry.getGeometryName(), geometry.getGeometryData());
+        try {
+            return SERIALIZED_SKINS.get(key, () -> createSerializedSkin(key));
+        } catch (ExecutionException e) {
+            // Cannot happen, creating the skin does not throw checked exceptions
+            return createSerializedSkin(key);
+        }
+    }
+
+    private static SerializedSkin createSerializedSkin(SerializedSkinKey key) {
+        return SerializedSkin.of(
+                key.skinId(), "", key.geometryName(), ImageData.of(key.skinData()), Collections.emptyList(),
+                ImageData.of(key.capeData()), key.geometryData(), "", true, false,
+                !key.capeId().equals(SkinProvider.EMPTY_CAPE.getCapeId()), key.capeId(), key.skinId()
+        );
+    }
+
     public static void requestAndHandleSkinAndCape(PlayerEntity entity, GeyserSession session,
                                                    Consumer<SkinProvider.SkinAndCape> skinAndCapeConsumer) {
         SkinProvider.requestSkinData(entity).whenCompleteAsync((skinData, throwable) -> {
@@ -133,6 +178,25 @@ public class SkinManager {
                 SkinProvider.Cape cape = skinData.cape();
                 SkinProvider.SkinGeometry geometry = skinData.geometry();
 
+                if (entity.isPlayerList() && entity != session.getPlayerEntity()
+                        && session.getGeyser().getConfig().isLazyPlayerListSkins()) {
+                    // The player list entry already exists with a placeholder skin; just swap in the real one
+                    PlayerSkinPacket packet = new PlayerSkinPacket();
+                    packet.setUuid(entity.getUuid());
+                    packet.setOldSkinName("");
+                    packet.setNewSkinName(skin.getTextureUrl());
+                    packet.setSkin(getSerializedSkin(skin.getTextureUrl(), skin.getSkinData(),
+                            cape.getCapeId(), cape.getCapeData(), geometry));
+                    packet.setTrustedSkin(true);
+                    session.sendUpstreamPacket(packet);
+                    entity.setSkinSent(true);
+
+                    if (skinAndCapeConsumer != null) {
+                        skinAndCapeConsumer.accept(new SkinProvider.SkinAndCape(skin, cape));
+                    }
+                    return;
+                }
+
                 PlayerListPacket.Entry updatedEntry = buildEntryManually(
                         session,
                         entity.getUuid(),
@@ -150,6 +214,7 @@ public class SkinManager {
                 playerAddPacket.setAction(PlayerListPacket.Action.ADD);
                 playerAddPacket.getEntries().add(updatedEntry);
                 session.sendUpstreamPacket(playerAddPacket);
+                entity.setSkinSent(true);
 
                 if (!entity.isPlayerList()) {
                     PlayerListPacket playerRemovePacket = new PlayerListPacket();
@@ -297,4 +362,31 @@ public class SkinManager {
             return new GameProfileData(skinUrl, capeUrl, isAlex);
         }
     }
+
+    /**
+     * Skin and cape data are compared by content, so equal skins loaded separately still share an entry.
+     * The hash is computed once, as the image data can be large.
+     */
+    private record SerializedSkinKey(String skinId, byte[] skinData, String capeId, byte[] capeData,
+                                     String geometryName, String geometryData, int hash) {
+        SerializedSkinKey(String skinId, byte[] skinData, String capeId, byte[] capeData,
+                          String geometryName, String geometryData) {
+            this(skinId, skinData, capeId, capeData, geometryName, geometryData,
+                    Objects.hash(skinId, capeId, geometryName, Arrays.hashCode(skinData), Arrays.hashCode(capeData)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SerializedSkinKey other)) return false;
+            return hash == other.hash && Objects.equals(skinId, other.skinId) && Objects.equals(capeId, other.capeId)
+                    && Objects.equals(geometryName, other.geometryName) && Objects.equals(geometryData, other.geometryData)
+                    && Arrays.equals(skinData, other.skinData) && Arrays.equals(capeData, other.capeData);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -31,10 +31,11 @@ import com.github.steveice10.mc.protocol.data.game.chunk.palette.GlobalPalette;
 import com.github.steveice10.mc.protocol.data.game.chunk.palette.Palette;
 import com.github.steveice10.mc.protocol.data.game.chunk.palette.SingletonPalette;
 import com.github.steveice10.opennbt.tag.builtin.*;
-import it.unimi.dsi.fastutil.ints.Int2IntMap;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntLists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.*;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.level.chunk.BlockStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
@@ -44,12 +45,47 @@ import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.util.MathUtils;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
 // Array index formula by https://wiki.vg/Chunk_Format
 public class BiomeTranslator {
+    /**
+     * Biome sections with at most this many palette entries have their translation cached. Sections with more
+     * biomes than this rarely repeat.
+     */
+    private static final int MAX_CACHED_PALETTE_SIZE = 4;
+    /**
+     * The approximate maximum amount of memory used by cached biome sections, in bytes.
+     */
+    private static final long MAXIMUM_CACHED_SECTIONS_SIZE = 4L * 1024 * 1024;
+
+    /**
+     * Servers send every player the same dimension codec, so all sessions on a server share one translation table.
+     */
+    private static final Cache<TranslationsKey, Int2IntMap> SHARED_TRANSLATIONS = CacheBuilder.newBuilder()
+            .maximumSize(16)
+            .build();
+    /**
+     * Serialized biome sections, keyed by their Java contents and the (shared) translation table used.
+     */
+    private static final Cache<SectionKey, byte[]> CACHED_SECTIONS = CacheBuilder.newBuilder()
+            .maximumWeight(MAXIMUM_CACHED_SECTIONS_SIZE)
+            .weigher((SectionKey key, byte[] section) -> section.length + key.storage.length * Long.BYTES)
+            .build();
+    /**
+     * Serialized singleton biome sections, by Bedrock biome ID.
+     */
+    private static final Int2ObjectMap<byte[]> SINGLETON_SECTIONS = new Int2ObjectOpenHashMap<>();
+
+    static {
+        for (int bedrockId : Registries.BIOME_IDENTIFIERS.get().values()) {
+            SINGLETON_SECTIONS.put(bedrockId, serialize(new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId))));
+        }
+    }
 
     public static void loadServerBiomes(GeyserSession session, CompoundTag codec) {
-        Int2IntMap biomeTranslations = session.getBiomeTranslations();
-        biomeTranslations.clear();
+        Int2IntMap biomeTranslations = new Int2IntOpenHashMap();
 
         CompoundTag worldGen = codec.get("minecraft:worldgen/biome");
         ListTag serverBiomes = worldGen.get("value");
@@ -85,6 +121,47 @@ public class BiomeTranslator {
                 biomeTranslations.defaultReturnValue(bedrockId);
             }
         }
+
+        TranslationsKey key = new TranslationsKey(biomeTranslations, biomeTranslations.defaultReturnValue());
+        try {
+            session.setBiomeTranslations(SHARED_TRANSLATIONS.get(key, () -> Int2IntMaps.unmodifiable(biomeTranslations)));
+        } catch (ExecutionException e) {
+            // Cannot happen, wrapping the map does not throw checked exceptions
+            session.setBiomeTranslations(Int2IntMaps.unmodifiable(biomeTranslations));
+        }
+    }
+
+    /**
+     * Writes the Bedrock form of a Java biome section, reusing the serialized form of singleton and small-palette
+     * sections that have been seen before.
+     */
+    public static void writeBedrockBiome(GeyserSession session, DataPalette biomeData, ByteBuf byteBuf) {
+        Int2IntMap biomeTranslations = session.getBiomeTranslations();
+        Palette palette = biomeData.getPalette();
+        if (palette instanceof SingletonPalette) {
+            byte[] section = SINGLETON_SECTIONS.get(biomeTranslations.get(palette.idToState(0)));
+            if (section != null) {
+                byteBuf.writeBytes(section);
+                return;
+            }
+        } else if (!(palette instanceof GlobalPalette) && palette.size() <= MAX_CACHED_PALETTE_SIZE) {
+            int[] javaPalette = new int[palette.size()];
+            for (int i = 0; i < javaPalette.length; i++) {
+                javaPalette[i] = palette.idToState(i);
+            }
+            BitStorage bitStorage = biomeData.getStorage();
+            SectionKey key = new SectionKey(biomeTranslations, javaPalette, bitStorage.getBitsPerEntry(), bitStorage.getData().clone());
+
+            byte[] section = CACHED_SECTIONS.getIfPresent(key);
+            if (section == null) {
+                section = serialize(toNewBedrockBiome(session, biomeData));
+                CACHED_SECTIONS.put(key, section);
+            }
+            byteBuf.writeBytes(section);
+            return;
+        }
+
+        toNewBedrockBiome(session, biomeData).writeToNetwork(byteBuf);
     }
 
     public static BlockStorage toNewBedrockBiome(GeyserSession session, DataPalette biomeData) {
@@ -155,4 +232,61 @@ public class BiomeTranslator {
             }
         }
     }
+
+    private static byte[] serialize(BlockStorage storage) {
+        ByteBuf byteBuf = Unpooled.buffer(storage.estimateNetworkSize());
+        try {
+            storage.writeToNetwork(byteBuf);
+            byte[] bytes = new byte[byteBuf.readableBytes()];
+            byteBuf.readBytes(bytes);
+            return bytes;
+        } finally {
+            byteBuf.release();
+        }
+    }
+
+    /**
+     * The default return value is not part of {@link Int2IntMap#equals(Object)}, so it is kept alongside.
+     */
+    private record TranslationsKey(Int2IntMap translations, int defaultBiome) {
+    }
+
+    private static final class SectionKey {
+        /**
+         * Compared by identity, as translation tables are shared.
+         */
+        private final Int2IntMap translations;
+        private final int[] palette;
+        private final int bitsPerEntry;
+        private final long[] storage;
+        private final int hashCode;
+
+        private SectionKey(Int2IntMap translations, int[] palette, int bitsPerEntry, long[] storage) {
+            this.translations = translations;
+            this.palette = palette;
+            this.bitsPerEntry = bitsPerEntry;
+            this.storage = storage;
+            int hashCode = System.identityHashCode(translations);
+            hashCode = 31 * hashCode + Arrays.hashCode(palette);
+            hashCode = 31 * hashCode + bitsPerEntry;
+            this.hashCode = 31 * hashCode + Arrays.hashCode(storage);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SectionKey other)) {
+                return false;
+            }
+            return translations == other.translations && bitsPerEntry == other.bitsPerEntry
+                    && Arrays.equals(palette, other.palette) && Arrays.equals(storage, other.storage);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
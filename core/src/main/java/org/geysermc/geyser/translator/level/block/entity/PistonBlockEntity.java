@@ -32,9 +32,9 @@ import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.nbt.NbtMap;
 import com.nukkitx.nbt.NbtMapBuilder;
 import com.nukkitx.protocol.bedrock.packet.UpdateBlockPacket;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import lombok.Getter;
 import org.geysermc.common.PlatformType;
 import org.geysermc.geyser.level.physics.Axis;
@@ -47,11 +47,13 @@ import org.geysermc.geyser.translator.collision.BlockCollision;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.util.*;
+import org.geysermc.geyser.util.collection.BlockPos2IntMap;
+import org.geysermc.geyser.util.collection.BlockPos2ObjectMap;
+import org.geysermc.geyser.util.collection.BlockPosSet;
+import org.geysermc.geyser.util.collection.PackedBlockPos;
 
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
 
 public class PistonBlockEntity {
     private final GeyserSession session;
@@ -66,7 +68,7 @@ public class PistonBlockEntity {
     /**
      * A map of attached block positions to Java ids.
      */
-    private final Object2IntMap<Vector3i> attachedBlocks = new Object2IntOpenHashMap<>();
+    private final BlockPos2IntMap attachedBlocks = new BlockPos2IntMap();
     /**
      * A flattened array of the positions of attached blocks, stored in XYZ order.
      */
@@ -155,7 +157,12 @@ public class PistonBlockEntity {
         BlockEntityUtils.updateBlockEntity(session, buildPistonTag(), position);
     }
 
-    public void setAction(PistonValueType action, Object2IntMap<Vector3i> attachedBlocks) {
+    /**
+     * Set whether the piston is pulling or pushing blocks, with the blocks that are moved already known
+     *
+     * @param attachedBlocks the packed positions of the attached blocks, see {@link PackedBlockPos}, mapped to their Java ids
+     */
+    public void setAction(PistonValueType action, Long2IntMap attachedBlocks) {
         // Don't check if this.action == action, since on some Paper versions BlockPistonRetractEvent is called multiple times
         // with the first 1-2 events being empty.
         placeFinalBlocks();
@@ -231,7 +238,7 @@ public class PistonBlockEntity {
      * Find the blocks that will be pushed or pulled by the piston
      */
     private void findAffectedBlocks() {
-        Set<Vector3i> blocksChecked = new ObjectOpenHashSet<>();
+        BlockPosSet blocksChecked = new BlockPosSet();
         Queue<Vector3i> blocksToCheck = new LinkedList<>();
 
         Vector3i directionOffset = orientation.getUnitVector();
@@ -319,8 +326,9 @@ public class PistonBlockEntity {
      * Replace all attached blocks with air
      */
     private void removeBlocks() {
-        for (Vector3i blockPos : attachedBlocks.keySet()) {
-            ChunkUtils.updateBlock(session, BlockStateValues.JAVA_AIR_ID, blockPos);
+        LongIterator iterator = attachedBlocks.keySet().iterator();
+        while (iterator.hasNext()) {
+            ChunkUtils.updateBlock(session, BlockStateValues.JAVA_AIR_ID, PackedBlockPos.unpack(iterator.nextLong()));
         }
         if (action != PistonValueType.PUSHING) {
             removePistonHead();
@@ -352,18 +360,18 @@ public class PistonBlockEntity {
 
         // Resolve collision with any attached moving blocks, but skip slime blocks
         // This prevents players from being launched by slime blocks covered by other blocks
-        for (Object2IntMap.Entry<Vector3i> entry : attachedBlocks.object2IntEntrySet()) {
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(attachedBlocks)) {
             int blockId = entry.getIntValue();
             if (blockId != BlockStateValues.JAVA_SLIME_BLOCK_ID) {
-                Vector3d blockPos = entry.getKey().toDouble();
+                Vector3d blockPos = toDouble(entry.getLongKey());
                 pushPlayerBlock(blockId, blockPos, blockMovement, playerBoundingBox);
             }
         }
         // Resolve collision with slime blocks
-        for (Object2IntMap.Entry<Vector3i> entry : attachedBlocks.object2IntEntrySet()) {
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(attachedBlocks)) {
             int blockId = entry.getIntValue();
             if (blockId == BlockStateValues.JAVA_SLIME_BLOCK_ID) {
-                Vector3d blockPos = entry.getKey().toDouble();
+                Vector3d blockPos = toDouble(entry.getLongKey());
                 pushPlayerBlock(blockId, blockPos, blockMovement, playerBoundingBox);
             }
         }
@@ -505,32 +513,38 @@ public class PistonBlockEntity {
         }
     }
 
-    private BlockCollision getCollision(Vector3i blockPos) {
-        return BlockUtils.getCollision(getAttachedBlockId(blockPos));
+    private static Vector3d toDouble(long packedPosition) {
+        return Vector3d.from(PackedBlockPos.unpackX(packedPosition), PackedBlockPos.unpackY(packedPosition), PackedBlockPos.unpackZ(packedPosition));
+    }
+
+    private BlockCollision getCollision(int x, int y, int z) {
+        return BlockUtils.getCollision(getAttachedBlockId(x, y, z));
     }
 
     /**
      * Compute the maximum movement of a bounding box that won't collide with the moving block attached to this piston
      *
-     * @param blockPos The position of the moving block
+     * @param blockX The x position of the moving block
+     * @param blockY The y position of the moving block
+     * @param blockZ The z position of the moving block
      * @param boundingBox The bounding box of the moving entity
      * @param axis The axis of movement
      * @param movement The movement in the axis
      * @return The adjusted movement
      */
-    public double computeCollisionOffset(Vector3i blockPos, BoundingBox boundingBox, Axis axis, double movement) {
-        BlockCollision blockCollision = getCollision(blockPos);
+    public double computeCollisionOffset(int blockX, int blockY, int blockZ, BoundingBox boundingBox, Axis axis, double movement) {
+        BlockCollision blockCollision = getCollision(blockX, blockY, blockZ);
         if (blockCollision != null) {
             double movementProgress = progress;
             if (action == PistonValueType.PULLING || action == PistonValueType.CANCELLED_MID_PUSH) {
                 movementProgress = 1f - progress;
             }
             Vector3i movementVec = getMovement();
-            double x = blockPos.getX() + movementVec.getX() * movementProgress;
-            double y = blockPos.getY() + movementVec.getY() * movementProgress;
-            double z = blockPos.getZ() + movementVec.getZ() * movementProgress;
+            double x = blockX + movementVec.getX() * movementProgress;
+            double y = blockY + movementVec.getY() * movementProgress;
+            double z = blockZ + movementVec.getZ() * movementProgress;
             double adjustedMovement = blockCollision.computeCollisionOffset(x, y, z, boundingBox, axis, movement);
-            if (getAttachedBlockId(blockPos) == BlockStateValues.JAVA_SLIME_BLOCK_ID && adjustedMovement != movement) {
+            if (getAttachedBlockId(blockX, blockY, blockZ) == BlockStateValues.JAVA_SLIME_BLOCK_ID && adjustedMovement != movement) {
                 session.getPistonCache().setPlayerSlimeCollision(true);
             }
             return adjustedMovement;
@@ -538,27 +552,37 @@ public class PistonBlockEntity {
         return movement;
     }
 
-    public boolean checkCollision(Vector3i blockPos, BoundingBox boundingBox) {
-        BlockCollision blockCollision = getCollision(blockPos);
+    public boolean checkCollision(int blockX, int blockY, int blockZ, BoundingBox boundingBox) {
+        BlockCollision blockCollision = getCollision(blockX, blockY, blockZ);
         if (blockCollision != null) {
             double movementProgress = progress;
             if (action == PistonValueType.PULLING || action == PistonValueType.CANCELLED_MID_PUSH) {
                 movementProgress = 1f - progress;
             }
             Vector3i movementVec = getMovement();
-            double x = blockPos.getX() + movementVec.getX() * movementProgress;
-            double y = blockPos.getY() + movementVec.getY() * movementProgress;
-            double z = blockPos.getZ() + movementVec.getZ() * movementProgress;
+            double x = blockX + movementVec.getX() * movementProgress;
+            double y = blockY + movementVec.getY() * movementProgress;
+            double z = blockZ + movementVec.getZ() * movementProgress;
             return blockCollision.checkIntersection(x, y, z, boundingBox);
         }
         return false;
     }
 
-    private int getAttachedBlockId(Vector3i blockPos) {
-        if (blockPos.equals(getPistonHeadPos())) {
+    private int getAttachedBlockId(int x, int y, int z) {
+        int headX = position.getX();
+        int headY = position.getY();
+        int headZ = position.getZ();
+        if (action != PistonValueType.PUSHING) {
+            // Same as getPistonHeadPos, without allocating a vector
+            Vector3i offset = orientation.getUnitVector();
+            headX += offset.getX();
+            headY += offset.getY();
+            headZ += offset.getZ();
+        }
+        if (x == headX && y == headY && z == headZ) {
             return BlockStateValues.getPistonHead(orientation);
         } else {
-            return attachedBlocks.getOrDefault(blockPos, BlockStateValues.JAVA_AIR_ID);
+            return attachedBlocks.getOrDefault(x, y, z, BlockStateValues.JAVA_AIR_ID);
         }
     }
 
@@ -567,8 +591,11 @@ public class PistonBlockEntity {
      */
     private void createMovingBlocks() {
         // Map the final position of each block to this block entity
-        Map<Vector3i, PistonBlockEntity> movingBlockMap = session.getPistonCache().getMovingBlocksMap();
-        attachedBlocks.forEach((blockPos, javaId) -> movingBlockMap.put(blockPos, this));
+        BlockPos2ObjectMap<PistonBlockEntity> movingBlockMap = session.getPistonCache().getMovingBlocksMap();
+        LongIterator iterator = attachedBlocks.keySet().iterator();
+        while (iterator.hasNext()) {
+            movingBlockMap.put(iterator.nextLong(), this);
+        }
         movingBlockMap.put(getPistonHeadPos(), this);
 
         Vector3i movement = getMovement();
@@ -579,7 +606,9 @@ public class PistonBlockEntity {
             playerBoundingBox.setSizeX(playerBoundingBox.getSizeX() + 0.5);
             playerBoundingBox.setSizeZ(playerBoundingBox.getSizeZ() + 0.5);
         }
-        attachedBlocks.forEach((blockPos, javaId) -> {
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(attachedBlocks)) {
+            Vector3i blockPos = PackedBlockPos.unpack(entry.getLongKey());
+            int javaId = entry.getIntValue();
             Vector3i newPos = blockPos.add(movement);
             if (SOLID_BOUNDING_BOX.checkIntersection(blockPos.toDouble(), playerBoundingBox) ||
                     SOLID_BOUNDING_BOX.checkIntersection(newPos.toDouble(), playerBoundingBox)) {
@@ -589,7 +618,7 @@ public class PistonBlockEntity {
                 }
                 // Don't place moving blocks that collide with the player
                 // because of https://bugs.mojang.com/browse/MCPE-96035
-                return;
+                continue;
             }
             // Place a moving block at the new location of the block
             UpdateBlockPacket updateBlockPacket = new UpdateBlockPacket();
@@ -601,7 +630,7 @@ public class PistonBlockEntity {
             session.sendUpstreamPacket(updateBlockPacket);
             // Update moving block with correct details
             BlockEntityUtils.updateBlockEntity(session, buildMovingBlockTag(newPos, javaId, position), newPos);
-        });
+        }
     }
 
     /**
@@ -617,15 +646,16 @@ public class PistonBlockEntity {
         }
         placedFinalBlocks = true;
         Vector3i movement = getMovement();
-        attachedBlocks.forEach((blockPos, javaId) -> {
-            blockPos = blockPos.add(movement);
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(attachedBlocks)) {
+            Vector3i blockPos = PackedBlockPos.unpack(entry.getLongKey()).add(movement);
+            int javaId = entry.getIntValue();
             // Send a final block entity packet to detach blocks
             BlockEntityUtils.updateBlockEntity(session, buildMovingBlockTag(blockPos, javaId, Direction.DOWN.getUnitVector()), blockPos);
             // Don't place blocks that collide with the player
             if (!SOLID_BOUNDING_BOX.checkIntersection(blockPos.toDouble(), session.getCollisionManager().getPlayerBoundingBox())) {
                 ChunkUtils.updateBlock(session, javaId, blockPos);
             }
-        });
+        }
         if (action == PistonValueType.PUSHING) {
             Vector3i pistonHeadPos = getPistonHeadPos().add(movement);
             if (!SOLID_BOUNDING_BOX.checkIntersection(pistonHeadPos.toDouble(), session.getCollisionManager().getPlayerBoundingBox())) {
@@ -638,8 +668,11 @@ public class PistonBlockEntity {
      * Remove moving blocks from the piston cache
      */
     private void removeMovingBlocks() {
-        Map<Vector3i, PistonBlockEntity> movingBlockMap = session.getPistonCache().getMovingBlocksMap();
-        attachedBlocks.forEach((blockPos, javaId) -> movingBlockMap.remove(blockPos));
+        BlockPos2ObjectMap<PistonBlockEntity> movingBlockMap = session.getPistonCache().getMovingBlocksMap();
+        LongIterator iterator = attachedBlocks.keySet().iterator();
+        while (iterator.hasNext()) {
+            movingBlockMap.remove(iterator.nextLong());
+        }
         attachedBlocks.clear();
         movingBlockMap.remove(getPistonHeadPos());
         flattenedAttachedBlocks = new int[0];
@@ -651,10 +684,12 @@ public class PistonBlockEntity {
     private void flattenPositions() {
         flattenedAttachedBlocks = new int[3 * attachedBlocks.size()];
         int i = 0;
-        for (Vector3i position : attachedBlocks.keySet()) {
-            flattenedAttachedBlocks[3 * i] = position.getX();
-            flattenedAttachedBlocks[3 * i + 1] = position.getY();
-            flattenedAttachedBlocks[3 * i + 2] = position.getZ();
+        LongIterator iterator = attachedBlocks.keySet().iterator();
+        while (iterator.hasNext()) {
+            long position = iterator.nextLong();
+            flattenedAttachedBlocks[3 * i] = PackedBlockPos.unpackX(position);
+            flattenedAttachedBlocks[3 * i + 1] = PackedBlockPos.unpackY(position);
+            flattenedAttachedBlocks[3 * i + 2] = PackedBlockPos.unpackZ(position);
             i++;
         }
     }
@@ -27,6 +27,7 @@ package org.geysermc.geyser.translator.protocol.bedrock;
 
 import com.nukkitx.protocol.bedrock.packet.ClientboundMapItemDataPacket;
 import com.nukkitx.protocol.bedrock.packet.MapInfoRequestPacket;
+import org.geysermc.geyser.level.MapImageCache;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
@@ -40,10 +41,16 @@ public class BedrockMapInfoRequestTranslator extends PacketTranslator<MapInfoReq
     public void translate(GeyserSession session, MapInfoRequestPacket packet) {
         long mapId = packet.getUniqueMapId();
 
-        ClientboundMapItemDataPacket mapPacket = session.getStoredMaps().remove(mapId);
-        if (mapPacket != null) {
+        ClientboundMapItemDataPacket storedPacket = session.getStoredMaps().remove(mapId);
+        if (storedPacket != null) {
+            // The map is no longer stored, so its image does not need to be kept up to date anymore
+            MapImageCache.MapImage image = session.getMapImages().remove((int) mapId);
+            if (image != null) {
+                storedPacket.setColors(image.getColors());
+            }
+
             // Delay the packet 100ms to prevent the client from ignoring the packet
-            session.scheduleInEventLoop(() -> session.sendUpstreamPacket(mapPacket),
+            session.scheduleInEventLoop(() -> session.sendUpstreamPacket(storedPacket),
                     100, TimeUnit.MILLISECONDS);
         }
     }
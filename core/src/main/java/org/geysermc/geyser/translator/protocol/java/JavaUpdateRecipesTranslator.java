@@ -46,6 +46,7 @@ import org.geysermc.geyser.inventory.recipe.GeyserRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserShapedRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserShapelessRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserStonecutterData;
+import org.geysermc.geyser.network.CompressedPacketCache;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
@@ -101,7 +102,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                     output = output.toBuilder().tag(null).build();
                     ItemData[][] inputCombinations = combinations(session, shapelessRecipeData.getIngredients());
                     for (ItemData[] inputs : inputCombinations) {
-                        UUID uuid = UUID.randomUUID();
+                        UUID uuid = recipeUuid(netId);
                         craftingDataPacket.getCraftingData().add(CraftingData.fromShapeless(uuid.toString(),
                                 Arrays.asList(inputs), Collections.singletonList(output), uuid, "crafting_table", 0, netId));
                         recipeMap.put(netId++, new GeyserShapelessRecipe(shapelessRecipeData));
@@ -118,7 +119,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                     output = output.toBuilder().tag(null).build();
                     ItemData[][] inputCombinations = combinations(session, shapedRecipeData.getIngredients());
                     for (ItemData[] inputs : inputCombinations) {
-                        UUID uuid = UUID.randomUUID();
+                        UUID uuid = recipeUuid(netId);
                         craftingDataPacket.getCraftingData().add(CraftingData.fromShaped(uuid.toString(),
                                 shapedRecipeData.getWidth(), shapedRecipeData.getHeight(), Arrays.asList(inputs),
                                 Collections.singletonList(output), uuid, "crafting_table", 0, netId));
@@ -150,7 +151,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                         for (ItemStack addition : recipeData.getAddition().getOptions()) {
                             ItemData bedrockAddition = ItemTranslator.translateToBedrock(session, addition);
 
-                            UUID uuid = UUID.randomUUID();
+                            UUID uuid = recipeUuid(netId);
                             craftingDataPacket.getCraftingData().add(CraftingData.fromShapeless(uuid.toString(),
                                     Arrays.asList(bedrockBase, bedrockAddition),
                                     Collections.singletonList(output), uuid, "smithing_table", 2, netId++));
@@ -189,7 +190,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                     // Probably modded items
                     continue;
                 }
-                UUID uuid = UUID.randomUUID();
+                UUID uuid = recipeUuid(netId);
 
                 // We need to register stonecutting recipes so they show up on Bedrock
                 craftingDataPacket.getCraftingData().add(CraftingData.fromShapeless(uuid.toString(),
@@ -201,12 +202,20 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
             }
         }
 
-        session.sendUpstreamPacket(craftingDataPacket);
+        // Every session on the same server receives the same recipes, so the packet only has to be compressed once
+        CompressedPacketCache.sendPacket(session, craftingDataPacket);
         session.setCraftingRecipes(recipeMap);
         session.setStonecutterRecipes(stonecutterRecipeMap);
         session.getLastRecipeNetId().set(netId);
     }
 
+    /**
+     * Recipes are identified by their network ID, so the same recipes always serialize to the same packet.
+     */
+    private static UUID recipeUuid(int netId) {
+        return new UUID(0L, netId);
+    }
+
     //TODO: rewrite
     /**
      * The Java server sends an array of items for each ingredient you can use per slot in the crafting grid.
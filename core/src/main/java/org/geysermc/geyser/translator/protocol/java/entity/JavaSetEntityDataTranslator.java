@@ -56,7 +56,7 @@ public class JavaSetEntityDataTranslator extends PacketTranslator<ClientboundSet
             ((EntityDefinition) definition).translateMetadata(entity, metadata);
         }
 
-        entity.updateBedrockMetadata();
+        session.getEntityCache().updateEntityMetadata(entity);
 
         // Update the interactive tag, if necessary
         Entity mouseoverEntity = session.getMouseoverEntity();
@@ -33,7 +33,7 @@ import com.nukkitx.nbt.NbtMap;
 import com.nukkitx.nbt.NbtMapBuilder;
 import com.nukkitx.protocol.bedrock.packet.BlockEntityDataPacket;
 import com.nukkitx.protocol.bedrock.packet.BlockEventPacket;
-import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
 import org.geysermc.common.PlatformType;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.physics.Direction;
@@ -87,7 +87,7 @@ public class JavaBlockEventTranslator extends PacketTranslator<ClientboundBlockE
                     }
                     PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(vector, pos -> new PistonBlockEntity(session, pos, direction, true, true));
                     if (blockEntity.getAction() != action) {
-                        blockEntity.setAction(action, Object2IntMaps.emptyMap());
+                        blockEntity.setAction(action, Long2IntMaps.EMPTY_MAP);
                     }
                 }
             } else {
@@ -74,7 +74,6 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import static org.geysermc.geyser.util.ChunkUtils.*;
 
@@ -132,15 +131,19 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
                 if (javaPalette instanceof GlobalPalette) {
                     // As this is the global palette, simply iterate through the whole chunk section once
-                    GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAirId());
+                    // and build the Bedrock palette from the collected runtime IDs afterwards
+                    int[] layer0Data = new int[BlockStorage.SIZE];
+                    int[] layer1Data = null;
                     for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
                         int javaId = javaData.get(yzx);
-                        int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
                         int xzy = indexYZXtoXZY(yzx);
-                        section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
+                        layer0Data[xzy] = session.getBlockMappings().getBedrockBlockId(javaId);
 
                         if (BlockRegistries.WATERLOGGED.get().contains(javaId)) {
-                            section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWaterId());
+                            if (layer1Data == null) {
+                                layer1Data = new int[BlockStorage.SIZE >> 5];
+                            }
+                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
                         }
 
                         // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
@@ -151,7 +154,13 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                             ));
                         }
                     }
-                    sections[bedrockSectionY] = section;
+
+                    BlockStorage layer0 = BlockStorage.fromBlocks(layer0Data);
+                    if (layer1Data == null) {
+                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[]{ layer0 });
+                    } else {
+                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[]{ layer0, createWaterLayer(session, layer1Data) });
+                    }
                     continue;
                 }
 
@@ -232,12 +241,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                         }
                     }
 
-                    // V1 palette
-                    IntList layer1Palette = new IntArrayList(2);
-                    layer1Palette.add(session.getBlockMappings().getBedrockAirId()); // Air - see BlockStorage's constructor for more information
-                    layer1Palette.add(session.getBlockMappings().getBedrockWaterId());
-
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+                    layers = new BlockStorage[]{ layer0, createWaterLayer(session, layer1Data) };
                 }
 
                 sections[bedrockSectionY] = new GeyserChunkSection(layers);
@@ -336,7 +340,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     continue;
                 }
 
-                BiomeTranslator.toNewBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)]).writeToNetwork(byteBuf);
+                BiomeTranslator.writeBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)], byteBuf);
             }
 
             byteBuf.writeByte(0); // Border blocks - Edu edition only
@@ -367,13 +371,21 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         levelChunkPacket.setData(payload);
         session.sendUpstreamPacket(levelChunkPacket);
 
-        for (Map.Entry<Vector3i, ItemFrameEntity> entry : session.getItemFrameCache().entrySet()) {
-            Vector3i position = entry.getKey();
-            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
-                // Update this item frame so it doesn't get lost in the abyss
-                //TODO optimize
-                entry.getValue().updateBlock(true);
-            }
+        for (ItemFrameEntity itemFrame : session.getItemFrameCache().getItemFramesInChunk(packet.getX(), packet.getZ())) {
+            // Update this item frame so it doesn't get lost in the abyss
+            itemFrame.updateBlock(true);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the second block layer of a section, with water wherever the bit of the block is set.
+     */
+    private static BlockStorage createWaterLayer(GeyserSession session, int[] layer1Data) {
+        // V1 palette
+        IntList layer1Palette = new IntArrayList(2);
+        layer1Palette.add(session.getBlockMappings().getBedrockAirId()); // Air - see BlockStorage's constructor for more information
+        layer1Palette.add(session.getBlockMappings().getBedrockWaterId());
+
+        return new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette);
+    }
+}
@@ -35,15 +35,44 @@ import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.level.BedrockMapIcon;
 import org.geysermc.geyser.util.DimensionUtils;
-import org.geysermc.geyser.level.MapColor;
+import org.geysermc.geyser.level.MapImageCache;
 
 @Translator(packet = ClientboundMapItemDataPacket.class)
 public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapItemDataPacket> {
 
     @Override
     public void translate(GeyserSession session, ClientboundMapItemDataPacket packet) {
+        com.nukkitx.protocol.bedrock.packet.ClientboundMapItemDataPacket mapItemDataPacket = translateWithoutColors(session, packet);
+
+        MapData data = packet.getData();
+        if (data != null) {
+            // We have a full map image, this usually only happens on spawn for the initial image
+            if (data.getColumns() == MapImageCache.MAP_SIZE && data.getRows() == MapImageCache.MAP_SIZE) {
+                MapImageCache.MapImage image = MapImageCache.getImage(packet.getMapId(), data.getData());
+                mapItemDataPacket.setColors(image.getColors());
+
+                // Store the map to send when the client requests it, as bedrock expects the data after a MapInfoRequestPacket
+                // The colors are added from the session's image of this map then, which is kept up to date until it is sent
+                session.getStoredMaps().put(mapItemDataPacket.getUniqueMapId(), translateWithoutColors(session, packet));
+                session.getMapImages().put(packet.getMapId(), image);
+            } else {
+                // Every int entry is an ARGB color
+                mapItemDataPacket.setColors(MapImageCache.translateColors(data.getData()));
+
+                MapImageCache.MapImage image = session.getMapImages().get(packet.getMapId());
+                if (image != null) {
+                    image = MapImageCache.merge(image, data.getX(), data.getY(), data.getColumns(), data.getRows(), data.getData());
+                    session.getMapImages().put(packet.getMapId(), image);
+                }
+            }
+        }
+
+        // Send anyway just in case
+        session.sendUpstreamPacket(mapItemDataPacket);
+    }
+
+    private static com.nukkitx.protocol.bedrock.packet.ClientboundMapItemDataPacket translateWithoutColors(GeyserSession session, ClientboundMapItemDataPacket packet) {
         com.nukkitx.protocol.bedrock.packet.ClientboundMapItemDataPacket mapItemDataPacket = new com.nukkitx.protocol.bedrock.packet.ClientboundMapItemDataPacket();
-        boolean shouldStore = false;
 
         mapItemDataPacket.setUniqueMapId(packet.getMapId());
         mapItemDataPacket.setDimensionId(DimensionUtils.javaToBedrock(session.getDimension()));
@@ -56,21 +85,6 @@ public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapIt
             mapItemDataPacket.setYOffset(data.getY());
             mapItemDataPacket.setWidth(data.getColumns());
             mapItemDataPacket.setHeight(data.getRows());
-
-            // We have a full map image, this usually only happens on spawn for the initial image
-            if (mapItemDataPacket.getWidth() == 128 && mapItemDataPacket.getHeight() == 128) {
-                shouldStore = true;
-            }
-
-            // Every int entry is an ARGB color
-            int[] colors = new int[data.getData().length];
-
-            int idx = 0;
-            for (byte colorId : data.getData()) {
-                colors[idx++] = MapColor.fromId(colorId & 0xFF).getARGB();
-            }
-
-            mapItemDataPacket.setColors(colors);
         }
 
         // Bedrock needs an entity id to display an icon
@@ -82,13 +96,6 @@ public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapIt
             mapItemDataPacket.getDecorations().add(new MapDecoration(bedrockMapIcon.getIconID(), icon.getIconRotation(), icon.getCenterX(), icon.getCenterZ(), "", bedrockMapIcon.toARGB()));
             id++;
         }
-
-        // Store the map to send when the client requests it, as bedrock expects the data after a MapInfoRequestPacket
-        if (shouldStore) {
-            session.getStoredMaps().put(mapItemDataPacket.getUniqueMapId(), mapItemDataPacket);
-        }
-
-        // Send anyway just in case
-        session.sendUpstreamPacket(mapItemDataPacket);
+        return mapItemDataPacket;
     }
 }
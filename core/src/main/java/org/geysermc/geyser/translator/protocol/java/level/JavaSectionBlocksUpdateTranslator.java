@@ -25,7 +25,6 @@
 
 package org.geysermc.geyser.translator.protocol.java.level;
 
-import com.github.steveice10.mc.protocol.data.game.level.block.BlockChangeEntry;
 import com.github.steveice10.mc.protocol.packet.ingame.clientbound.level.ClientboundSectionBlocksUpdatePacket;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
@@ -37,8 +36,6 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
 
     @Override
     public void translate(GeyserSession session, ClientboundSectionBlocksUpdatePacket packet) {
-        for (BlockChangeEntry entry : packet.getEntries()) {
-            ChunkUtils.updateBlock(session, entry.getBlock(), entry.getPosition());
-        }
+        ChunkUtils.updateBlocks(session, packet.getChunkX(), packet.getChunkY(), packet.getChunkZ(), packet.getEntries());
     }
 }
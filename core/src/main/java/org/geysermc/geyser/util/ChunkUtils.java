@@ -26,6 +26,7 @@
 package org.geysermc.geyser.util;
 
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.Position;
+import com.github.steveice10.mc.protocol.data.game.level.block.BlockChangeEntry;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.github.steveice10.opennbt.tag.builtin.IntTag;
 import com.nukkitx.math.vector.Vector2i;
@@ -35,6 +36,8 @@ import com.nukkitx.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
 import com.nukkitx.protocol.bedrock.packet.UpdateBlockPacket;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
 import lombok.experimental.UtilityClass;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
@@ -50,6 +53,9 @@ import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.translator.level.block.entity.BedrockOnlyBlockEntity;
 import org.geysermc.geyser.session.cache.SkullCache;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.geysermc.geyser.level.block.BlockStateValues.JAVA_AIR_ID;
 
 @UtilityClass
@@ -159,25 +165,7 @@ public class ChunkUtils {
         // Prevent moving_piston from being placed
         // It's used for extending piston heads, but it isn't needed on Bedrock and causes pistons to flicker
         if (!BlockStateValues.isMovingPiston(blockState)) {
-            int blockId = session.getBlockMappings().getBedrockBlockId(blockState);
-
-            UpdateBlockPacket updateBlockPacket = new UpdateBlockPacket();
-            updateBlockPacket.setDataLayer(0);
-            updateBlockPacket.setBlockPosition(position);
-            updateBlockPacket.setRuntimeId(blockId);
-            updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NEIGHBORS);
-            updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NETWORK);
-            session.sendUpstreamPacket(updateBlockPacket);
-
-            UpdateBlockPacket waterPacket = new UpdateBlockPacket();
-            waterPacket.setDataLayer(1);
-            waterPacket.setBlockPosition(position);
-            if (BlockRegistries.WATERLOGGED.get().contains(blockState)) {
-                waterPacket.setRuntimeId(session.getBlockMappings().getBedrockWaterId());
-            } else {
-                waterPacket.setRuntimeId(session.getBlockMappings().getBedrockAirId());
-            }
-            session.sendUpstreamPacket(waterPacket);
+            sendBlockUpdate(session, blockState, position);
         }
 
         BlockStateValues.getLecternBookStates().handleBlockChange(session, blockState, position);
@@ -194,6 +182,93 @@ public class ChunkUtils {
         session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), blockState);
     }
 
+    /**
+     * Sends all block updates of one chunk section to the Bedrock client, and applies them to the chunk cache in bulk.
+     * Equivalent to calling {@link #updateBlock(GeyserSession, int, Vector3i)} for each entry, but item frame, skull,
+     * lectern and Bedrock-only block entity handling is only done for the blocks that need it.
+     *
+     * @param entries the block changes, which must all be within the given section
+     */
+    public static void updateBlocks(GeyserSession session, int chunkX, int chunkY, int chunkZ, BlockChangeEntry[] entries) {
+        boolean checkItemFrames = !session.getItemFrameCache().isEmpty();
+        boolean checkSkulls = !session.getSkullCache().getSkulls().isEmpty();
+
+        List<BedrockOnlyBlockEntity> blockEntities = null;
+        List<Vector3i> blockEntityPositions = null;
+        IntList blockEntityStates = null;
+
+        for (BlockChangeEntry entry : entries) {
+            int blockState = entry.getBlock();
+            Vector3i position = Vector3i.from(entry.getPosition().getX(), entry.getPosition().getY(), entry.getPosition().getZ());
+
+            if (checkItemFrames) {
+                ItemFrameEntity itemFrameEntity = ItemFrameEntity.getItemFrameEntity(session, position);
+                if (itemFrameEntity != null && blockState == JAVA_AIR_ID) {
+                    // Item frame is still present and no block overrides that; refresh it
+                    itemFrameEntity.updateBlock(true);
+                    continue;
+                }
+            }
+
+            if (checkSkulls && BlockStateValues.getSkullVariant(blockState) == -1) {
+                // Skull is gone
+                session.getSkullCache().removeSkull(position);
+            }
+
+            if (!BlockStateValues.isMovingPiston(blockState)) {
+                sendBlockUpdate(session, blockState, position);
+            }
+
+            // The chunk cache has not been updated yet, so lecterns can still compare against the old block
+            BlockStateValues.getLecternBookStates().handleBlockChange(session, blockState, position);
+
+            for (BedrockOnlyBlockEntity bedrockOnlyBlockEntity : BlockEntityUtils.BEDROCK_ONLY_BLOCK_ENTITIES) {
+                if (bedrockOnlyBlockEntity.isBlock(blockState)) {
+                    if (blockEntities == null) {
+                        blockEntities = new ArrayList<>();
+                        blockEntityPositions = new ArrayList<>();
+                        blockEntityStates = new IntArrayList();
+                    }
+                    blockEntities.add(bedrockOnlyBlockEntity);
+                    blockEntityPositions.add(position);
+                    blockEntityStates.add(blockState);
+                    break; //No block will be a part of two classes
+                }
+            }
+        }
+
+        session.getChunkCache().updateBlocks(chunkX, chunkY, chunkZ, entries);
+
+        if (blockEntities != null) {
+            // Done after the chunk cache is updated, so block entities that depend on their neighbors see every change
+            for (int i = 0; i < blockEntities.size(); i++) {
+                blockEntities.get(i).updateBlock(session, blockEntityStates.getInt(i), blockEntityPositions.get(i));
+            }
+        }
+    }
+
+    private static void sendBlockUpdate(GeyserSession session, int blockState, Vector3i position) {
+        int blockId = session.getBlockMappings().getBedrockBlockId(blockState);
+
+        UpdateBlockPacket updateBlockPacket = new UpdateBlockPacket();
+        updateBlockPacket.setDataLayer(0);
+        updateBlockPacket.setBlockPosition(position);
+        updateBlockPacket.setRuntimeId(blockId);
+        updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NEIGHBORS);
+        updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NETWORK);
+        session.sendUpstreamPacket(updateBlockPacket);
+
+        UpdateBlockPacket waterPacket = new UpdateBlockPacket();
+        waterPacket.setDataLayer(1);
+        waterPacket.setBlockPosition(position);
+        if (BlockRegistries.WATERLOGGED.get().contains(blockState)) {
+            waterPacket.setRuntimeId(session.getBlockMappings().getBedrockWaterId());
+        } else {
+            waterPacket.setRuntimeId(session.getBlockMappings().getBedrockAirId());
+        }
+        session.sendUpstreamPacket(waterPacket);
+    }
+
     public static void sendEmptyChunk(GeyserSession session, int chunkX, int chunkZ, boolean forceUpdate) {
         LevelChunkPacket data = new LevelChunkPacket();
         data.setChunkX(chunkX);
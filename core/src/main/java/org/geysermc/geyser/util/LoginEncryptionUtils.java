@@ -30,6 +30,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.github.steveice10.mc.auth.service.MsaAuthenticationService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.nimbusds.jose.JWSObject;
 import com.nimbusds.jose.shaded.json.JSONObject;
 import com.nimbusds.jose.shaded.json.JSONValue;
@@ -37,8 +39,14 @@ import com.nukkitx.network.util.Preconditions;
 import com.nukkitx.protocol.bedrock.packet.LoginPacket;
 import com.nukkitx.protocol.bedrock.packet.ServerToClientHandshakePacket;
 import com.nukkitx.protocol.bedrock.util.EncryptionUtils;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.registry.type.ItemMappings;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.auth.AuthData;
 import org.geysermc.geyser.session.auth.BedrockClientData;
@@ -56,17 +64,61 @@ import java.io.IOException;
 import java.net.URI;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
-import java.security.PublicKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.spec.ECGenParameterSpec;
 import java.util.Iterator;
 import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class LoginEncryptionUtils {
     private static final ObjectMapper JSON_MAPPER = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
     private static boolean HAS_SENT_ENCRYPTION_MESSAGE = false;
 
+    /**
+     * The number of logins that can wait for the crypto executor before new logins are turned away.
+     */
+    private static final int MAX_PENDING_LOGINS = 512;
+    /**
+     * Verifies logins and sets up encryption, so this work doesn't block the network threads during a login storm.
+     */
+    private static volatile ThreadPoolExecutor CRYPTO_EXECUTOR;
+    /**
+     * Refills {@link #SERVER_KEY_PAIRS} on a single low priority thread, so it never takes a slot from a login
+     * on the crypto executor.
+     */
+    private static volatile ExecutorService KEY_PAIR_EXECUTOR;
+    private static final AtomicBoolean REFILLING_KEY_PAIRS = new AtomicBoolean();
+    /**
+     * Key pairs for the encryption handshake. Each one is only used once.
+     */
+    private static final BlockingQueue<KeyPair> SERVER_KEY_PAIRS = new ArrayBlockingQueue<>(16);
+    private static final Cache<String, ECPublicKey> PUBLIC_KEYS = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    /**
+     * Starts the login executors and fills the key pair pool, so the first logins don't have to generate their own.
+     */
+    public static void init() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor cryptoExecutor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(MAX_PENDING_LOGINS), new DefaultThreadFactory("Geyser Login Crypto", true));
+        cryptoExecutor.allowCoreThreadTimeOut(true);
+        CRYPTO_EXECUTOR = cryptoExecutor;
+        KEY_PAIR_EXECUTOR = Executors.newSingleThreadExecutor(
+                new DefaultThreadFactory("Geyser Key Pair Generator", true, Thread.MIN_PRIORITY));
+
+        refillServerKeyPairs();
+    }
+
+    public static void shutdown() {
+        CRYPTO_EXECUTOR.shutdownNow();
+        KEY_PAIR_EXECUTOR.shutdownNow();
+    }
+
     private static boolean validateChainData(JsonNode data) throws Exception {
         if (data.size() != 3) {
             return false;
@@ -85,7 +137,7 @@ public class LoginEncryptionUtils {
                 return false;
             }
 
-            ECPublicKey expectedKey = EncryptionUtils.generateKey(jwt.getHeader().getX509CertURL().toString());
+            ECPublicKey expectedKey = getKey(x5u.toString());
             // First key is self-signed
             if (lastKey == null) {
                 lastKey = expectedKey;
@@ -110,13 +162,13 @@ public class LoginEncryptionUtils {
 
             Object identityPublicKey = ((JSONObject) payload).get("identityPublicKey");
             Preconditions.checkArgument(identityPublicKey instanceof String, "identityPublicKey node is missing in chain");
-            lastKey = EncryptionUtils.generateKey((String) identityPublicKey);
+            lastKey = getKey((String) identityPublicKey);
         }
 
         return mojangSigned;
     }
 
-    public static void encryptPlayerConnection(GeyserSession session, LoginPacket loginPacket) {
+    public static void encryptPlayerConnection(GeyserSession session, LoginPacket loginPacket, Runnable onSuccess) {
         JsonNode certData;
         try {
             certData = JSON_MAPPER.readTree(loginPacket.getChainData().toByteArray());
@@ -129,80 +181,181 @@ public class LoginEncryptionUtils {
             throw new RuntimeException("Certificate data is not valid");
         }
 
-        encryptConnectionWithCert(session, loginPacket.getSkinData().toString(), certChainData);
+        encryptConnectionWithCert(session, loginPacket.getProtocolVersion(), loginPacket.getSkinData().toString(), certChainData, onSuccess);
     }
 
-    private static void encryptConnectionWithCert(GeyserSession session, String clientData, JsonNode certChainData) {
+    /**
+     * Verifies the login on the crypto executor, and then finishes it on the network thread of the session.
+     *
+     * @param onSuccess run on the network thread of the session once the login is verified and encryption has started
+     */
+    private static void encryptConnectionWithCert(GeyserSession session, int protocolVersion, String clientData, JsonNode certChainData, Runnable onSuccess) {
+        GeyserImpl geyser = session.getGeyser();
+        EventLoop eventLoop = session.getUpstream().getSession().getEventLoop();
         try {
-            GeyserImpl geyser = session.getGeyser();
+            CRYPTO_EXECUTOR.execute(() -> {
+                BlockMappings blockMappings;
+                ItemMappings itemMappings;
+                LoginResult result;
+                try {
+                    // With lazy registries, the first player on an older version builds its mappings here, not on the network thread
+                    blockMappings = BlockRegistries.BLOCKS.forVersion(protocolVersion);
+                    itemMappings = Registries.ITEMS.forVersion(protocolVersion);
+                    result = verifyLogin(geyser, clientData, certChainData);
+                } catch (Exception ex) {
+                    geyser.getLogger().error("Unable to complete login", ex);
+                    eventLoop.execute(() -> session.disconnect("disconnectionScreen.internalError.cantConnect"));
+                    return;
+                }
+                eventLoop.execute(() -> completeLogin(session, result, blockMappings, itemMappings, onSuccess));
+            });
+        } catch (RejectedExecutionException e) {
+            // Too many logins are waiting already; turning this one away is better than making all of them slower
+            session.disconnect("disconnectionScreen.serverFull");
+        }
+    }
 
-            boolean validChain = validateChainData(certChainData);
+    /**
+     * Does all the expensive work of a login: verifying the chain and client data, and the key exchange.
+     * Does not touch the session, as this is not called on its thread.
+     */
+    private static LoginResult verifyLogin(GeyserImpl geyser, String clientData, JsonNode certChainData) throws Exception {
+        boolean validChain = validateChainData(certChainData);
 
-            geyser.getLogger().debug(String.format("Is player data valid? %s", validChain));
+        geyser.getLogger().debug(String.format("Is player data valid? %s", validChain));
 
-            if (!validChain && !session.getGeyser().getConfig().isEnableProxyConnections()) {
-                session.disconnect(GeyserLocale.getLocaleStringLog("geyser.network.remote.invalid_xbox_account"));
-                return;
-            }
-            JWSObject jwt = JWSObject.parse(certChainData.get(certChainData.size() - 1).asText());
-            JsonNode payload = JSON_MAPPER.readTree(jwt.getPayload().toBytes());
+        if (!validChain && !geyser.getConfig().isEnableProxyConnections()) {
+            return new LoginResult(false, null, null, null, null);
+        }
+        JWSObject jwt = JWSObject.parse(certChainData.get(certChainData.size() - 1).asText());
+        JsonNode payload = JSON_MAPPER.readTree(jwt.getPayload().toBytes());
 
-            if (payload.get("extraData").getNodeType() != JsonNodeType.OBJECT) {
-                throw new RuntimeException("AuthData was not found!");
-            }
+        if (payload.get("extraData").getNodeType() != JsonNodeType.OBJECT) {
+            throw new RuntimeException("AuthData was not found!");
+        }
 
-            JsonNode extraData = payload.get("extraData");
-            session.setAuthenticationData(new AuthData(
-                    extraData.get("displayName").asText(),
-                    UUID.fromString(extraData.get("identity").asText()),
-                    extraData.get("XUID").asText(),
-                    certChainData, clientData
-            ));
+        JsonNode extraData = payload.get("extraData");
+        AuthData authData = new AuthData(
+                extraData.get("displayName").asText(),
+                UUID.fromString(extraData.get("identity").asText()),
+                extraData.get("XUID").asText(),
+                certChainData, clientData
+        );
 
-            if (payload.get("identityPublicKey").getNodeType() != JsonNodeType.STRING) {
-                throw new RuntimeException("Identity Public Key was not found!");
+        if (payload.get("identityPublicKey").getNodeType() != JsonNodeType.STRING) {
+            throw new RuntimeException("Identity Public Key was not found!");
+        }
+
+        ECPublicKey identityPublicKey = getKey(payload.get("identityPublicKey").textValue());
+        JWSObject clientJwt = JWSObject.parse(clientData);
+        EncryptionUtils.verifyJwt(clientJwt, identityPublicKey);
+
+        JsonNode clientDataJson = JSON_MAPPER.readTree(clientJwt.getPayload().toBytes());
+        BedrockClientData data = JSON_MAPPER.convertValue(clientDataJson, BedrockClientData.class);
+
+        SecretKey encryptionKey = null;
+        String handshakeJwt = null;
+        if (EncryptionUtils.canUseEncryption()) {
+            try {
+                KeyPair serverKeyPair = takeServerKeyPair();
+                byte[] token = EncryptionUtils.generateRandomToken();
+                encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), identityPublicKey, token);
+                handshakeJwt = EncryptionUtils.createHandshakeJwt(serverKeyPair, token).serialize();
+            } catch (Throwable e) {
+                // An error can be thrown on older Java 8 versions about an invalid key
+                if (geyser.getConfig().isDebugMode()) {
+                    e.printStackTrace();
+                }
+                encryptionKey = null;
             }
+        }
+        return new LoginResult(true, authData, data, encryptionKey, handshakeJwt);
+    }
+
+    private static void completeLogin(GeyserSession session, LoginResult result, BlockMappings blockMappings,
+                                      ItemMappings itemMappings, Runnable onSuccess) {
+        if (session.isClosed()) {
+            return;
+        }
+        // Set the block translation based off of version
+        session.setBlockMappings(blockMappings);
+        session.setItemMappings(itemMappings);
+
+        if (!result.validChain()) {
+            session.disconnect(GeyserLocale.getLocaleStringLog("geyser.network.remote.invalid_xbox_account"));
+            return;
+        }
 
-            ECPublicKey identityPublicKey = EncryptionUtils.generateKey(payload.get("identityPublicKey").textValue());
-            JWSObject clientJwt = JWSObject.parse(clientData);
-            EncryptionUtils.verifyJwt(clientJwt, identityPublicKey);
+        session.setAuthenticationData(result.authData());
+        session.setClientData(result.clientData());
 
-            JsonNode clientDataJson = JSON_MAPPER.readTree(clientJwt.getPayload().toBytes());
-            BedrockClientData data = JSON_MAPPER.convertValue(clientDataJson, BedrockClientData.class);
-            session.setClientData(data);
+        if (result.encryptionKey() != null) {
+            session.getUpstream().getSession().enableEncryption(result.encryptionKey());
 
-            if (EncryptionUtils.canUseEncryption()) {
+            ServerToClientHandshakePacket packet = new ServerToClientHandshakePacket();
+            packet.setJwt(result.handshakeJwt());
+            session.sendUpstreamPacketImmediately(packet);
+        } else {
+            sendEncryptionFailedMessage(session.getGeyser());
+        }
+
+        onSuccess.run();
+    }
+
+    /**
+     * Gets a public key from its Base64 encoded form. The keys of Mojang and Xbox Live show up in every login,
+     * so they are only decoded once.
+     */
+    private static ECPublicKey getKey(String encodedKey) throws Exception {
+        try {
+            return PUBLIC_KEYS.get(encodedKey, () -> EncryptionUtils.generateKey(encodedKey));
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    /**
+     * @return a key pair that has not been used before. Key pairs are generated ahead of time in the background.
+     */
+    private static KeyPair takeServerKeyPair() throws Exception {
+        KeyPair keyPair = SERVER_KEY_PAIRS.poll();
+        refillServerKeyPairs();
+        return keyPair != null ? keyPair : generateServerKeyPair();
+    }
+
+    /**
+     * Tops up the key pair pool in the background, unless that is happening already.
+     */
+    private static void refillServerKeyPairs() {
+        if (SERVER_KEY_PAIRS.remainingCapacity() == 0 || !REFILLING_KEY_PAIRS.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            KEY_PAIR_EXECUTOR.execute(() -> {
                 try {
-                    LoginEncryptionUtils.startEncryptionHandshake(session, identityPublicKey);
-                } catch (Throwable e) {
-                    // An error can be thrown on older Java 8 versions about an invalid key
-                    if (geyser.getConfig().isDebugMode()) {
-                        e.printStackTrace();
+                    while (SERVER_KEY_PAIRS.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                        SERVER_KEY_PAIRS.offer(generateServerKeyPair());
                     }
-
-                    sendEncryptionFailedMessage(geyser);
+                } catch (Exception e) {
+                    GeyserImpl.getInstance().getLogger().debug("Unable to generate a server key pair: " + e.getMessage());
+                } finally {
+                    REFILLING_KEY_PAIRS.set(false);
                 }
-            } else {
-                sendEncryptionFailedMessage(geyser);
-            }
-        } catch (Exception ex) {
-            session.disconnect("disconnectionScreen.internalError.cantConnect");
-            throw new RuntimeException("Unable to complete login", ex);
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            REFILLING_KEY_PAIRS.set(false);
         }
     }
 
-    private static void startEncryptionHandshake(GeyserSession session, PublicKey key) throws Exception {
+    private static KeyPair generateServerKeyPair() throws Exception {
         KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
         generator.initialize(new ECGenParameterSpec("secp384r1"));
-        KeyPair serverKeyPair = generator.generateKeyPair();
-
-        byte[] token = EncryptionUtils.generateRandomToken();
-        SecretKey encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), key, token);
-        session.getUpstream().getSession().enableEncryption(encryptionKey);
+        return generator.generateKeyPair();
+    }
 
-        ServerToClientHandshakePacket packet = new ServerToClientHandshakePacket();
-        packet.setJwt(EncryptionUtils.createHandshakeJwt(serverKeyPair, token).serialize());
-        session.sendUpstreamPacketImmediately(packet);
+    private record LoginResult(boolean validChain, AuthData authData, BedrockClientData clientData,
+                               SecretKey encryptionKey, String handshakeJwt) {
     }
 
     private static void sendEncryptionFailedMessage(GeyserImpl geyser) {
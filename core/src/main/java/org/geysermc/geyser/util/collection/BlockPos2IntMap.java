@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util.collection;
+
+import com.nukkitx.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+/**
+ * A map of block positions to ints, with the positions stored as packed longs. See {@link PackedBlockPos}.
+ */
+public class BlockPos2IntMap extends Long2IntOpenHashMap {
+
+    public int get(int x, int y, int z) {
+        return get(PackedBlockPos.pack(x, y, z));
+    }
+
+    public int get(Vector3i position) {
+        return get(PackedBlockPos.pack(position));
+    }
+
+    public int getOrDefault(int x, int y, int z, int defaultValue) {
+        return getOrDefault(PackedBlockPos.pack(x, y, z), defaultValue);
+    }
+
+    public int getOrDefault(Vector3i position, int defaultValue) {
+        return getOrDefault(PackedBlockPos.pack(position), defaultValue);
+    }
+
+    public boolean containsKey(int x, int y, int z) {
+        return containsKey(PackedBlockPos.pack(x, y, z));
+    }
+
+    public boolean containsKey(Vector3i position) {
+        return containsKey(PackedBlockPos.pack(position));
+    }
+
+    public int put(int x, int y, int z, int value) {
+        return put(PackedBlockPos.pack(x, y, z), value);
+    }
+
+    public int put(Vector3i position, int value) {
+        return put(PackedBlockPos.pack(position), value);
+    }
+
+    public int remove(int x, int y, int z) {
+        return remove(PackedBlockPos.pack(x, y, z));
+    }
+
+    public int remove(Vector3i position) {
+        return remove(PackedBlockPos.pack(position));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util.collection;
+
+import com.nukkitx.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * A set of block positions, stored as packed longs. See {@link PackedBlockPos}.
+ */
+public class BlockPosSet extends LongOpenHashSet {
+
+    public boolean add(int x, int y, int z) {
+        return add(PackedBlockPos.pack(x, y, z));
+    }
+
+    public boolean add(Vector3i position) {
+        return add(PackedBlockPos.pack(position));
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return contains(PackedBlockPos.pack(x, y, z));
+    }
+
+    public boolean contains(Vector3i position) {
+        return contains(PackedBlockPos.pack(position));
+    }
+
+    public boolean remove(int x, int y, int z) {
+        return remove(PackedBlockPos.pack(x, y, z));
+    }
+
+    public boolean remove(Vector3i position) {
+        return remove(PackedBlockPos.pack(position));
+    }
+
+    /**
+     * Removes all positions in the given chunk.
+     */
+    public void removeChunk(int chunkX, int chunkZ) {
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            long packed = iterator.nextLong();
+            if ((PackedBlockPos.unpackX(packed) >> 4) == chunkX && (PackedBlockPos.unpackZ(packed) >> 4) == chunkZ) {
+                iterator.remove();
+            }
+        }
+    }
+}
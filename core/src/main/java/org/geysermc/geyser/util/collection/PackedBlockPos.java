@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util.collection;
+
+import com.nukkitx.math.vector.Vector3i;
+
+/**
+ * Packs block positions into a single long, using the same layout as Java Edition: 26 bits for X and Z, and 12 bits
+ * for Y. This allows block positions to be used as primitive keys without allocating a {@link Vector3i}.
+ */
+public final class PackedBlockPos {
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+    private static final int Z_OFFSET = Y_BITS;
+    private static final int X_OFFSET = Y_BITS + XZ_BITS;
+
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << X_OFFSET) | ((z & XZ_MASK) << Z_OFFSET) | (y & Y_MASK);
+    }
+
+    public static long pack(Vector3i position) {
+        return pack(position.getX(), position.getY(), position.getZ());
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> X_OFFSET);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << (64 - X_OFFSET) >> (64 - XZ_BITS));
+    }
+
+    public static Vector3i unpack(long packed) {
+        return Vector3i.from(unpackX(packed), unpackY(packed), unpackZ(packed));
+    }
+
+    private PackedBlockPos() {
+    }
+}
@@ -30,5 +30,8 @@
  * added that are not greater by one versus the previous key. Because of this, speedy operations of {@link java.util.Map#get(java.lang.Object)}
  * and {@link java.util.Map#containsKey(java.lang.Object)} can be performed by simply checking the bounds of the map
  * size and its "start" integer.
+ *
+ * The block position collections store positions as packed longs (see {@link org.geysermc.geyser.util.collection.PackedBlockPos}),
+ * so session caches can be keyed by block position without allocating and hashing a {@link com.nukkitx.math.vector.Vector3i}.
  */
 package org.geysermc.geyser.util.collection;
\ No newline at end of file
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.entity.attribute;
+
+import com.github.steveice10.mc.protocol.data.game.entity.attribute.Attribute;
+import com.github.steveice10.mc.protocol.data.game.entity.attribute.AttributeType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class PendingAttributesTest {
+
+    @Test
+    public void testLatestValueIsKept() {
+        PendingAttributes pending = new PendingAttributes();
+        Assert.assertTrue(pending.isEmpty());
+
+        // Hidden: the server changes the attributes of the entity
+        pending.add(List.of(new Attribute(AttributeType.Builtin.GENERIC_MAX_HEALTH, 20),
+                new Attribute(AttributeType.Builtin.GENERIC_MOVEMENT_SPEED, 0.25)));
+        pending.add(List.of(new Attribute(AttributeType.Builtin.GENERIC_MAX_HEALTH, 40)));
+        Assert.assertFalse(pending.isEmpty());
+
+        // Shown: every attribute is sent once, with its latest value
+        List<Attribute> drained = pending.drain();
+        Assert.assertEquals(2, drained.size());
+        Assert.assertEquals(AttributeType.Builtin.GENERIC_MAX_HEALTH, drained.get(0).getType());
+        Assert.assertEquals(40, drained.get(0).getValue(), 0);
+        Assert.assertEquals(AttributeType.Builtin.GENERIC_MOVEMENT_SPEED, drained.get(1).getType());
+        Assert.assertEquals(0.25, drained.get(1).getValue(), 0);
+
+        Assert.assertTrue("Attributes must only be sent once", pending.isEmpty());
+        Assert.assertTrue(pending.drain().isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.entity.type;
+
+import com.github.steveice10.mc.protocol.data.game.entity.attribute.Attribute;
+import com.github.steveice10.mc.protocol.data.game.entity.attribute.AttributeType;
+import com.github.steveice10.mc.protocol.data.game.entity.type.EntityType;
+import com.nukkitx.math.vector.Vector3f;
+import com.nukkitx.protocol.bedrock.data.AttributeData;
+import org.geysermc.geyser.entity.EntityDefinition;
+import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+public class LivingEntityTest {
+
+    @Test
+    public void testAttributesAreSentWhenShown() {
+        // Nothing in here may be sent to the client, so the entity has no session
+        EntityDefinition<LivingEntity> definition = new EntityDefinition<>(LivingEntity::new, EntityType.ZOMBIE,
+                "minecraft:zombie", 0.6f, 1.95f, 0f, List.of());
+        LivingEntity entity = new LivingEntity(null, 1, 1, UUID.randomUUID(), definition, Vector3f.ZERO, Vector3f.ZERO, 0, 0, 0);
+
+        // Hidden: the entity cache despawns it on the client
+        entity.setValid(true);
+        entity.setValid(false);
+
+        // The server changes its attributes and health in the meantime
+        entity.updateBedrockAttributes(null, List.of(new Attribute(AttributeType.Builtin.GENERIC_MAX_HEALTH, 30),
+                new Attribute(AttributeType.Builtin.GENERIC_MOVEMENT_SPEED, 0.3)));
+        entity.updateBedrockAttributes(null, List.of(new Attribute(AttributeType.Builtin.GENERIC_MAX_HEALTH, 40)));
+        entity.health = 15f;
+
+        // Shown: the latest attributes are sent, and the health with the new maximum
+        entity.setValid(true);
+        List<AttributeData> sent = entity.drainPendingAttributes();
+        Assert.assertEquals(2, sent.size());
+        AttributeData health = find(sent, GeyserAttributeType.HEALTH);
+        Assert.assertEquals(15f, health.getValue(), 0);
+        Assert.assertEquals(40f, health.getMaximum(), 0);
+        Assert.assertEquals(0.3f, find(sent, GeyserAttributeType.MOVEMENT_SPEED).getValue(), 0.0001f);
+
+        // Shown again without changes: only the health is sent
+        sent = entity.drainPendingAttributes();
+        Assert.assertEquals(1, sent.size());
+        Assert.assertEquals(15f, find(sent, GeyserAttributeType.HEALTH).getValue(), 0);
+    }
+
+    private static AttributeData find(List<AttributeData> attributes, GeyserAttributeType type) {
+        return attributes.stream()
+                .filter(attribute -> type.getBedrockIdentifier().equals(attribute.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(type + " was not sent"));
+    }
+}
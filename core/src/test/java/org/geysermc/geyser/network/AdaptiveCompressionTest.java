@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveCompressionTest {
+    private static final int BASE_LEVEL = 5;
+
+    @Test
+    public void testLowLatency() {
+        Assert.assertEquals(AdaptiveCompression.MIN_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 0, 0.1));
+        Assert.assertEquals(AdaptiveCompression.MIN_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 5, 0.1));
+        Assert.assertEquals(AdaptiveCompression.MIN_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 20, 0.1));
+        Assert.assertEquals(BASE_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 21, 0.1));
+    }
+
+    @Test
+    public void testHighLatency() {
+        Assert.assertEquals(BASE_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 80, 0.1));
+        Assert.assertEquals(BASE_LEVEL + 1, AdaptiveCompression.computeLevel(BASE_LEVEL, 81, 0.1));
+        Assert.assertEquals(BASE_LEVEL + 1, AdaptiveCompression.computeLevel(BASE_LEVEL, 200, 0.1));
+        Assert.assertEquals(BASE_LEVEL + 2, AdaptiveCompression.computeLevel(BASE_LEVEL, 201, 0.1));
+    }
+
+    @Test
+    public void testCpuLoad() {
+        Assert.assertEquals(BASE_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 50, 0.6));
+        // One level lower for each started 10% above 60%
+        Assert.assertEquals(BASE_LEVEL - 1, AdaptiveCompression.computeLevel(BASE_LEVEL, 50, 0.65));
+        Assert.assertEquals(BASE_LEVEL - 2, AdaptiveCompression.computeLevel(BASE_LEVEL, 50, 0.75));
+        Assert.assertEquals(BASE_LEVEL - 4, AdaptiveCompression.computeLevel(BASE_LEVEL, 50, 0.95));
+        // Applied on top of the latency adjustment
+        Assert.assertEquals(BASE_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 300, 0.75));
+    }
+
+    @Test
+    public void testLevelIsClamped() {
+        Assert.assertEquals(AdaptiveCompression.MAX_LEVEL, AdaptiveCompression.computeLevel(8, 300, 0.1));
+        Assert.assertEquals(AdaptiveCompression.MAX_LEVEL, AdaptiveCompression.computeLevel(AdaptiveCompression.MAX_LEVEL, 300, 0.1));
+        Assert.assertEquals(AdaptiveCompression.MIN_LEVEL, AdaptiveCompression.computeLevel(2, 50, 0.95));
+        Assert.assertEquals(AdaptiveCompression.MIN_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 10, 0.95));
+    }
+
+    @Test
+    public void testUnknownLatencyAndCpuLoad() {
+        Assert.assertEquals(BASE_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, -1, -1));
+        Assert.assertEquals(BASE_LEVEL - 2, AdaptiveCompression.computeLevel(BASE_LEVEL, -1, 0.75));
+        Assert.assertEquals(BASE_LEVEL + 2, AdaptiveCompression.computeLevel(BASE_LEVEL, 300, -1));
+        Assert.assertEquals(AdaptiveCompression.MIN_LEVEL, AdaptiveCompression.computeLevel(BASE_LEVEL, 10, -1));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+public class CIDRTrieTest {
+
+    @Test
+    public void testIpv4() throws UnknownHostException {
+        CIDRTrie trie = new CIDRTrie(List.of("172.18.0.0/16", "10.0.0.1", "192.168.1.128/25"));
+        Assert.assertFalse(trie.isEmpty());
+
+        Assert.assertTrue(trie.matches(address("172.18.0.0")));
+        Assert.assertTrue(trie.matches(address("172.18.255.255")));
+        Assert.assertFalse(trie.matches(address("172.19.0.1")));
+        Assert.assertFalse(trie.matches(address("172.17.255.255")));
+
+        // Without a prefix length, only the address itself matches
+        Assert.assertTrue(trie.matches(address("10.0.0.1")));
+        Assert.assertFalse(trie.matches(address("10.0.0.2")));
+
+        // Prefix lengths that do not end on a byte boundary
+        Assert.assertTrue(trie.matches(address("192.168.1.200")));
+        Assert.assertFalse(trie.matches(address("192.168.1.127")));
+
+        // IPv4 ranges never match IPv6 addresses
+        Assert.assertFalse(trie.matches(address("::1")));
+    }
+
+    @Test
+    public void testIpv6() throws UnknownHostException {
+        CIDRTrie trie = new CIDRTrie(List.of("2001:db8::/32", "fd00::1"));
+
+        Assert.assertTrue(trie.matches(address("2001:db8::1")));
+        Assert.assertTrue(trie.matches(address("2001:db8:ffff:ffff:ffff:ffff:ffff:ffff")));
+        Assert.assertFalse(trie.matches(address("2001:db9::1")));
+
+        Assert.assertTrue(trie.matches(address("fd00::1")));
+        Assert.assertFalse(trie.matches(address("fd00::2")));
+
+        Assert.assertFalse(trie.matches(address("10.0.0.1")));
+    }
+
+    @Test
+    public void testOverlappingRanges() throws UnknownHostException {
+        // The shorter range covers the longer one, in whichever order they are added
+        CIDRTrie trie = new CIDRTrie(List.of("10.1.0.0/16", "10.0.0.0/8", "10.2.3.0/24"));
+        Assert.assertTrue(trie.matches(address("10.1.2.3")));
+        Assert.assertTrue(trie.matches(address("10.200.0.1")));
+        Assert.assertFalse(trie.matches(address("11.0.0.1")));
+
+        CIDRTrie everything = new CIDRTrie(List.of("0.0.0.0/0"));
+        Assert.assertTrue(everything.matches(address("8.8.8.8")));
+        Assert.assertFalse(everything.matches(address("::1")));
+    }
+
+    @Test
+    public void testEmpty() throws UnknownHostException {
+        CIDRTrie trie = new CIDRTrie(List.of());
+        Assert.assertTrue(trie.isEmpty());
+        Assert.assertFalse(trie.matches(address("127.0.0.1")));
+        Assert.assertFalse(trie.matches(address("::1")));
+    }
+
+    private static InetAddress address(String address) throws UnknownHostException {
+        return InetAddress.getByName(address);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionRateLimiterTest {
+    private long now = 0;
+
+    @Test
+    public void testAddressLimit() throws UnknownHostException {
+        ConnectionRateLimiter limiter = new ConnectionRateLimiter(2, 0, () -> now);
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertFalse(limiter.tryAcquire(address("192.168.1.1")));
+        // Other addresses have their own bucket, even in the same subnet
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.2")));
+
+        // The limit is refilled over one minute
+        now += TimeUnit.SECONDS.toNanos(30);
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertFalse(limiter.tryAcquire(address("192.168.1.1")));
+    }
+
+    @Test
+    public void testIpv4Subnet() throws UnknownHostException {
+        ConnectionRateLimiter limiter = new ConnectionRateLimiter(0, 3, () -> now);
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.2")));
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.3")));
+        Assert.assertFalse(limiter.tryAcquire(address("192.168.1.4")));
+        // A different /24
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.2.1")));
+    }
+
+    @Test
+    public void testIpv6Subnet() throws UnknownHostException {
+        ConnectionRateLimiter limiter = new ConnectionRateLimiter(0, 2, () -> now);
+        Assert.assertTrue(limiter.tryAcquire(address("2001:db8::1")));
+        Assert.assertTrue(limiter.tryAcquire(address("2001:db8::ffff:ffff:ffff:ffff")));
+        Assert.assertFalse(limiter.tryAcquire(address("2001:db8::2")));
+        // A different /64
+        Assert.assertTrue(limiter.tryAcquire(address("2001:db8:0:1::1")));
+    }
+
+    @Test
+    public void testRefundWhenSubnetIsFull() throws UnknownHostException {
+        ConnectionRateLimiter limiter = new ConnectionRateLimiter(1, 60, () -> now);
+        for (int i = 1; i <= 60; i++) {
+            Assert.assertTrue(limiter.tryAcquire(address("10.0.0." + i)));
+        }
+        // The address has a token, but the subnet does not
+        Assert.assertFalse(limiter.tryAcquire(address("10.0.0.100")));
+
+        // One second later, the subnet has one token again. The address only has it if it was refunded.
+        now += TimeUnit.SECONDS.toNanos(1);
+        Assert.assertTrue(limiter.tryAcquire(address("10.0.0.100")));
+    }
+
+    @Test
+    public void testZeroDisablesLimiting() throws UnknownHostException {
+        ConnectionRateLimiter limiter = new ConnectionRateLimiter(0, 0, () -> now);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        }
+
+        // Only the subnet is limited
+        limiter = new ConnectionRateLimiter(0, 2, () -> now);
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertFalse(limiter.tryAcquire(address("192.168.1.1")));
+
+        // Only the address is limited
+        limiter = new ConnectionRateLimiter(1, 0, () -> now);
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertFalse(limiter.tryAcquire(address("192.168.1.1")));
+        Assert.assertTrue(limiter.tryAcquire(address("192.168.1.2")));
+    }
+
+    private static InetAddress address(String address) throws UnknownHostException {
+        return InetAddress.getByName(address);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.github.steveice10.mc.protocol.data.game.entity.type.EntityType;
+import com.nukkitx.math.vector.Vector3f;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.entity.EntityDefinition;
+import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.session.GeyserSession;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class EntityCacheTest {
+    private static final GeyserConfiguration.IEntityTrackingConfiguration NO_TRACKING = new GeyserConfiguration.IEntityTrackingConfiguration() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public int getPassiveRange() {
+            return 0;
+        }
+
+        @Override
+        public int getHostileRange() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxVisibleEntities() {
+            return -1;
+        }
+    };
+
+    private final List<String> sent = new ArrayList<>();
+
+    @Test
+    public void testMovementIsSentOnFlush() {
+        EntityCache cache = new EntityCache(null, NO_TRACKING, true);
+        Entity first = createEntity(1);
+        Entity second = createEntity(2);
+
+        cache.moveEntity(first, false);
+        cache.moveEntity(second, false);
+        first.setPosition(Vector3f.from(1, 2, 3));
+        cache.moveEntity(first, true);
+        Assert.assertTrue("Movement must be queued until the flush", sent.isEmpty());
+
+        cache.flushPendingUpdates();
+        // One packet per entity, in the order they first moved, with the latest position and the teleport kept
+        Assert.assertEquals(List.of("1 1,2,3 teleported", "2 0,0,0"), sent);
+
+        sent.clear();
+        cache.flushPendingUpdates();
+        Assert.assertTrue("Movement must only be sent once", sent.isEmpty());
+    }
+
+    @Test
+    public void testDirectMovementIsNotOverwritten() {
+        EntityCache cache = new EntityCache(null, NO_TRACKING, true);
+        Entity entity = createEntity(1);
+
+        cache.moveEntity(entity, false);
+        // As a sleeping player or a boat with a rider in front: the packet is sent directly, with an offset
+        cache.cancelPendingMovement(entity);
+        sent.add("1 offset");
+
+        cache.flushPendingUpdates();
+        Assert.assertEquals(List.of("1 offset"), sent);
+
+        // Later movement is queued again and sent after the direct packet
+        cache.moveEntity(entity, false);
+        cache.flushPendingUpdates();
+        Assert.assertEquals(List.of("1 offset", "1 0,0,0"), sent);
+    }
+
+    @Test
+    public void testDespawnedEntityIsSkipped() {
+        EntityCache cache = new EntityCache(null, NO_TRACKING, true);
+        Entity entity = createEntity(1);
+
+        cache.moveEntity(entity, false);
+        entity.setValid(false);
+        cache.flushPendingUpdates();
+        Assert.assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testMovementIsSentImmediatelyWithoutCoalescing() {
+        EntityCache cache = new EntityCache(null, NO_TRACKING, false);
+        Entity first = createEntity(1);
+        Entity second = createEntity(2);
+
+        cache.moveEntity(first, false);
+        cache.moveEntity(second, true);
+        cache.moveEntity(first, false);
+        Assert.assertEquals(List.of("1 0,0,0", "2 0,0,0 teleported", "1 0,0,0"), sent);
+    }
+
+    private Entity createEntity(int id) {
+        EntityDefinition<Entity> definition = new EntityDefinition<>(Entity::new, EntityType.ARMOR_STAND,
+                "minecraft:armor_stand", 0.5f, 1.975f, 0f, List.of());
+        Entity entity = new RecordingEntity(id, definition);
+        entity.setValid(true);
+        return entity;
+    }
+
+    /**
+     * Records its movement packets instead of sending them to a session.
+     */
+    private class RecordingEntity extends Entity {
+        RecordingEntity(int id, EntityDefinition<?> definition) {
+            super((GeyserSession) null, id, id, UUID.randomUUID(), definition, Vector3f.ZERO, Vector3f.ZERO, 0, 0, 0);
+        }
+
+        @Override
+        public void sendMovement(boolean teleported) {
+            Vector3f current = getPosition();
+            sent.add(getGeyserId() + " " + (int) current.getX() + "," + (int) current.getY() + "," + (int) current.getZ()
+                    + (teleported ? " teleported" : ""));
+        }
+    }
+}
@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.util.collection;
 
+import com.nukkitx.math.vector.Vector3i;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -35,6 +36,11 @@ public class GeyserCollectionsTest {
 
     private final int[] startBlockRanges = new int[] {0, 70, 600, 450, 787, 1980};
 
+    private final Vector3i[] blockPositions = new Vector3i[] {
+            Vector3i.ZERO, Vector3i.from(-1, -1, -1), Vector3i.from(15, -64, -16), Vector3i.from(-30000000, 319, 30000000),
+            Vector3i.from(29999999, -2048, -29999999), Vector3i.from(123, 2047, -456), Vector3i.from(0, 64, 1)
+    };
+
     @Test
     public void testBytes() {
         for (int startRange : startBlockRanges) {
@@ -176,4 +182,63 @@ public class GeyserCollectionsTest {
             Assert.assertTrue(map.containsValue(i));
         }
     }
+
+    @Test
+    public void testPackedBlockPos() {
+        for (Vector3i position : blockPositions) {
+            long packed = PackedBlockPos.pack(position);
+            Assert.assertEquals(packed, PackedBlockPos.pack(position.getX(), position.getY(), position.getZ()));
+            Assert.assertEquals(position.getX(), PackedBlockPos.unpackX(packed));
+            Assert.assertEquals(position.getY(), PackedBlockPos.unpackY(packed));
+            Assert.assertEquals(position.getZ(), PackedBlockPos.unpackZ(packed));
+            Assert.assertEquals(position, PackedBlockPos.unpack(packed));
+        }
+    }
+
+    @Test
+    public void testBlockPosCollections() {
+        BlockPos2ObjectMap<Vector3i> objectMap = new BlockPos2ObjectMap<>();
+        BlockPos2IntMap intMap = new BlockPos2IntMap();
+        BlockPosSet set = new BlockPosSet();
+        for (int i = 0; i < blockPositions.length; i++) {
+            Vector3i position = blockPositions[i];
+            objectMap.put(position, position);
+            intMap.put(position, i);
+            Assert.assertTrue(set.add(position));
+            Assert.assertFalse("Position was added twice!", set.add(position.getX(), position.getY(), position.getZ()));
+        }
+
+        Assert.assertEquals(blockPositions.length, objectMap.size());
+        Assert.assertEquals(blockPositions.length, intMap.size());
+        Assert.assertEquals(blockPositions.length, set.size());
+
+        for (int i = 0; i < blockPositions.length; i++) {
+            Vector3i position = blockPositions[i];
+            Assert.assertEquals(position, objectMap.get(position));
+            Assert.assertEquals(position, objectMap.get(position.getX(), position.getY(), position.getZ()));
+            Assert.assertEquals(i, intMap.get(position));
+            Assert.assertEquals(i, intMap.getOrDefault(position.getX(), position.getY(), position.getZ(), -1));
+            Assert.assertTrue(set.contains(position));
+
+            // Neighbouring positions must not collide
+            Vector3i neighbour = position.add(0, 1, 0);
+            if (neighbour.getY() <= 2047) {
+                Assert.assertNotEquals(position, objectMap.get(neighbour));
+            }
+            Assert.assertEquals(-1, intMap.getOrDefault(position.getX() + 1, position.getY(), position.getZ(), -1));
+        }
+
+        Assert.assertTrue(objectMap.remove(Vector3i.ZERO, Vector3i.ZERO));
+        Assert.assertFalse(objectMap.containsKey(Vector3i.ZERO));
+        Assert.assertEquals(blockPositions.length - 1, intMap.remove(0, 64, 1));
+        Assert.assertFalse(intMap.containsKey(0, 64, 1));
+
+        // Positions at -1 are in the chunk at -1, not 0
+        set.removeChunk(0, 0);
+        Assert.assertFalse(set.contains(Vector3i.ZERO));
+        Assert.assertFalse(set.contains(0, 64, 1));
+        Assert.assertTrue(set.contains(-1, -1, -1));
+        Assert.assertTrue(set.contains(15, -64, -16));
+        Assert.assertEquals(blockPositions.length - 2, set.size());
+    }
 }